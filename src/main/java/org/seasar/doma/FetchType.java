@@ -35,5 +35,17 @@ public enum FetchType {
      * <p>
      * メモリの使用量は減り、DBへの接続時間は長くなります。
      */
-    LAZY;
+    LAZY,
+
+    /**
+     * {@link #LAZY} と同様に少しづつ取得しますが、 {@link java.util.stream.Stream}
+     * を返す検索では別スレッドで次の行を先読みします。
+     * <p>
+     * 先読みされた行はフェッチサイズ（未指定の場合は {@code 256}）を上限とするキューに蓄えられます。
+     * 行の処理とDBからの取得が並行して行われるため、大量の行を順に処理する場合の処理時間が短くなります。
+     * 先読みには {@link org.seasar.doma.jdbc.Config#getExecutor()} のスレッドが使われます。
+     * 
+     * @since 2.20.0
+     */
+    PREFETCH;
 }
@@ -19,6 +19,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.sql.Statement;
 
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.ScriptException;
@@ -82,4 +83,20 @@ public @interface Script {
      * @since 2.0.0
      */
     SqlLogType sqlLog() default SqlLogType.FORMATTED;
+
+    /**
+     * バッチサイズを返します。
+     * <p>
+     * {@code 1} より大きい値が指定された場合、連続する {@code INSERT} 、 {@code UPDATE} 、
+     * {@code DELETE} 、 {@code MERGE} 文は1つの {@link Statement} に
+     * {@link Statement#addBatch(String)} で追加され、バッチサイズごとに
+     * {@link Statement#executeBatch()} で実行されます。 DDLやSQLのブロックはバッチに含めず、その都度実行されます。
+     * <p>
+     * 指定しない場合、バッチ更新は行いません。
+     * 
+     * @return バッチサイズ
+     * @see Statement#addBatch(String)
+     * @since 2.20.0
+     */
+    int batchSize() default 0;
 }
@@ -85,6 +85,18 @@ public @interface SequenceGenerator {
      */
     long allocationSize() default 1;
 
+    /**
+     * 次の識別子のブロックを先読みするかどうかを返します。
+     * <p>
+     * {@code true} の場合、ブロックの半分が払い出された時点で次のブロックの初期値が
+     * {@link org.seasar.doma.jdbc.Config#getExecutor()} のスレッドで取得されます。
+     * 割り当てサイズが {@code 1} の場合は先読みされません。
+     * 
+     * @return 先読みする場合 {@code true}
+     * @since 2.20.0
+     */
+    boolean prefetch() default false;
+
     /**
      * ジェネレータの実装クラスを返します。
      * 
@@ -25,6 +25,14 @@ public final class Constants {
 
     public static final String ROWNUMBER_COLUMN_NAME = "doma_rownumber_";
 
+    public static final String KEYSET_PARAMETER_NAME_PREFIX = "doma_keyset_";
+
+    public static final String COUNT_COLUMN_NAME = "doma_count_";
+
+    public static final String PARTITION_LOWER_PARAMETER_NAME = "doma_partition_lower_";
+
+    public static final String PARTITION_UPPER_PARAMETER_NAME = "doma_partition_upper_";
+
     public static final Charset UTF_8 = Charset.forName("UTF-8");
 
     public static final String SQL_PATH_PREFIX = "META-INF/";
@@ -17,6 +17,8 @@ package org.seasar.doma.internal;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.util.concurrent.Executor;
+
 import javax.sql.DataSource;
 
 import org.seasar.doma.jdbc.ClassHelper;
@@ -152,6 +154,21 @@ public class RuntimeConfig implements Config {
         return config.getBatchSize();
     }
 
+    @Override
+    public boolean isMultiRowBatchInsertEnabled() {
+        return config.isMultiRowBatchInsertEnabled();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        Executor executor = config.getExecutor();
+        if (executor == null) {
+            throw new ConfigException(config.getClass().getName(),
+                    "getExecutor");
+        }
+        return executor;
+    }
+
     @Override
     public EntityListenerProvider getEntityListenerProvider() {
         EntityListenerProvider provider = config.getEntityListenerProvider();
@@ -20,6 +20,8 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
@@ -163,6 +165,7 @@ import org.seasar.doma.internal.jdbc.sql.BasicListParameter;
 import org.seasar.doma.internal.jdbc.sql.BasicOutParameter;
 import org.seasar.doma.internal.jdbc.sql.BasicResultListParameter;
 import org.seasar.doma.internal.jdbc.sql.BasicSingleResultParameter;
+import org.seasar.doma.internal.jdbc.sql.CompiledSqlFileRegistry;
 import org.seasar.doma.internal.jdbc.sql.DomainInOutParameter;
 import org.seasar.doma.internal.jdbc.sql.DomainInParameter;
 import org.seasar.doma.internal.jdbc.sql.DomainListParameter;
@@ -203,9 +206,11 @@ import org.seasar.doma.internal.jdbc.sql.OptionalLongListParameter;
 import org.seasar.doma.internal.jdbc.sql.OptionalLongOutParameter;
 import org.seasar.doma.internal.jdbc.sql.OptionalLongResultListParameter;
 import org.seasar.doma.internal.jdbc.sql.OptionalLongSingleResultParameter;
+import org.seasar.doma.internal.jdbc.sql.SqlNodeCodec;
 import org.seasar.doma.internal.jdbc.util.ScriptFileUtil;
 import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.SqlFile;
 import org.seasar.doma.jdbc.query.FunctionQuery;
 import org.seasar.doma.jdbc.query.ProcedureQuery;
 import org.seasar.doma.jdbc.query.SqlFileSelectQuery;
@@ -262,6 +267,7 @@ public class DaoGenerator extends AbstractGenerator {
         print("%n");
         indent();
         printValidateVersionStaticInitializer();
+        printCompiledSqlFileStaticInitializer();
         printStaticFields();
         printConstructors();
         printMethods();
@@ -269,6 +275,86 @@ public class DaoGenerator extends AbstractGenerator {
         print("}%n");
     }
 
+    protected void printCompiledSqlFileStaticInitializer() {
+        List<String> arguments = new ArrayList<String>();
+        for (QueryMeta queryMeta : daoMeta.getQueryMetas()) {
+            List<SqlFile> sqlFiles = new ArrayList<SqlFile>(
+                    queryMeta.getSqlFiles());
+            sqlFiles.sort(Comparator.comparing(SqlFile::getPath));
+            for (SqlFile sqlFile : sqlFiles) {
+                String encodedNode = SqlNodeCodec.encode(sqlFile.getSqlNode());
+                if (isStringConstant(sqlFile.getSql())
+                        && isStringConstant(encodedNode)) {
+                    arguments.add(toStringLiteral(sqlFile.getPath()) + ", "
+                            + toStringLiteral(sqlFile.getSql()) + ", "
+                            + toStringLiteral(encodedNode));
+                }
+            }
+        }
+        if (arguments.isEmpty()) {
+            return;
+        }
+        iprint("static {%n");
+        for (String argument : arguments) {
+            iprint("    %1$s.register(%2$s.class, %3$s);%n",
+                    CompiledSqlFileRegistry.class.getName(),
+                    daoMeta.getDaoType(), argument);
+        }
+        iprint("}%n");
+        print("%n");
+    }
+
+    protected boolean isStringConstant(String s) {
+        // the length of the modified UTF-8 in the constant pool
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length <= 0xFFFF;
+    }
+
+    protected String toStringLiteral(String s) {
+        StringBuilder buf = new StringBuilder(s.length() + 16);
+        buf.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                buf.append("\\\"");
+                break;
+            case '\\':
+                buf.append("\\\\");
+                break;
+            case '\n':
+                buf.append("\\n");
+                break;
+            case '\r':
+                buf.append("\\r");
+                break;
+            case '\t':
+                buf.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    buf.append(String.format("\\%03o", (int) c));
+                } else if (c > 0x7E) {
+                    buf.append(String.format("\\u%04x", (int) c));
+                } else {
+                    buf.append(c);
+                }
+            }
+        }
+        buf.append('"');
+        return buf.toString();
+    }
+
     protected void printStaticFields() {
         int i = 0;
         for (QueryMeta queryMeta : daoMeta.getQueryMetas()) {
@@ -465,7 +551,8 @@ public class DaoGenerator extends AbstractGenerator {
             }
             print("> ");
         }
-        print("%1$s %2$s(", m.getReturnMeta().getTypeName(), m.getName());
+        QueryReturnMeta returnMeta = m.getReturnMeta();
+        print("%1$s %2$s(", returnMeta.getMethodReturnTypeName(), m.getName());
         for (Iterator<QueryParameterMeta> it = m.getParameterMetas()
                 .iterator(); it.hasNext();) {
             QueryParameterMeta parameterMeta = it.next();
@@ -492,7 +579,19 @@ public class DaoGenerator extends AbstractGenerator {
         }
         print("{%n");
         indent();
-        m.accept(generator, "__method" + index);
+        if (returnMeta.isAsync()) {
+            iprint("return supplyAsync(\"%1$s\", \"%2$s\", () -> {%n",
+                    canonicalName, m.getName());
+            indent();
+            m.accept(generator, "__method" + index);
+            if (returnMeta.isPrimitiveVoid()) {
+                iprint("return null;%n");
+            }
+            unindent();
+            iprint("});%n");
+        } else {
+            m.accept(generator, "__method" + index);
+        }
         unindent();
         iprint("}%n");
         print("%n");
@@ -536,7 +635,8 @@ public class DaoGenerator extends AbstractGenerator {
             iprint("__query.setResultEnsured(%1$s);%n", m.getEnsureResult());
             iprint("__query.setResultMappingEnsured(%1$s);%n",
                     m.getEnsureResultMapping());
-            if (m.getSelectStrategyType() == SelectType.RETURN) {
+            if (m.getSelectStrategyType() == SelectType.RETURN
+                    && m.getFetchType() != FetchType.PREFETCH) {
                 iprint("__query.setFetchType(%1$s.%2$s);%n",
                         FetchType.class.getName(), FetchType.LAZY);
             } else {
@@ -619,6 +719,7 @@ public class DaoGenerator extends AbstractGenerator {
             iprint("__query.setHaltOnError(%1$s);%n", m.getHaltOnError());
             iprint("__query.setSqlLogType(%1$s.%2$s);%n",
                     m.getSqlLogType().getClass().getName(), m.getSqlLogType());
+            iprint("__query.setBatchSize(%1$s);%n", m.getBatchSize());
             iprint("__query.prepare();%n");
             iprint("%1$s __command = getCommandImplementors().create%2$s(%3$s, __query);%n",
                     /* 1 */m.getCommandClass().getName(),
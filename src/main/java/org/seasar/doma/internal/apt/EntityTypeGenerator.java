@@ -20,10 +20,17 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.seasar.doma.internal.Constants;
 import org.seasar.doma.internal.apt.cttype.BasicCtType;
@@ -43,14 +50,18 @@ import org.seasar.doma.internal.apt.meta.IdentityIdGeneratorMeta;
 import org.seasar.doma.internal.apt.meta.OriginalStatesMeta;
 import org.seasar.doma.internal.apt.meta.SequenceIdGeneratorMeta;
 import org.seasar.doma.internal.apt.meta.TableIdGeneratorMeta;
+import org.seasar.doma.internal.apt.util.ElementUtil;
 import org.seasar.doma.internal.apt.util.TypeMirrorUtil;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.entity.AbstractEntityType;
 import org.seasar.doma.jdbc.entity.AssignedIdPropertyType;
 import org.seasar.doma.jdbc.entity.DefaultPropertyType;
+import org.seasar.doma.jdbc.entity.DoublePropertySetter;
 import org.seasar.doma.jdbc.entity.EmbeddedPropertyType;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.GeneratedIdPropertyType;
+import org.seasar.doma.jdbc.entity.IntPropertySetter;
+import org.seasar.doma.jdbc.entity.LongPropertySetter;
 import org.seasar.doma.jdbc.entity.NamingType;
 import org.seasar.doma.jdbc.entity.OriginalStatesAccessor;
 import org.seasar.doma.jdbc.entity.PostDeleteContext;
@@ -191,9 +202,13 @@ public class EntityTypeGenerator extends AbstractGenerator {
                     domainType = domainCtType.getInstantiationCommand();
                     domainTypeName = domainCtType.getTypeName();
                 }
+                String accessors = getAccessorsExpression(pm);
+                if (isUncheckedSetterRequired(pm)) {
+                    iprint("@SuppressWarnings(\"unchecked\")%n");
+                }
                 if (pm.isId()) {
                     if (pm.getIdGeneratorMeta() != null) {
-                        iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class, %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s, __idGenerator);%n",
+                        iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class, %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s, __idGenerator%16$s);%n",
                                 /* 1 */GeneratedIdPropertyType.class.getName(),
                                 /* 2 */entityMeta.getEntityTypeName(),
                                 /* 3 */basicCtType.getBoxedTypeName(),
@@ -205,9 +220,10 @@ public class EntityTypeGenerator extends AbstractGenerator {
                                 /* 12 */pm.getFieldName(),
                                 /* 13 */pm.getBoxedClassName(),
                                 /* 14 */domainTypeName,
-                                /* 15 */pm.isColumnQuoteRequired());
+                                /* 15 */pm.isColumnQuoteRequired(),
+                                /* 16 */accessors);
                     } else {
-                        iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class, %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s);%n",
+                        iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class, %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s%16$s);%n",
                                 /* 1 */AssignedIdPropertyType.class.getName(),
                                 /* 2 */entityMeta.getEntityTypeName(),
                                 /* 3 */basicCtType.getBoxedTypeName(),
@@ -219,10 +235,11 @@ public class EntityTypeGenerator extends AbstractGenerator {
                                 /* 12 */pm.getFieldName(),
                                 /* 13 */pm.getBoxedClassName(),
                                 /* 14 */domainTypeName,
-                                /* 15 */pm.isColumnQuoteRequired());
+                                /* 15 */pm.isColumnQuoteRequired(),
+                                /* 16 */accessors);
                     }
                 } else if (pm.isVersion()) {
-                    iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class,  %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s);%n",
+                    iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class,  %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s%16$s);%n",
                             /* 1 */VersionPropertyType.class.getName(),
                             /* 2 */entityMeta.getEntityTypeName(),
                             /* 3 */basicCtType.getBoxedTypeName(),
@@ -234,9 +251,10 @@ public class EntityTypeGenerator extends AbstractGenerator {
                             /* 12 */pm.getFieldName(),
                             /* 13 */pm.getBoxedClassName(),
                             /* 14 */domainTypeName,
-                            /* 15 */pm.isColumnQuoteRequired());
+                            /* 15 */pm.isColumnQuoteRequired(),
+                            /* 16 */accessors);
                 } else if (pm.isTenantId()) {
-                    iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class,  %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s);%n",
+                    iprint("public final %1$s<%11$s, %2$s, %3$s, %14$s> %12$s = new %1$s<>(%6$s.class,  %13$s.class, %3$s.class, () -> %7$s, %10$s, %8$s, \"%4$s\", \"%5$s\", __namingType, %15$s%16$s);%n",
                             /* 1 */TenantIdPropertyType.class.getName(),
                             /* 2 */entityMeta.getEntityTypeName(),
                             /* 3 */basicCtType.getBoxedTypeName(),
@@ -248,9 +266,10 @@ public class EntityTypeGenerator extends AbstractGenerator {
                             /* 12 */pm.getFieldName(),
                             /* 13 */pm.getBoxedClassName(),
                             /* 14 */domainTypeName,
-                            /* 15 */pm.isColumnQuoteRequired());
+                            /* 15 */pm.isColumnQuoteRequired(),
+                            /* 16 */accessors);
                 } else {
-                    iprint("public final %1$s<%13$s, %2$s, %3$s, %16$s> %14$s = new %1$s<>(%8$s.class, %15$s.class, %3$s.class, () -> %9$s, %12$s, %10$s, \"%4$s\", \"%5$s\", __namingType, %6$s, %7$s, %17$s);%n",
+                    iprint("public final %1$s<%13$s, %2$s, %3$s, %16$s> %14$s = new %1$s<>(%8$s.class, %15$s.class, %3$s.class, () -> %9$s, %12$s, %10$s, \"%4$s\", \"%5$s\", __namingType, %6$s, %7$s, %17$s%18$s);%n",
                             /* 1 */DefaultPropertyType.class.getName(),
                             /* 2 */entityMeta.getEntityTypeName(),
                             /* 3 */basicCtType.getBoxedTypeName(),
@@ -264,13 +283,119 @@ public class EntityTypeGenerator extends AbstractGenerator {
                             /* 14 */pm.getFieldName(),
                             /* 15 */pm.getBoxedClassName(),
                             /* 16 */domainTypeName,
-                            /* 17 */pm.isColumnQuoteRequired());
+                            /* 17 */pm.isColumnQuoteRequired(),
+                            /* 18 */accessors);
                 }
             }
             print("%n");
         }
     }
 
+    /**
+     * プロパティのフィールドを直接読み書きするラムダ式の引数を返します。
+     * <p>
+     * 生成されるクラスからフィールドにアクセスできない場合は、空文字を返します。その場合、フィールドはリフレクションでアクセスされます。
+     * 
+     * @param pm
+     *            プロパティのメタ
+     * @return 引数の式
+     */
+    protected String getAccessorsExpression(EntityPropertyMeta pm) {
+        if (!isFieldAccessible(pm)) {
+            return "";
+        }
+        String fieldName = pm.getFieldElement().getSimpleName().toString();
+        String getter = String.format("__entity -> __entity.%1$s", fieldName);
+        String setter = NULL;
+        if (isSetterAvailable(pm)) {
+            String primitiveSetterClassName = getPrimitiveSetterClassName(pm);
+            if (primitiveSetterClassName != null) {
+                setter = String.format(
+                        "(%1$s<%2$s>) (__entity, __value) -> __entity.%3$s = __value",
+                        primitiveSetterClassName,
+                        entityMeta.getEntityTypeName(), fieldName);
+            } else {
+                setter = String.format(
+                        "(__entity, __value) -> __entity.%1$s = (%2$s) __value",
+                        fieldName, pm.getBoxedTypeName());
+            }
+        }
+        return ", " + getter + ", " + setter;
+    }
+
+    protected String getPrimitiveSetterClassName(EntityPropertyMeta pm) {
+        switch (pm.getType().getKind()) {
+        case INT:
+            return IntPropertySetter.class.getName();
+        case LONG:
+            return LongPropertySetter.class.getName();
+        case DOUBLE:
+            return DoublePropertySetter.class.getName();
+        default:
+            return null;
+        }
+    }
+
+    protected boolean isFieldAccessible(EntityPropertyMeta pm) {
+        VariableElement fieldElement = pm.getFieldElement();
+        Set<Modifier> modifiers = fieldElement.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        TypeElement declaringElement = (TypeElement) fieldElement
+                .getEnclosingElement();
+        if (declaringElement.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        if (packageName.equals(ElementUtil.getPackageName(declaringElement,
+                env))) {
+            return true;
+        }
+        return modifiers.contains(Modifier.PUBLIC)
+                && declaringElement.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    protected boolean isSetterAvailable(EntityPropertyMeta pm) {
+        if (pm.getFieldElement().getModifiers().contains(Modifier.FINAL)) {
+            return false;
+        }
+        return isCastable(pm.getType());
+    }
+
+    protected boolean isCastable(TypeMirror type) {
+        switch (type.getKind()) {
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+        case CHAR:
+        case FLOAT:
+        case DOUBLE:
+            return true;
+        case ARRAY:
+            return isCastable(((ArrayType) type).getComponentType());
+        case DECLARED:
+            for (TypeMirror typeArg : ((DeclaredType) type).getTypeArguments()) {
+                if (!isCastable(typeArg)) {
+                    return false;
+                }
+            }
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    protected boolean isUncheckedSetterRequired(EntityPropertyMeta pm) {
+        if (!isFieldAccessible(pm) || !isSetterAvailable(pm)) {
+            return false;
+        }
+        TypeMirror type = pm.getType();
+        return type.getKind() == TypeKind.DECLARED
+                && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
     protected String getNamingTypeExpression(boolean defined) {
         if (defined) {
             return NamingType.class.getName() + "." + NamingType.NONE;
@@ -808,6 +933,9 @@ public class EntityTypeGenerator extends AbstractGenerator {
                     m.getInitialValue());
             iprint("    __idGenerator.setAllocationSize(%1$s);%n",
                     m.getAllocationSize());
+            if (m.isPrefetch()) {
+                iprint("    __idGenerator.setPrefetchEnabled(true);%n");
+            }
             iprint("    __idGenerator.initialize();%n");
             iprint("}%n");
             return null;
@@ -824,6 +952,9 @@ public class EntityTypeGenerator extends AbstractGenerator {
                     m.getInitialValue());
             iprint("    __idGenerator.setAllocationSize(%1$s);%n",
                     m.getAllocationSize());
+            if (m.isPrefetch()) {
+                iprint("    __idGenerator.setPrefetchEnabled(true);%n");
+            }
             iprint("    __idGenerator.setPkColumnName(\"%1$s\");%n",
                     m.getPkColumnName());
             iprint("    __idGenerator.setPkColumnValue(\"%1$s\");%n",
@@ -55,6 +55,8 @@ public final class Options {
 
     public static final String SQL_VALIDATION = "doma.sql.validation";
 
+    public static final String SQL_PRECOMPILE = "doma.sql.precompile";
+
     public static final String VERSION_VALIDATION = "doma.version.validation";
 
     public static final String CONFIG_PATH = "doma.config.path";
@@ -127,6 +129,11 @@ public final class Options {
         return v != null ? Boolean.valueOf(v).booleanValue() : true;
     }
 
+    public static boolean getSqlPrecompile(ProcessingEnvironment env) {
+        String v = getOption(env, Options.SQL_PRECOMPILE);
+        return v != null ? Boolean.valueOf(v).booleanValue() : false;
+    }
+
     public static boolean getVersionValidation(ProcessingEnvironment env) {
         String v = getOption(env, Options.VERSION_VALIDATION);
         return v != null ? Boolean.valueOf(v).booleanValue() : true;
@@ -31,6 +31,7 @@ import org.seasar.doma.internal.apt.cttype.OptionalDoubleCtType;
 import org.seasar.doma.internal.apt.cttype.OptionalIntCtType;
 import org.seasar.doma.internal.apt.cttype.OptionalLongCtType;
 import org.seasar.doma.internal.apt.cttype.SimpleCtTypeVisitor;
+import org.seasar.doma.jdbc.SqlFile;
 import org.seasar.doma.jdbc.command.Command;
 import org.seasar.doma.jdbc.query.Query;
 
@@ -60,6 +61,8 @@ public abstract class AbstractQueryMeta implements QueryMeta {
 
     protected List<String> fileNames = new ArrayList<String>();
 
+    protected List<SqlFile> sqlFiles = new ArrayList<SqlFile>();
+
     protected AbstractQueryMeta(ExecutableElement method, TypeElement dao) {
         assertNotNull(method);
         this.name = method.getSimpleName().toString();
@@ -162,6 +165,15 @@ public abstract class AbstractQueryMeta implements QueryMeta {
         this.fileNames.add(fileName);
     }
 
+    @Override
+    public List<SqlFile> getSqlFiles() {
+        return sqlFiles;
+    }
+
+    public void addSqlFile(SqlFile sqlFile) {
+        this.sqlFiles.add(sqlFile);
+    }
+
     @Override
     public boolean isVarArgs() {
         return this.executableElement.isVarArgs();
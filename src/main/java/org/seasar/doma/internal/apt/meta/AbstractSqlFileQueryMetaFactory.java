@@ -38,6 +38,7 @@ import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
 import org.seasar.doma.internal.util.IOUtil;
 import org.seasar.doma.internal.util.StringUtil;
 import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.SqlFile;
 import org.seasar.doma.jdbc.SqlNode;
 import org.seasar.doma.message.Message;
 
@@ -80,6 +81,9 @@ public abstract class AbstractSqlFileQueryMetaFactory<M extends AbstractSqlFileQ
                         expandable, populatable);
                 validator.validate(sqlNode);
                 queryMeta.addFileName(fileName);
+                if (Options.getSqlPrecompile(env)) {
+                    queryMeta.addSqlFile(new SqlFile(sqlFilePath, sql, sqlNode));
+                }
             }
         }
     }
@@ -47,6 +47,8 @@ public class EntityPropertyMeta {
 
     protected final NamingType namingType;
 
+    protected final VariableElement fieldElement;
+
     protected final TypeMirror type;
 
     protected final String typeName;
@@ -81,6 +83,7 @@ public class EntityPropertyMeta {
         this.entityTypeName = entityElement.getQualifiedName().toString();
         this.entityMetaTypeName = MetaUtil.toFullMetaName(entityElement, env);
         this.namingType = namingType;
+        this.fieldElement = propertyElement;
         this.type = propertyElement.asType();
         this.typeName = TypeMirrorUtil.getTypeName(type, env);
         this.boxedTypeName = TypeMirrorUtil.getBoxedTypeName(type, env);
@@ -145,6 +148,10 @@ public class EntityPropertyMeta {
         this.idGeneratorMeta = idGeneratorMeta;
     }
 
+    public VariableElement getFieldElement() {
+        return fieldElement;
+    }
+
     public TypeMirror getType() {
         return type;
     }
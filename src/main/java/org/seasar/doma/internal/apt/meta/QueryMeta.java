@@ -22,6 +22,8 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 
+import org.seasar.doma.jdbc.SqlFile;
+
 /**
  * @author taedium
  * 
@@ -50,5 +52,7 @@ public interface QueryMeta {
 
     List<String> getFileNames();
 
+    List<SqlFile> getSqlFiles();
+
     <R, P> R accept(QueryMetaVisitor<R, P> visitor, P p);
 }
@@ -18,6 +18,7 @@ package org.seasar.doma.internal.apt.meta;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
@@ -61,14 +62,64 @@ public class QueryReturnMeta {
 
     protected final CtType ctType;
 
+    protected final String methodReturnTypeName;
+
+    protected final boolean async;
+
     public QueryReturnMeta(QueryMeta queryMeta, ProcessingEnvironment env) {
         assertNotNull(queryMeta, env);
         this.env = env;
         methodElement = queryMeta.getMethodElement();
         daoElement = queryMeta.getDaoElement();
-        type = methodElement.getReturnType();
+        TypeMirror returnType = methodElement.getReturnType();
+        methodReturnTypeName = TypeMirrorUtil.getTypeName(returnType, env);
+        TypeMirror futureElementType = getFutureElementType(returnType);
+        async = futureElementType != null;
+        type = async ? futureElementType : returnType;
         typeName = TypeMirrorUtil.getTypeName(type, env);
         ctType = createCtType();
+        if (async && ctType instanceof StreamCtType) {
+            throw new AptException(Message.DOMA4446, env, methodElement,
+                    new Object[] { daoElement.getQualifiedName(),
+                            methodElement.getSimpleName() });
+        }
+    }
+
+    /**
+     * 戻り値の型が {@link CompletableFuture} の場合、その型引数を返します。
+     * <p>
+     * 型引数が {@link Void} の場合は {@code void} を返します。
+     * デフォルトメソッドは自身で {@link CompletableFuture} を組み立てるため対象外です。
+     * 
+     * @param returnType
+     *            戻り値の型
+     * @return 型引数、戻り値の型が {@link CompletableFuture} でない場合 {@code null}
+     */
+    protected TypeMirror getFutureElementType(TypeMirror returnType) {
+        if (methodElement.isDefault()) {
+            return null;
+        }
+        if (!TypeMirrorUtil.isSameType(env.getTypeUtils().erasure(returnType),
+                CompletableFuture.class, env)) {
+            return null;
+        }
+        DeclaredType declaredType = TypeMirrorUtil.toDeclaredType(returnType,
+                env);
+        if (declaredType == null || declaredType.getTypeArguments().isEmpty()) {
+            throw new AptException(Message.DOMA4444, env, methodElement,
+                    new Object[] { daoElement.getQualifiedName(),
+                            methodElement.getSimpleName() });
+        }
+        TypeMirror typeArg = declaredType.getTypeArguments().get(0);
+        if (typeArg.getKind() == TypeKind.WILDCARD) {
+            throw new AptException(Message.DOMA4445, env, methodElement,
+                    new Object[] { daoElement.getQualifiedName(),
+                            methodElement.getSimpleName() });
+        }
+        if (TypeMirrorUtil.isSameType(typeArg, Void.class, env)) {
+            return env.getTypeUtils().getNoType(TypeKind.VOID);
+        }
+        return typeArg;
     }
 
     protected CtType createCtType() {
@@ -170,11 +221,35 @@ public class QueryReturnMeta {
         return typeName;
     }
 
+    /**
+     * メソッドに宣言された戻り値の型の名前を返します。
+     * <p>
+     * 非同期に実行されるメソッドの場合、 {@link #getTypeName()} は {@link CompletableFuture}
+     * の型引数の名前を返しますが、このメソッドは {@link CompletableFuture} の名前を返します。
+     * 
+     * @return 戻り値の型の名前
+     */
+    public String getMethodReturnTypeName() {
+        return methodReturnTypeName;
+    }
+
+    /**
+     * メソッドが非同期に実行されるかどうかを返します。
+     * 
+     * @return 戻り値の型が {@link CompletableFuture} の場合 {@code true}
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
     public String getBoxedTypeName() {
         return ctType.getBoxedTypeName();
     }
 
     public boolean isPrimitiveInt() {
+        if (async) {
+            return TypeMirrorUtil.isSameType(type, Integer.class, env);
+        }
         return type.getKind() == TypeKind.INT;
     }
 
@@ -57,6 +57,10 @@ public class SequenceIdGeneratorMeta implements IdGeneratorMeta {
         return sequenceGeneratorMirror.getAllocationSizeValue();
     }
 
+    public boolean isPrefetch() {
+        return sequenceGeneratorMirror.getPrefetchValue();
+    }
+
     @Override
     public String getIdGeneratorClassName() {
         return sequenceGeneratorMirror.getImplementerValue().toString();
@@ -68,6 +68,10 @@ public class TableIdGeneratorMeta implements IdGeneratorMeta {
         return tableGeneratorMirror.getAllocationSizeValue();
     }
 
+    public boolean isPrefetch() {
+        return tableGeneratorMirror.getPrefetchValue();
+    }
+
     @Override
     public String getIdGeneratorClassName() {
         return tableGeneratorMirror.getImplementerValue().toString();
@@ -45,6 +45,8 @@ public class ScriptMirror {
 
     protected AnnotationValue sqlLog;
 
+    protected AnnotationValue batchSize;
+
     protected ScriptMirror(AnnotationMirror annotationMirror) {
         this.annotationMirror = annotationMirror;
     }
@@ -61,6 +63,10 @@ public class ScriptMirror {
         return sqlLog;
     }
 
+    public AnnotationValue getBatchSize() {
+        return batchSize;
+    }
+
     public boolean getHaltOnErrorValue() {
         Boolean value = AnnotationValueUtil.toBoolean(haltOnError);
         if (value == null) {
@@ -86,6 +92,14 @@ public class ScriptMirror {
         return SqlLogType.valueOf(enumConstant.getSimpleName().toString());
     }
 
+    public int getBatchSizeValue() {
+        Integer value = AnnotationValueUtil.toInteger(batchSize);
+        if (value == null) {
+            throw new AptIllegalStateException("batchSize");
+        }
+        return value.intValue();
+    }
+
     public AnnotationMirror getAnnotationMirror() {
         return annotationMirror;
     }
@@ -110,6 +124,8 @@ public class ScriptMirror {
                 result.blockDelimiter = value;
             } else if ("sqlLog".equals(name)) {
                 result.sqlLog = value;
+            } else if ("batchSize".equals(name)) {
+                result.batchSize = value;
             }
         }
         return result;
@@ -49,6 +49,8 @@ public class SequenceGeneratorMirror {
 
     protected AnnotationValue allocationSize;
 
+    protected AnnotationValue prefetch;
+
     protected AnnotationValue implementer;
 
     protected SequenceGeneratorMirror(AnnotationMirror annotationMirror) {
@@ -81,6 +83,8 @@ public class SequenceGeneratorMirror {
                 result.initialValue = value;
             } else if ("allocationSize".equals(name)) {
                 result.allocationSize = value;
+            } else if ("prefetch".equals(name)) {
+                result.prefetch = value;
             } else if ("implementer".equals(name)) {
                 result.implementer = value;
             }
@@ -112,6 +116,10 @@ public class SequenceGeneratorMirror {
         return allocationSize;
     }
 
+    public AnnotationValue getPrefetch() {
+        return prefetch;
+    }
+
     public AnnotationValue getImplementer() {
         return implementer;
     }
@@ -156,6 +164,14 @@ public class SequenceGeneratorMirror {
         return value;
     }
 
+    public boolean getPrefetchValue() {
+        Boolean value = AnnotationValueUtil.toBoolean(prefetch);
+        if (value == null) {
+            throw new AptIllegalStateException("prefetch");
+        }
+        return value.booleanValue();
+    }
+
     public TypeMirror getImplementerValue() {
         TypeMirror value = AnnotationValueUtil.toType(implementer);
         if (value == null) {
@@ -55,6 +55,8 @@ public class TableGeneratorMirror {
 
     protected AnnotationValue allocationSize;
 
+    protected AnnotationValue prefetch;
+
     protected AnnotationValue implementer;
 
     protected TableGeneratorMirror(AnnotationMirror annotationMirror) {
@@ -92,6 +94,8 @@ public class TableGeneratorMirror {
                 result.initialValue = value;
             } else if ("allocationSize".equals(name)) {
                 result.allocationSize = value;
+            } else if ("prefetch".equals(name)) {
+                result.prefetch = value;
             } else if ("implementer".equals(name)) {
                 result.implementer = value;
             }
@@ -135,6 +139,10 @@ public class TableGeneratorMirror {
         return allocationSize;
     }
 
+    public AnnotationValue getPrefetch() {
+        return prefetch;
+    }
+
     public AnnotationValue getImplementer() {
         return implementer;
     }
@@ -203,6 +211,14 @@ public class TableGeneratorMirror {
         return value;
     }
 
+    public boolean getPrefetchValue() {
+        Boolean value = AnnotationValueUtil.toBoolean(prefetch);
+        if (value == null) {
+            throw new AptIllegalStateException("prefetch");
+        }
+        return value.booleanValue();
+    }
+
     public TypeMirror getImplementerValue() {
         TypeMirror value = AnnotationValueUtil.toType(implementer);
         if (value == null) {
@@ -21,6 +21,7 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertUnreachable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -29,6 +30,7 @@ import java.lang.reflect.TypeVariable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -38,6 +40,9 @@ import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.WrapException;
@@ -87,6 +92,22 @@ import org.seasar.doma.message.Message;
 public class ExpressionEvaluator implements
         ExpressionNodeVisitor<EvaluationResult, Void> {
 
+    /**
+     * 解決済みのメソッド、フィールド、コンストラクタのクラスごとのキャッシュです。
+     * <p>
+     * SQLテンプレートの式が評価されるたびにリフレクションによる探索が行われないように、すべてのインスタンスで共有されます。
+     * キャッシュは {@link ClassValue} で探索対象のクラスに保持されます。
+     * 引数の型が探索対象のクラスのクラスローダーもしくはその親から読み込まれている場合にのみキャッシュするため、
+     * キャッシュが他のクラスローダーのクラスのアンロードを妨げることはありません。
+     */
+    protected static final ClassValue<ConcurrentMap<MemberKey, Member>> memberCache = new ClassValue<ConcurrentMap<MemberKey, Member>>() {
+
+        @Override
+        protected ConcurrentMap<MemberKey, Member> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     protected final Map<String, Value> variableValues;
 
     protected final ExpressionFunctions expressionFunctions;
@@ -457,6 +478,14 @@ public class ExpressionEvaluator implements
 
     protected Constructor<?> findConstructor(ExpressionLocation location,
             Class<?> clazz, Class<?>... paramTypes) {
+        MemberKey key = new MemberKey(MemberKind.CONSTRUCTOR, "<init>",
+                paramTypes);
+        return (Constructor<?>) resolveMember(clazz, key,
+                () -> findConstructorInternal(clazz, paramTypes));
+    }
+
+    protected Constructor<?> findConstructorInternal(Class<?> clazz,
+            Class<?>... paramTypes) {
         outer: for (Constructor<?> constructor : clazz.getConstructors()) {
             Class<?>[] types = constructor.getParameterTypes();
             if (types.length == paramTypes.length) {
@@ -539,6 +568,15 @@ public class ExpressionEvaluator implements
 
     protected Method findMethod(String methodName, Object target,
             Class<?> targetClass, Class<?>[] paramTypes) {
+        MemberKey key = new MemberKey(MemberKind.METHOD, methodName,
+                paramTypes);
+        return (Method) resolveMember(targetClass, key,
+                () -> findMethodInternal(methodName, target, targetClass,
+                        paramTypes));
+    }
+
+    protected Method findMethodInternal(String methodName, Object target,
+            Class<?> targetClass, Class<?>[] paramTypes) {
         Method result = findMethodFromInterfaces(methodName, target,
                 targetClass, paramTypes);
         if (result != null) {
@@ -711,6 +749,13 @@ public class ExpressionEvaluator implements
     }
 
     protected Field findField(String fieldName, Class<?> targetClass) {
+        MemberKey key = new MemberKey(MemberKind.FIELD, fieldName,
+                new Class<?>[] {});
+        return (Field) resolveMember(targetClass, key,
+                () -> findFieldInternal(fieldName, targetClass));
+    }
+
+    protected Field findFieldInternal(String fieldName, Class<?> targetClass) {
         for (Class<?> clazz = targetClass; clazz != Object.class; clazz = clazz
                 .getSuperclass()) {
             try {
@@ -723,6 +768,56 @@ public class ExpressionEvaluator implements
         return null;
     }
 
+    /**
+     * キャッシュからメンバーを取得し、存在しなければ探索してキャッシュします。
+     * <p>
+     * 見つからなかったメンバーと、探索対象のクラスから参照できない引数の型を含むメンバーはキャッシュしません。
+     * 
+     * @param targetClass
+     *            探索対象のクラス
+     * @param key
+     *            メンバーのキー
+     * @param finder
+     *            メンバーを探索する関数
+     * @return メンバー、見つからない場合 {@code null}
+     */
+    protected Member resolveMember(Class<?> targetClass, MemberKey key,
+            Supplier<? extends Member> finder) {
+        ConcurrentMap<MemberKey, Member> members = memberCache
+                .get(targetClass);
+        Member member = members.get(key);
+        if (member == null) {
+            member = finder.get();
+            if (member != null && isCacheable(targetClass, key)) {
+                members.putIfAbsent(key, member);
+            }
+        }
+        return member;
+    }
+
+    protected boolean isCacheable(Class<?> targetClass, MemberKey key) {
+        ClassLoader loader = targetClass.getClassLoader();
+        for (Class<?> paramType : key.paramTypes) {
+            if (paramType != null && !isVisible(paramType, loader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean isVisible(Class<?> type, ClassLoader loader) {
+        ClassLoader typeLoader = type.getClassLoader();
+        if (typeLoader == null) {
+            return true;
+        }
+        for (ClassLoader l = loader; l != null; l = l.getParent()) {
+            if (l == typeLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected Field findStaticField(String fieldName, Class<?> targetClass) {
         Field field = findField(fieldName, targetClass);
         if (field != null && (field.getModifiers() & Modifier.STATIC) != 0) {
@@ -1217,6 +1312,49 @@ public class ExpressionEvaluator implements
 
     }
 
+    protected enum MemberKind {
+        METHOD, FIELD, CONSTRUCTOR
+    }
+
+    protected static class MemberKey {
+
+        protected final MemberKind kind;
+
+        protected final String name;
+
+        protected final Class<?>[] paramTypes;
+
+        protected final int hashCode;
+
+        protected MemberKey(MemberKind kind, String name, Class<?>[] paramTypes) {
+            this.kind = kind;
+            this.name = name;
+            this.paramTypes = paramTypes;
+            int result = kind.hashCode();
+            result = 31 * result + name.hashCode();
+            result = 31 * result + Arrays.hashCode(this.paramTypes);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MemberKey)) {
+                return false;
+            }
+            MemberKey other = (MemberKey) obj;
+            return kind == other.kind && name.equals(other.name)
+                    && Arrays.equals(paramTypes, other.paramTypes);
+        }
+    }
+
     protected static class CandidateMethod {
         final int degreeOfcoincidence;
         final Method method;
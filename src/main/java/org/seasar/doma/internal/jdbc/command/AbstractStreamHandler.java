@@ -22,7 +22,6 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -32,6 +31,8 @@ import org.seasar.doma.FetchType;
 import org.seasar.doma.internal.jdbc.command.ResultSetIterator.SQLRuntimeException;
 import org.seasar.doma.internal.util.IteratorUtil;
 import org.seasar.doma.jdbc.ObjectProvider;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.command.ResultSetHandler;
 import org.seasar.doma.jdbc.command.ResultSetRowIndexConsumer;
 import org.seasar.doma.jdbc.query.SelectQuery;
@@ -47,6 +48,10 @@ import org.seasar.doma.jdbc.query.SelectQuery;
 public abstract class AbstractStreamHandler<TARGET, RESULT> implements
         ResultSetHandler<RESULT> {
 
+    protected static final int DEFAULT_PREFETCH_SIZE = 256;
+
+    protected static final int DEFAULT_BATCH_UNIT = 128;
+
     protected final Function<Stream<TARGET>, RESULT> mapper;
 
     public AbstractStreamHandler(Function<Stream<TARGET>, RESULT> mapper) {
@@ -65,9 +70,11 @@ public abstract class AbstractStreamHandler<TARGET, RESULT> implements
                 // consume ResultSet
                 List<TARGET> list = IteratorUtil.toList(iterator);
                 return () -> mapper.apply(list.stream());
+            } else if (query.getFetchType() == FetchType.PREFETCH) {
+                return prefetch(iterator, query);
             } else {
-                Spliterator<TARGET> spliterator = Spliterators
-                        .spliteratorUnknownSize(iterator, 0);
+                Spliterator<TARGET> spliterator = createSpliterator(iterator,
+                        query);
                 Stream<TARGET> stream = StreamSupport
                         .stream(spliterator, false);
                 RESULT result = mapper.apply(stream);
@@ -78,6 +85,54 @@ public abstract class AbstractStreamHandler<TARGET, RESULT> implements
         }
     }
 
+    protected Supplier<RESULT> prefetch(Iterator<TARGET> iterator,
+            SelectQuery query) {
+        int capacity = query.getFetchSize() > 0 ? query.getFetchSize()
+                : DEFAULT_PREFETCH_SIZE;
+        PrefetchingIterator<TARGET> prefetchingIterator = new PrefetchingIterator<>(
+                iterator, capacity, query.getConfig().getExecutor());
+        boolean closeRequired = true;
+        try {
+            Spliterator<TARGET> spliterator = createSpliterator(
+                    prefetchingIterator, query);
+            Stream<TARGET> stream = StreamSupport.stream(spliterator, false)
+                    .onClose(prefetchingIterator::close);
+            RESULT result = mapper.apply(stream);
+            // the returned stream is closed by the caller
+            closeRequired = !query.isResultStream();
+            return () -> result;
+        } finally {
+            if (closeRequired) {
+                prefetchingIterator.close();
+            }
+        }
+    }
+
+    protected Spliterator<TARGET> createSpliterator(Iterator<TARGET> iterator,
+            SelectQuery query) {
+        int batchUnit = query.getFetchSize() > 0 ? query.getFetchSize()
+                : DEFAULT_BATCH_UNIT;
+        return new ResultSetSpliterator<>(iterator, batchUnit,
+                estimateSize(query));
+    }
+
+    protected long estimateSize(SelectQuery query) {
+        long size = Long.MAX_VALUE;
+        SelectOptions options = query.getOptions();
+        if (options != null && options.getCount() >= 0) {
+            long offset = SelectOptionsAccessor.getOffset(options);
+            long limit = SelectOptionsAccessor.getLimit(options);
+            size = Math.max(options.getCount() - Math.max(offset, 0), 0);
+            if (limit > 0) {
+                size = Math.min(size, limit);
+            }
+        }
+        if (query.getMaxRows() > 0) {
+            size = Math.min(size, query.getMaxRows());
+        }
+        return size;
+    }
+
     protected abstract ObjectProvider<TARGET> createObjectProvider(
             SelectQuery query);
 
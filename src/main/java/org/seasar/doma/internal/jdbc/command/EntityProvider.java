@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.Constants.ROWNUMBER_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.ResultMappingException;
@@ -45,6 +47,8 @@ import org.seasar.doma.jdbc.query.Query;
  */
 public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
 
+    protected static final IndexMapCache<EntityPropertyType<?, ?>> indexMapCache = new IndexMapCache<>();
+
     protected final EntityType<ENTITY> entityType;
 
     protected final Query query;
@@ -57,6 +61,10 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
 
     protected Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap;
 
+    protected RowMapper rowMapper;
+
+    protected boolean unknownColumnHandled;
+
     /**
      * @param entityType
      * @param query
@@ -80,24 +88,43 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
     protected ENTITY build(ResultSet resultSet) throws SQLException {
         assertNotNull(resultSet);
         if (indexMap == null) {
-            indexMap = createIndexMap(resultSet.getMetaData(), entityType);
+            indexMap = getIndexMap(resultSet.getMetaData());
         }
-        Map<String, Property<ENTITY, ?>> states = new HashMap<>(indexMap.size());
-        for (Map.Entry<Integer, EntityPropertyType<ENTITY, ?>> entry : indexMap
-                .entrySet()) {
-            Integer index = entry.getKey();
-            EntityPropertyType<ENTITY, ?> propertyType = entry.getValue();
-            Property<ENTITY, ?> property = propertyType.createProperty();
-            fetch(resultSet, property, index, jdbcMappingVisitor);
-            states.put(propertyType.getName(), property);
+        if (rowMapper == null || rowMapper.resultSet != resultSet) {
+            rowMapper = new RowMapper(resultSet, indexMap);
         }
-        ENTITY entity = entityType.newEntity(states);
+        ENTITY entity = rowMapper.map();
         if (!entityType.isImmutable()) {
             entityType.saveCurrentStates(entity);
         }
         return entity;
     }
 
+    @SuppressWarnings("unchecked")
+    protected Map<Integer, EntityPropertyType<ENTITY, ?>> getIndexMap(
+            ResultSetMetaData resultSetMeta) throws SQLException {
+        Sql<?> sql = query.getSql();
+        if (sql == null) {
+            return createIndexMap(resultSetMeta, entityType);
+        }
+        Config config = query.getConfig();
+        List<Object> key = IndexMapCache.createKey(entityType,
+                sql.getRawSql(), config.getNaming(), config.getDialect()
+                        .getName(), resultMappingEnsured, resultSetMeta
+                        .getColumnCount());
+        Map<Integer, EntityPropertyType<?, ?>> cachedIndexMap = indexMapCache
+                .get(key);
+        if (cachedIndexMap != null) {
+            return (Map<Integer, EntityPropertyType<ENTITY, ?>>) (Map<Integer, ?>) cachedIndexMap;
+        }
+        HashMap<Integer, EntityPropertyType<ENTITY, ?>> indexMap = createIndexMap(
+                resultSetMeta, entityType);
+        if (!unknownColumnHandled) {
+            indexMapCache.put(key, indexMap);
+        }
+        return indexMap;
+    }
+
     protected HashMap<Integer, EntityPropertyType<ENTITY, ?>> createIndexMap(
             ResultSetMetaData resultSetMeta, EntityType<ENTITY> entityType)
             throws SQLException {
@@ -112,9 +139,11 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
             EntityPropertyType<ENTITY, ?> propertyType = columnNameMap
                     .get(lowerCaseColumnName);
             if (propertyType == null) {
-                if (ROWNUMBER_COLUMN_NAME.equals(lowerCaseColumnName)) {
+                if (ROWNUMBER_COLUMN_NAME.equals(lowerCaseColumnName)
+                        || COUNT_COLUMN_NAME.equals(lowerCaseColumnName)) {
                     continue;
                 }
+                unknownColumnHandled = true;
                 unknownColumnHandler.handle(query, entityType,
                         lowerCaseColumnName);
             } else {
@@ -160,4 +189,90 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
                 sql.getSqlFilePath());
     }
 
+    /**
+     * 結果セットの行をエンティティにマッピングします。
+     * <p>
+     * 列のインデックスとプロパティ型の対応は最初の行で確定するため、
+     * {@link JdbcValueGetter} は行をまたいで再利用されます。
+     * <p>
+     * 可変なエンティティで、埋め込み可能型のプロパティを含まない場合は、列ごとのプロパティも行をまたいで再利用し、
+     * {@link EntityType#newEntity(Map)} で生成した空のエンティティに値を直接設定します。
+     * そのため、行ごとに生成されるのはエンティティとボクシングされた値だけです。
+     * それ以外の場合は、 {@link EntityType#newEntity(Map)} に渡すプロパティとマップを、
+     * 実装が保持しても問題がないように行ごとに生成します。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected class RowMapper {
+
+        protected final ResultSet resultSet;
+
+        protected final EntityPropertyType<ENTITY, ?>[] propertyTypes;
+
+        protected final JdbcValueGetter[] getters;
+
+        /** 行をまたいで再利用するプロパティ、エンティティに値を直接設定できない場合 {@code null} */
+        protected final Property<ENTITY, ?>[] properties;
+
+        @SuppressWarnings("unchecked")
+        protected RowMapper(ResultSet resultSet,
+                Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap) {
+            int size = indexMap.size();
+            this.resultSet = resultSet;
+            this.propertyTypes = new EntityPropertyType[size];
+            this.getters = new JdbcValueGetter[size];
+            int i = 0;
+            for (Map.Entry<Integer, EntityPropertyType<ENTITY, ?>> entry : indexMap
+                    .entrySet()) {
+                propertyTypes[i] = entry.getValue();
+                getters[i] = new JdbcValueGetter(resultSet, entry.getKey());
+                i++;
+            }
+            if (isDirectlyFillable()) {
+                properties = new Property[size];
+                for (i = 0; i < size; i++) {
+                    properties[i] = propertyTypes[i].createProperty();
+                }
+            } else {
+                properties = null;
+            }
+        }
+
+        protected boolean isDirectlyFillable() {
+            if (entityType.isImmutable()) {
+                return false;
+            }
+            for (EntityPropertyType<ENTITY, ?> propertyType : entityType
+                    .getEntityPropertyTypes()) {
+                if (propertyType.getName().indexOf('.') >= 0) {
+                    // 埋め込み可能型のプロパティ
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected ENTITY map() throws SQLException {
+            if (properties != null) {
+                ENTITY entity = entityType.newEntity(Collections.emptyMap());
+                for (int i = 0; i < properties.length; i++) {
+                    Property<ENTITY, ?> property = properties[i];
+                    fetch(property, getters[i], jdbcMappingVisitor);
+                    property.save(entity);
+                }
+                return entity;
+            }
+            Map<String, Property<ENTITY, ?>> states = new HashMap<>(
+                    (int) (propertyTypes.length / 0.75f) + 1);
+            for (int i = 0; i < propertyTypes.length; i++) {
+                EntityPropertyType<ENTITY, ?> propertyType = propertyTypes[i];
+                Property<ENTITY, ?> property = propertyType.createProperty();
+                fetch(property, getters[i], jdbcMappingVisitor);
+                states.put(propertyType.getName(), property);
+            }
+            return entityType.newEntity(states);
+        }
+    }
+
 }
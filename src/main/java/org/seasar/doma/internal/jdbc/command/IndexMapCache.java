@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.seasar.doma.internal.util.StripedLruCache;
+
+/**
+ * 結果セットの列のインデックスとマッピング先の対応をキャッシュします。
+ * <p>
+ * 同じSQLに対する2回目以降の実行では、列のラベルを読み取らずに対応を再利用できます。
+ * <p>
+ * キーには、対応を決定するすべての要素（SQL、結果セットの列数、ネーミング規約、ダイアレクトなど）を含めなければいけません。
+ * 列数を変えずに列の名前や並びが変わるようなスキーマの変更を行った場合は、 {@link #clear()} を呼び出してください。
+ * <p>
+ * キャッシュされる対応の数が {@link #MAX_SIZE} を超えると、最も長い間参照されていない対応が破棄されます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * 
+ * @param <VALUE>
+ *            マッピング先の型
+ */
+public class IndexMapCache<VALUE> {
+
+    /** キャッシュする対応の最大数 */
+    public static final int MAX_SIZE = 1024;
+
+    protected final StripedLruCache<List<Object>, Map<Integer, VALUE>> indexMapCache = new StripedLruCache<>(
+            MAX_SIZE);
+
+    /**
+     * キャッシュのキーを作成します。
+     * 
+     * @param elements
+     *            キーの要素
+     * @return キー
+     */
+    public static List<Object> createKey(Object... elements) {
+        assertNotNull((Object) elements);
+        return Arrays.asList(elements);
+    }
+
+    /**
+     * キャッシュされた対応を返します。
+     * 
+     * @param key
+     *            キー
+     * @return 対応、キャッシュされていない場合 {@code null}
+     */
+    public Map<Integer, VALUE> get(List<Object> key) {
+        assertNotNull(key);
+        return indexMapCache.get(key);
+    }
+
+    /**
+     * 対応をキャッシュします。
+     * 
+     * @param key
+     *            キー
+     * @param indexMap
+     *            対応
+     */
+    public void put(List<Object> key,
+            Map<Integer, ? extends VALUE> indexMap) {
+        assertNotNull(key, indexMap);
+        indexMapCache.put(key, Collections.unmodifiableMap(indexMap));
+    }
+
+    /**
+     * キャッシュされている対応の数を返します。
+     * 
+     * @return 対応の数
+     */
+    public int size() {
+        return indexMapCache.size();
+    }
+
+    /**
+     * キャッシュをクリアします。
+     */
+    public void clear() {
+        indexMapCache.clear();
+    }
+}
@@ -22,7 +22,13 @@ import java.sql.SQLException;
 
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.jdbc.JdbcMappingFunction;
+import org.seasar.doma.jdbc.type.DoubleType;
+import org.seasar.doma.jdbc.type.IntegerType;
 import org.seasar.doma.jdbc.type.JdbcType;
+import org.seasar.doma.jdbc.type.LongType;
+import org.seasar.doma.wrapper.DoubleWrapper;
+import org.seasar.doma.wrapper.IntegerWrapper;
+import org.seasar.doma.wrapper.LongWrapper;
 import org.seasar.doma.wrapper.Wrapper;
 
 /**
@@ -56,4 +62,58 @@ public class JdbcValueGetter implements JdbcMappingFunction {
         wrapper.set(value);
         return null;
     }
+
+    @Override
+    public <R> R applyInt(IntegerWrapper wrapper, IntegerType jdbcType)
+            throws SQLException {
+        if (wrapper == null) {
+            throw new DomaNullPointerException("wrapper");
+        }
+        if (jdbcType == null) {
+            throw new DomaNullPointerException("jdbcType");
+        }
+        int value = jdbcType.getInt(resultSet, index);
+        if (resultSet.wasNull()) {
+            wrapper.set(null);
+        } else {
+            wrapper.setInt(value);
+        }
+        return null;
+    }
+
+    @Override
+    public <R> R applyLong(LongWrapper wrapper, LongType jdbcType)
+            throws SQLException {
+        if (wrapper == null) {
+            throw new DomaNullPointerException("wrapper");
+        }
+        if (jdbcType == null) {
+            throw new DomaNullPointerException("jdbcType");
+        }
+        long value = jdbcType.getLong(resultSet, index);
+        if (resultSet.wasNull()) {
+            wrapper.set(null);
+        } else {
+            wrapper.setLong(value);
+        }
+        return null;
+    }
+
+    @Override
+    public <R> R applyDouble(DoubleWrapper wrapper, DoubleType jdbcType)
+            throws SQLException {
+        if (wrapper == null) {
+            throw new DomaNullPointerException("wrapper");
+        }
+        if (jdbcType == null) {
+            throw new DomaNullPointerException("jdbcType");
+        }
+        double value = jdbcType.getDouble(resultSet, index);
+        if (resultSet.wasNull()) {
+            wrapper.set(null);
+        } else {
+            wrapper.setDouble(value);
+        }
+        return null;
+    }
 }
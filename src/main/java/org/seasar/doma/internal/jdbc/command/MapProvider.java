@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
@@ -23,12 +24,15 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.seasar.doma.MapKeyNamingType;
 import org.seasar.doma.internal.jdbc.scalar.BasicScalar;
+import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.MapKeyNaming;
+import org.seasar.doma.jdbc.Sql;
 import org.seasar.doma.jdbc.query.Query;
 import org.seasar.doma.wrapper.ObjectWrapper;
 
@@ -38,6 +42,8 @@ import org.seasar.doma.wrapper.ObjectWrapper;
  */
 public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
 
+    protected static final IndexMapCache<String> indexMapCache = new IndexMapCache<>();
+
     protected final Query query;
 
     protected final MapKeyNamingType mapKeyNamingType;
@@ -63,7 +69,7 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
     public Map<String, Object> get(ResultSet resultSet) throws SQLException {
         Map<String, Object> map = new LinkedHashMap<String, Object>();
         if (indexMap == null) {
-            indexMap = createIndexMap(resultSet.getMetaData());
+            indexMap = getIndexMap(resultSet.getMetaData());
         }
         for (Map.Entry<Integer, String> entry : indexMap.entrySet()) {
             Integer index = entry.getKey();
@@ -76,6 +82,25 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
         return map;
     }
 
+    protected Map<Integer, String> getIndexMap(ResultSetMetaData resultSetMeta)
+            throws SQLException {
+        Sql<?> sql = query.getSql();
+        if (sql == null) {
+            return createIndexMap(resultSetMeta);
+        }
+        Config config = query.getConfig();
+        List<Object> key = IndexMapCache.createKey(sql.getRawSql(),
+                query.getMethod(), mapKeyNamingType, config.getMapKeyNaming(),
+                config.getDialect().getName(), resultSetMeta.getColumnCount());
+        Map<Integer, String> cachedIndexMap = indexMapCache.get(key);
+        if (cachedIndexMap != null) {
+            return cachedIndexMap;
+        }
+        HashMap<Integer, String> indexMap = createIndexMap(resultSetMeta);
+        indexMapCache.put(key, indexMap);
+        return indexMap;
+    }
+
     protected HashMap<Integer, String> createIndexMap(
             ResultSetMetaData resultSetMeta) throws SQLException {
         MapKeyNaming naming = query.getConfig().getMapKeyNaming();
@@ -84,6 +109,9 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
         int count = resultSetMeta.getColumnCount();
         for (int i = 1; i < count + 1; i++) {
             String columnName = resultSetMeta.getColumnLabel(i);
+            if (COUNT_COLUMN_NAME.equalsIgnoreCase(columnName)) {
+                continue;
+            }
             String key = naming.apply(method, mapKeyNamingType, columnName);
             indexMap.put(i, key);
         }
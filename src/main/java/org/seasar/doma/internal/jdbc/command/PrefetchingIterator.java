@@ -0,0 +1,261 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.message.Message;
+
+/**
+ * 別スレッドで要素を先読みするイテレータです。
+ * <p>
+ * 先読みされた要素は上限のあるキューに蓄えられ、キューが一杯の間は先読みを待機します。
+ * 先読み中に発生した例外は、その要素を取り出す際に呼び出し元のスレッドへスローされます。
+ * {@link #close()} は先読みのスレッドが元のイテレータの使用を終えるまで待機するため、
+ * {@link #close()} の後であれば元のイテレータが参照する結果セットを閉じることができます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * 
+ * @param <TARGET>
+ *            要素
+ */
+public class PrefetchingIterator<TARGET> implements Iterator<TARGET>,
+        AutoCloseable {
+
+    protected static final Object END = new Object();
+
+    protected final BlockingQueue<Object> queue;
+
+    protected final CountDownLatch finished;
+
+    protected final int producerSize;
+
+    protected int endCount;
+
+    protected volatile boolean closed;
+
+    protected Object next;
+
+    public PrefetchingIterator(Iterator<TARGET> source, int capacity,
+            Executor executor) {
+        assertNotNull(source, executor);
+        assertTrue(capacity > 0);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.finished = new CountDownLatch(1);
+        this.producerSize = 1;
+        execute(executor, sink -> {
+            while (!closed && source.hasNext()) {
+                sink.accept(source.next());
+            }
+        });
+    }
+
+    /**
+     * 複数の生産者が並行して生成する要素を1つにまとめて読み出すインスタンスを構築します。
+     * <p>
+     * 生産者はそれぞれ別のスレッドで実行され、引数に渡される関数に要素を渡します。
+     * 要素の順序は保証されません。
+     * 
+     * @param producers
+     *            生産者のリスト
+     * @param capacity
+     *            キューの容量
+     * @param executor
+     *            生産者を実行するエグゼキュータ
+     */
+    public PrefetchingIterator(
+            List<? extends Consumer<Consumer<TARGET>>> producers, int capacity,
+            Executor executor) {
+        assertNotNull(producers, executor);
+        assertTrue(!producers.isEmpty());
+        assertTrue(capacity > 0);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.finished = new CountDownLatch(producers.size());
+        this.producerSize = producers.size();
+        for (Consumer<Consumer<TARGET>> producer : producers) {
+            execute(executor, producer);
+        }
+    }
+
+    protected void execute(Executor executor,
+            Consumer<Consumer<TARGET>> producer) {
+        try {
+            executor.execute(() -> produce(producer));
+        } catch (RuntimeException e) {
+            fail(e);
+            finished.countDown();
+        }
+    }
+
+    protected void produce(Consumer<Consumer<TARGET>> producer) {
+        try {
+            producer.accept(this::put);
+            if (!closed) {
+                queue.put(END);
+            }
+        } catch (Cancellation ignored) {
+            // closed
+        } catch (InterruptedException e) {
+            fail(e);
+        } catch (RuntimeException | Error e) {
+            fail(e);
+        } finally {
+            if (closed) {
+                // 満杯のキューで待機している他の生産者を解放する
+                queue.clear();
+            }
+            finished.countDown();
+        }
+    }
+
+    /**
+     * 先読み中に発生した例外を、待機せずに確実にキューへ渡します。
+     * <p>
+     * 割り込み状態のままではキューへの追加が失敗するため、割り込み状態を一旦解除して後で戻します。
+     * キューが一杯の場合は、読み出されていない要素を破棄して例外を優先します。
+     * 
+     * @param cause
+     *            例外
+     */
+    protected void fail(Throwable cause) {
+        boolean interrupted = Thread.interrupted();
+        Failure failure = new Failure(cause);
+        while (!queue.offer(failure)) {
+            queue.clear();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void put(TARGET element) {
+        if (closed) {
+            throw new Cancellation();
+        }
+        try {
+            queue.put(new Element(element));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdbcException(Message.DOMA2238, e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (closed) {
+                next = END;
+                break;
+            }
+            next = take();
+            if (next == END && ++endCount < producerSize) {
+                next = null;
+            }
+        }
+        if (next instanceof Failure) {
+            Throwable cause = ((Failure) next).cause;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new JdbcException(Message.DOMA2238, cause);
+        }
+        return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TARGET next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Element element = (Element) next;
+        next = null;
+        return (TARGET) element.value;
+    }
+
+    protected Object take() {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdbcException(Message.DOMA2238, e);
+        }
+    }
+
+    /**
+     * 先読みを中止し、先読みのスレッドが元のイテレータや生産者の使用を終えるまで待機します。
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        queue.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected static class Element {
+
+        protected final Object value;
+
+        protected Element(Object value) {
+            this.value = value;
+        }
+    }
+
+    protected static class Cancellation extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        protected Cancellation() {
+            super(null, null, false, false);
+        }
+    }
+
+    protected static class Failure {
+
+        protected final Throwable cause;
+
+        protected Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * 結果セットの行を並列ストリームで処理するためのスプリッテレータです。
+ * <p>
+ * 結果セットを読むのは常にこのスプリッテレータを保持するスレッドだけです。 {@link #trySplit()}
+ * ではマッピング済みの行を配列に読み込み、その配列を他のワーカーに引き渡します。
+ * 配列の大きさは分割のたびに {@code batchUnit} ずつ大きくなります。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * 
+ * @param <TARGET>
+ *            要素
+ */
+public class ResultSetSpliterator<TARGET> implements Spliterator<TARGET> {
+
+    protected static final int MAX_BATCH_SIZE = 1 << 25;
+
+    protected final Iterator<TARGET> iterator;
+
+    protected final int batchUnit;
+
+    protected int batchSize;
+
+    protected long estimatedSize;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param iterator
+     *            結果セットのイテレータ
+     * @param batchUnit
+     *            分割の際に配列に読み込む行数の増分
+     * @param estimatedSize
+     *            行数の見積もり、不明な場合 {@link Long#MAX_VALUE}
+     */
+    public ResultSetSpliterator(Iterator<TARGET> iterator, int batchUnit,
+            long estimatedSize) {
+        assertNotNull(iterator);
+        assertTrue(batchUnit > 0 && estimatedSize >= 0);
+        this.iterator = iterator;
+        this.batchUnit = batchUnit;
+        this.estimatedSize = estimatedSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TARGET> action) {
+        assertNotNull(action);
+        if (!iterator.hasNext()) {
+            estimatedSize = 0;
+            return false;
+        }
+        action.accept(iterator.next());
+        decrementEstimatedSize(1);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super TARGET> action) {
+        assertNotNull(action);
+        iterator.forEachRemaining(action);
+        estimatedSize = 0;
+    }
+
+    @Override
+    public Spliterator<TARGET> trySplit() {
+        if (estimatedSize <= 1 || !iterator.hasNext()) {
+            return null;
+        }
+        int size = Math.min(batchSize + batchUnit, MAX_BATCH_SIZE);
+        if (estimatedSize < size) {
+            size = (int) estimatedSize;
+        }
+        Object[] batch = new Object[size];
+        int count = 0;
+        do {
+            batch[count++] = iterator.next();
+        } while (count < size && iterator.hasNext());
+        batchSize = count;
+        decrementEstimatedSize(count);
+        return Spliterators.spliterator(batch, 0, count, ORDERED);
+    }
+
+    protected void decrementEstimatedSize(int count) {
+        if (estimatedSize != Long.MAX_VALUE) {
+            estimatedSize = Math.max(estimatedSize - count, 0);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+}
@@ -59,6 +59,12 @@ public class ScriptReader {
     /** 行の終端に達した場合{@code true} */
     protected boolean endOfLine = true;
 
+    /** 処理対象のSQLがSQLブロックの場合{@code true} */
+    protected boolean block;
+
+    /** 処理対象のSQLの先頭のキーワード */
+    protected String keyword;
+
     /**
      * インスタンスを構築します。
      * 
@@ -121,6 +127,26 @@ public class ScriptReader {
         return lineNumber;
     }
 
+    /**
+     * 処理対象のSQLがSQLブロックの場合{@code true}を返します。
+     * 
+     * @return SQLブロックの場合{@code true}
+     * @since 2.20.0
+     */
+    public boolean isBlock() {
+        return block;
+    }
+
+    /**
+     * 処理対象のSQLの先頭のキーワードを返します。
+     * 
+     * @return 先頭のキーワード、キーワードを含まない場合{@code null}
+     * @since 2.20.0
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
     /**
      * クローズします。
      */
@@ -299,6 +325,7 @@ public class ScriptReader {
          *            単語
          */
         protected void appendWord(String word) {
+            wordList.add(word);
             sqlBlockContext.addKeyword(word);
         }
 
@@ -364,6 +391,8 @@ public class ScriptReader {
                 assertUnreachable();
             }
 
+            block = sqlBlockContext.isInBlock();
+            keyword = wordList.isEmpty() ? null : wordList.get(0);
             String sql = buf.toString().trim();
             return endOfFile && sql.length() == 0 ? null : sql;
         }
@@ -17,10 +17,14 @@ package org.seasar.doma.internal.jdbc.dao;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import javax.sql.DataSource;
 
 import org.seasar.doma.Dao;
+import org.seasar.doma.DomaException;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.internal.RuntimeConfig;
 import org.seasar.doma.internal.WrapException;
@@ -32,6 +36,8 @@ import org.seasar.doma.jdbc.ConfigException;
 import org.seasar.doma.jdbc.ConfigProvider;
 import org.seasar.doma.jdbc.DaoMethodNotFoundException;
 import org.seasar.doma.jdbc.QueryImplementors;
+import org.seasar.doma.jdbc.tx.LocalTransactionDataSource;
+import org.seasar.doma.message.Message;
 
 /**
  * {@link Dao} が注釈されたインタフェースの実装クラスのための骨格実装です。
@@ -242,6 +248,57 @@ public abstract class AbstractDao implements ConfigProvider {
                 callerMethodName, e);
     }
 
+    /**
+     * Daoメソッドの処理を {@link Config#getExecutor()} で非同期に実行します。
+     * <p>
+     * JDBCのコネクションはスレッドに結び付けられているため、
+     * 呼び出し元のスレッドでローカルトランザクションが開始されている場合は実行を拒否します。
+     * 
+     * @param <RESULT>
+     *            結果の型
+     * @param callerClassName
+     *            クラス名
+     * @param callerMethodName
+     *            メソッド名
+     * @param supplier
+     *            Daoメソッドの処理
+     * @return 結果を返す {@link CompletableFuture}
+     * @throws DomaException
+     *             呼び出し元のスレッドでローカルトランザクションが開始されている場合
+     * @since 2.20.0
+     */
+    protected <RESULT> CompletableFuture<RESULT> supplyAsync(
+            String callerClassName, String callerMethodName,
+            Supplier<RESULT> supplier) {
+        if (isLocalTransactionActive()) {
+            throw new DomaException(Message.DOMA2234, callerClassName,
+                    callerMethodName);
+        }
+        return CompletableFuture.supplyAsync(supplier,
+                __config.getExecutor());
+    }
+
+    /**
+     * 呼び出し元のスレッドでローカルトランザクションが開始されているかどうかを返します。
+     * 
+     * @return 開始されている場合 {@code true}
+     * @since 2.20.0
+     */
+    protected boolean isLocalTransactionActive() {
+        DataSource dataSource = __config.getDataSource();
+        try {
+            if (!dataSource.isWrapperFor(LocalTransactionDataSource.class)) {
+                return false;
+            }
+            LocalTransactionDataSource localTxDataSource = dataSource
+                    .unwrap(LocalTransactionDataSource.class);
+            return localTxDataSource.getLocalTransaction(
+                    __config.getJdbcLogger()).isActive();
+        } catch (SQLException ignored) {
+            return false;
+        }
+    }
+
     public static <T> Method getDeclaredMethod(Class<T> clazz, String name,
             Class<?>... parameterTypes) {
         try {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import org.seasar.doma.internal.jdbc.sql.SimpleSqlNodeVisitor;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.ClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.HavingClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.LogicalOperatorNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.SqlLocation;
+import org.seasar.doma.internal.jdbc.sql.node.WhereClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * 最も外側のselect文に条件を追加するSQLへ変換します。
+ * <p>
+ * 条件はwhere句（group by句がある場合はhaving句）に {@code and} で追加されます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public abstract class AbstractPredicateAppendingTransformer extends
+        SimpleSqlNodeVisitor<SqlNode, Void> {
+
+    protected boolean processed;
+
+    public SqlNode transform(SqlNode sqlNode) {
+        AnonymousNode result = new AnonymousNode();
+        for (SqlNode child : sqlNode.getChildren()) {
+            result.appendNode(child.accept(this, null));
+        }
+        return result;
+    }
+
+    @Override
+    public SqlNode visitSelectStatementNode(SelectStatementNode node, Void p) {
+        if (processed) {
+            return node;
+        }
+        processed = true;
+
+        SqlNode predicate = createPredicate(node);
+
+        SelectStatementNode result = new SelectStatementNode();
+        result.setSelectClauseNode(node.getSelectClauseNode());
+        result.setFromClauseNode(node.getFromClauseNode());
+        if (node.getGroupByClauseNode() == null) {
+            result.setWhereClauseNode(appendPredicate(new WhereClauseNode(
+                    "where"), node.getWhereClauseNode(), predicate));
+            result.setHavingClauseNode(node.getHavingClauseNode());
+        } else {
+            result.setWhereClauseNode(node.getWhereClauseNode());
+            result.setGroupByClauseNode(node.getGroupByClauseNode());
+            result.setHavingClauseNode(appendPredicate(new HavingClauseNode(
+                    "having"), node.getHavingClauseNode(), predicate));
+        }
+        result.setOrderByClauseNode(node.getOrderByClauseNode());
+        result.setForUpdateClauseNode(node.getForUpdateClauseNode());
+        result.setOptionClauseNode(node.getOptionClauseNode());
+        return result;
+    }
+
+    /**
+     * 追加する条件を作成します。
+     * 
+     * @param node
+     *            最も外側のselect文
+     * @return 条件
+     */
+    protected abstract SqlNode createPredicate(SelectStatementNode node);
+
+    protected BindVariableNode createBindVariableNode(String variableName) {
+        String text = "/*" + variableName + "*/";
+        BindVariableNode node = new BindVariableNode(new SqlLocation(text, 1,
+                1), variableName, text);
+        node.setWordNode(new WordNode("?"));
+        return node;
+    }
+
+    protected <T extends ClauseNode> T appendPredicate(T clause,
+            ClauseNode original, SqlNode predicate) {
+        if (original != null) {
+            clause.appendNode(WhitespaceNode.of(" "));
+            ParensNode parens = new ParensNode(new SqlLocation("", 1, 1));
+            parens.setEmpty(false);
+            for (SqlNode child : original.getChildren()) {
+                parens.appendNode(child);
+            }
+            parens.close();
+            clause.appendNode(parens);
+            clause.appendNode(WhitespaceNode.of(" "));
+        }
+        LogicalOperatorNode and = new LogicalOperatorNode("and");
+        and.appendNode(WhitespaceNode.of(" "));
+        and.appendNode(predicate);
+        clause.appendNode(and);
+        clause.appendNode(WhitespaceNode.of(" "));
+        return clause;
+    }
+
+    @Override
+    protected SqlNode defaultAction(SqlNode node, Void p) {
+        return node;
+    }
+}
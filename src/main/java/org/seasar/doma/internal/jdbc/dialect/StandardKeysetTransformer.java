@@ -0,0 +1,275 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import static org.seasar.doma.internal.Constants.KEYSET_PARAMETER_NAME_PREFIX;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.AppendableSqlNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
+import org.seasar.doma.internal.jdbc.sql.node.EolNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.OrderByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OtherNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.message.Message;
+
+/**
+ * キーセットページング用のSQLへ変換します。
+ * <p>
+ * order by句の項目から、指定されたキーの行より後の行を絞り込む条件を組み立て、 where句（group
+ * by句がある場合はhaving句）に追加します。キーの値はバインド変数として
+ * {@link org.seasar.doma.internal.Constants#KEYSET_PARAMETER_NAME_PREFIX}
+ * にキーの位置を付与した名前で参照されます。
+ * <p>
+ * 組み立てる条件は比較演算子だけで構成されるため、 {@code NULL}
+ * を含む可能性がある列をキーにすることはサポートしていません。{@code NULL}
+ * の並び順を指定する {@code nulls first} や {@code nulls last} を含む項目は
+ * {@link Message#DOMA2237} で拒否します。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class StandardKeysetTransformer extends
+        AbstractPredicateAppendingTransformer {
+
+    protected final int keySize;
+
+    protected final boolean rowValueComparisonSupported;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param keySize
+     *            キーの数
+     * @param rowValueComparisonSupported
+     *            {@code (a, b) > (?, ?)} の形式の行値の比較をサポートする場合 {@code true}
+     */
+    public StandardKeysetTransformer(int keySize,
+            boolean rowValueComparisonSupported) {
+        assertTrue(keySize > 0);
+        this.keySize = keySize;
+        this.rowValueComparisonSupported = rowValueComparisonSupported;
+    }
+
+    @Override
+    public SqlNode visitSelectStatementNode(SelectStatementNode node, Void p) {
+        OrderByClauseNode orderBy = node.getOrderByClauseNode();
+        if (!processed && orderBy == null) {
+            throw new JdbcException(Message.DOMA2235);
+        }
+        return super.visitSelectStatementNode(node, p);
+    }
+
+    @Override
+    protected SqlNode createPredicate(SelectStatementNode node) {
+        List<SortItem> items = createSortItems(node.getOrderByClauseNode());
+        if (items.size() != keySize) {
+            throw new JdbcException(Message.DOMA2236, keySize, items.size());
+        }
+        return createPredicate(items);
+    }
+
+    protected List<SortItem> createSortItems(OrderByClauseNode orderBy) {
+        List<SortItem> items = new ArrayList<SortItem>();
+        LinkedList<SqlNode> nodes = new LinkedList<SqlNode>();
+        for (SqlNode child : orderBy.getChildren()) {
+            if (child instanceof OtherNode
+                    && ((OtherNode) child).getOther().equals(",")) {
+                items.add(createSortItem(nodes));
+                nodes = new LinkedList<SqlNode>();
+            } else {
+                nodes.add(child);
+            }
+        }
+        items.add(createSortItem(nodes));
+        return items;
+    }
+
+    protected SortItem createSortItem(LinkedList<SqlNode> nodes) {
+        trim(nodes);
+        String text = toText(nodes);
+        if (isKeyword(nodes.peekLast(), "first")
+                || isKeyword(nodes.peekLast(), "last")) {
+            throw new JdbcException(Message.DOMA2237, text);
+        }
+        boolean descending = false;
+        if (isKeyword(nodes.peekLast(), "desc")) {
+            descending = true;
+            nodes.removeLast();
+            trim(nodes);
+        } else if (isKeyword(nodes.peekLast(), "asc")) {
+            nodes.removeLast();
+            trim(nodes);
+        }
+        if (nodes.isEmpty() || !isStatic(nodes)) {
+            throw new JdbcException(Message.DOMA2237, text);
+        }
+        if (nodes.size() == 1 && nodes.getFirst() instanceof WordNode) {
+            String word = ((WordNode) nodes.getFirst()).getWord();
+            if (word.chars().allMatch(Character::isDigit)) {
+                throw new JdbcException(Message.DOMA2237, text);
+            }
+        }
+        return new SortItem(nodes, descending);
+    }
+
+    protected void trim(LinkedList<SqlNode> nodes) {
+        while (!nodes.isEmpty() && isBlank(nodes.getFirst())) {
+            nodes.removeFirst();
+        }
+        while (!nodes.isEmpty() && isBlank(nodes.getLast())) {
+            nodes.removeLast();
+        }
+    }
+
+    protected boolean isBlank(SqlNode node) {
+        return node instanceof WhitespaceNode || node instanceof EolNode
+                || node instanceof CommentNode;
+    }
+
+    protected boolean isKeyword(SqlNode node, String keyword) {
+        return node instanceof WordNode
+                && ((WordNode) node).getWord().equalsIgnoreCase(keyword);
+    }
+
+    protected boolean isStatic(List<SqlNode> nodes) {
+        for (SqlNode node : nodes) {
+            if (node instanceof ParensNode) {
+                if (!isStatic(node.getChildren())) {
+                    return false;
+                }
+            } else if (!(node instanceof WordNode
+                    || node instanceof OtherNode || isBlank(node))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected String toText(List<SqlNode> nodes) {
+        StringBuilder buf = new StringBuilder();
+        for (SqlNode node : nodes) {
+            if (node instanceof WordNode) {
+                buf.append(((WordNode) node).getWord());
+            } else if (node instanceof OtherNode) {
+                buf.append(((OtherNode) node).getOther());
+            } else if (node instanceof ParensNode) {
+                buf.append("(").append(toText(node.getChildren())).append(")");
+            } else if (isBlank(node)) {
+                buf.append(" ");
+            } else {
+                buf.append("/*...*/");
+            }
+        }
+        return buf.toString();
+    }
+
+    protected SqlNode createPredicate(List<SortItem> items) {
+        AnonymousNode predicate = new AnonymousNode();
+        predicate.appendNode(new FragmentNode("("));
+        if (items.size() > 1 && rowValueComparisonSupported
+                && isSameDirection(items)) {
+            predicate.appendNode(new FragmentNode("("));
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    predicate.appendNode(new FragmentNode(", "));
+                }
+                appendExpression(predicate, items.get(i));
+            }
+            predicate.appendNode(new FragmentNode(") "
+                    + items.get(0).getOperator() + " ("));
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    predicate.appendNode(new FragmentNode(", "));
+                }
+                predicate.appendNode(createBindVariableNode(i));
+            }
+            predicate.appendNode(new FragmentNode(")"));
+        } else {
+            boolean multiple = items.size() > 1;
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    predicate.appendNode(new FragmentNode(" or "));
+                }
+                if (multiple) {
+                    predicate.appendNode(new FragmentNode("("));
+                }
+                for (int j = 0; j < i; j++) {
+                    appendExpression(predicate, items.get(j));
+                    predicate.appendNode(new FragmentNode(" = "));
+                    predicate.appendNode(createBindVariableNode(j));
+                    predicate.appendNode(new FragmentNode(" and "));
+                }
+                SortItem item = items.get(i);
+                appendExpression(predicate, item);
+                predicate.appendNode(new FragmentNode(" " + item.getOperator()
+                        + " "));
+                predicate.appendNode(createBindVariableNode(i));
+                if (multiple) {
+                    predicate.appendNode(new FragmentNode(")"));
+                }
+            }
+        }
+        predicate.appendNode(new FragmentNode(")"));
+        return predicate;
+    }
+
+    protected boolean isSameDirection(List<SortItem> items) {
+        boolean descending = items.get(0).descending;
+        return items.stream().allMatch(item -> item.descending == descending);
+    }
+
+    protected void appendExpression(AppendableSqlNode parent, SortItem item) {
+        for (SqlNode node : item.expression) {
+            parent.appendNode(node);
+        }
+    }
+
+    protected BindVariableNode createBindVariableNode(int index) {
+        return createBindVariableNode(KEYSET_PARAMETER_NAME_PREFIX + index);
+    }
+
+    /**
+     * order by句の項目です。
+     */
+    protected static class SortItem {
+
+        protected final List<SqlNode> expression;
+
+        protected final boolean descending;
+
+        protected SortItem(List<SqlNode> expression, boolean descending) {
+            this.expression = expression;
+            this.descending = descending;
+        }
+
+        protected String getOperator() {
+            return descending ? "<" : ">";
+        }
+    }
+}
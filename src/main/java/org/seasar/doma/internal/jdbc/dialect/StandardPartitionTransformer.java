@@ -0,0 +1,67 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import static org.seasar.doma.internal.Constants.PARTITION_LOWER_PARAMETER_NAME;
+import static org.seasar.doma.internal.Constants.PARTITION_UPPER_PARAMETER_NAME;
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * 範囲で分割された検索用のSQLへ変換します。
+ * <p>
+ * 分割キーの値が下限以上かつ上限未満の行を絞り込む条件を、 where句（group
+ * by句がある場合はhaving句）に追加します。下限と上限はバインド変数として
+ * {@link org.seasar.doma.internal.Constants#PARTITION_LOWER_PARAMETER_NAME}
+ * と {@link org.seasar.doma.internal.Constants#PARTITION_UPPER_PARAMETER_NAME}
+ * の名前で参照されます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class StandardPartitionTransformer extends
+        AbstractPredicateAppendingTransformer {
+
+    protected final String partitionKey;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param partitionKey
+     *            分割キーの列を表す式
+     */
+    public StandardPartitionTransformer(String partitionKey) {
+        assertNotNull(partitionKey);
+        this.partitionKey = partitionKey;
+    }
+
+    @Override
+    protected SqlNode createPredicate(SelectStatementNode node) {
+        AnonymousNode predicate = new AnonymousNode();
+        predicate.appendNode(new FragmentNode("(" + partitionKey + " >= "));
+        predicate
+                .appendNode(createBindVariableNode(PARTITION_LOWER_PARAMETER_NAME));
+        predicate.appendNode(new FragmentNode(" and " + partitionKey + " < "));
+        predicate
+                .appendNode(createBindVariableNode(PARTITION_UPPER_PARAMETER_NAME));
+        predicate.appendNode(new FragmentNode(")"));
+        return predicate;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
+
+import org.seasar.doma.internal.jdbc.sql.SimpleSqlNodeVisitor;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.FromClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OrderByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * ウィンドウ関数で集計を計算し、検索結果の列に含めるSQLへ変換します。
+ * <p>
+ * 元のSQLを副問い合わせにし、 {@code count(*) over()} の結果を
+ * {@link org.seasar.doma.internal.Constants#COUNT_COLUMN_NAME} の列として追加します。
+ * ウィンドウ関数はページングの条件より先に評価されるため、列の値はページングされる前の行数になります。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class StandardWindowCountTransformer extends
+        SimpleSqlNodeVisitor<SqlNode, Void> {
+
+    protected boolean processed;
+
+    public SqlNode transform(SqlNode sqlNode) {
+        AnonymousNode result = new AnonymousNode();
+        for (SqlNode child : sqlNode.getChildren()) {
+            result.appendNode(child.accept(this, null));
+        }
+        return result;
+    }
+
+    @Override
+    public SqlNode visitSelectStatementNode(SelectStatementNode node, Void p) {
+        if (processed) {
+            return node;
+        }
+        processed = true;
+
+        SelectStatementNode subStatement = new SelectStatementNode();
+        subStatement.setSelectClauseNode(node.getSelectClauseNode());
+        subStatement.setFromClauseNode(node.getFromClauseNode());
+        subStatement.setWhereClauseNode(node.getWhereClauseNode());
+        subStatement.setGroupByClauseNode(node.getGroupByClauseNode());
+        subStatement.setHavingClauseNode(node.getHavingClauseNode());
+
+        SelectClauseNode select = new SelectClauseNode("select");
+        select.appendNode(new FragmentNode(" temp_.*, count(*) over() as "
+                + COUNT_COLUMN_NAME + " "));
+        FromClauseNode from = new FromClauseNode("from");
+        from.appendNode(new FragmentNode(" ( "));
+        from.appendNode(subStatement);
+
+        SelectStatementNode result = new SelectStatementNode();
+        result.setSelectClauseNode(select);
+        result.setFromClauseNode(from);
+        OrderByClauseNode originalOrderBy = node.getOrderByClauseNode();
+        if (originalOrderBy == null) {
+            from.appendNode(new FragmentNode(" ) temp_"));
+        } else {
+            from.appendNode(new FragmentNode(") temp_ "));
+            result.setOrderByClauseNode(createOrderByClauseNode(originalOrderBy));
+        }
+        result.setForUpdateClauseNode(node.getForUpdateClauseNode());
+        result.setOptionClauseNode(node.getOptionClauseNode());
+        return result;
+    }
+
+    protected OrderByClauseNode createOrderByClauseNode(
+            OrderByClauseNode originalOrderBy) {
+        OrderByClauseNode orderBy = new OrderByClauseNode(
+                originalOrderBy.getWordNode());
+        for (SqlNode child : originalOrderBy.getChildren()) {
+            if (child instanceof WordNode) {
+                WordNode wordNode = (WordNode) child;
+                String word = wordNode.getWord();
+                String[] names = word.split("\\.");
+                if (names.length == 2) {
+                    orderBy.appendNode(new WordNode("temp_." + names[1]));
+                } else {
+                    orderBy.appendNode(child);
+                }
+            } else {
+                orderBy.appendNode(child);
+            }
+        }
+        return orderBy;
+    }
+
+    @Override
+    protected SqlNode defaultAction(SqlNode node, Void p) {
+        return node;
+    }
+}
@@ -17,12 +17,21 @@ package org.seasar.doma.internal.jdbc.entity;
 
 import java.lang.reflect.Field;
 import java.util.LinkedList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.seasar.doma.internal.WrapException;
 import org.seasar.doma.internal.util.AssertionUtil;
 import org.seasar.doma.internal.util.FieldUtil;
+import org.seasar.doma.jdbc.entity.DoublePropertySetter;
 import org.seasar.doma.jdbc.entity.EntityPropertyAccessException;
 import org.seasar.doma.jdbc.entity.EntityPropertyNotFoundException;
+import org.seasar.doma.jdbc.entity.IntPropertySetter;
+import org.seasar.doma.jdbc.entity.LongPropertySetter;
+import org.seasar.doma.wrapper.DoubleWrapper;
+import org.seasar.doma.wrapper.IntegerWrapper;
+import org.seasar.doma.wrapper.LongWrapper;
+import org.seasar.doma.wrapper.Wrapper;
 
 /**
  * @author nakamura-to
@@ -36,10 +45,36 @@ public class PropertyField<ENTITY> {
 
     protected final LinkedList<Field> fields = new LinkedList<>();
 
+    protected final Function<ENTITY, Object> getter;
+
+    protected final BiConsumer<ENTITY, Object> setter;
+
     public PropertyField(String path, Class<ENTITY> entityClass) {
+        this(path, entityClass, null, null);
+    }
+
+    /**
+     * インスタンスを構築します。
+     * <p>
+     * {@code getter} と {@code setter} が指定された場合、フィールドの値はリフレクションを使わずに読み書きされます。
+     * 
+     * @param path
+     *            プロパティのパス
+     * @param entityClass
+     *            エンティティのクラス
+     * @param getter
+     *            フィールドの値を取得する関数、リフレクションを使う場合 {@code null}
+     * @param setter
+     *            フィールドに値を設定する関数、リフレクションを使う場合 {@code null}
+     * @since 2.20.0
+     */
+    public PropertyField(String path, Class<ENTITY> entityClass,
+            Function<ENTITY, Object> getter, BiConsumer<ENTITY, Object> setter) {
         AssertionUtil.assertNotNull(path, entityClass);
         this.path = path;
         this.entityClass = entityClass;
+        this.getter = getter;
+        this.setter = setter;
         String[] segments = path.split("\\.");
         Class<?> clazz = entityClass;
         for (String segment : segments) {
@@ -78,6 +113,14 @@ public class PropertyField<ENTITY> {
 
     public Object getValue(ENTITY entity) {
         AssertionUtil.assertNotNull(entity);
+        if (getter != null) {
+            try {
+                return getter.apply(entity);
+            } catch (ClassCastException e) {
+                throw new EntityPropertyAccessException(e,
+                        entityClass.getName(), path);
+            }
+        }
         Object value = entity;
         for (Field field : fields) {
             if (value == null) {
@@ -99,12 +142,65 @@ public class PropertyField<ENTITY> {
 
     public void setValue(ENTITY entity, Object value) {
         AssertionUtil.assertNotNull(entity);
+        if (setter != null) {
+            try {
+                setter.accept(entity, value);
+            } catch (ClassCastException | NullPointerException e) {
+                // リフレクションの場合の IllegalArgumentException に相当
+                throw new EntityPropertyAccessException(e,
+                        entityClass.getName(), path);
+            }
+            return;
+        }
         if (fields.size() > 1) {
             throw new UnsupportedOperationException();
         }
         setFieldValue(fields.getFirst(), entity, value);
     }
 
+    /**
+     * ラッパーの値をボクシングせずにプリミティブ型のフィールドに設定します。
+     * 
+     * @param entity
+     *            エンティティ
+     * @param wrapper
+     *            ラッパー
+     * @return 設定した場合 {@code true}、ボクシングせずに設定できない場合 {@code false}
+     * @since 2.20.0
+     */
+    public boolean setPrimitiveValue(ENTITY entity, Wrapper<?> wrapper) {
+        AssertionUtil.assertNotNull(entity, wrapper);
+        try {
+            return doSetPrimitiveValue(entity, wrapper);
+        } catch (ClassCastException e) {
+            throw new EntityPropertyAccessException(e, entityClass.getName(),
+                    path);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean doSetPrimitiveValue(ENTITY entity, Wrapper<?> wrapper) {
+        if (setter instanceof IntPropertySetter
+                && wrapper instanceof IntegerWrapper) {
+            ((IntPropertySetter<ENTITY>) setter).acceptInt(entity,
+                    ((IntegerWrapper) wrapper).getAsInt());
+            return true;
+        }
+        if (setter instanceof LongPropertySetter
+                && wrapper instanceof LongWrapper) {
+            ((LongPropertySetter<ENTITY>) setter).acceptLong(entity,
+                    ((LongWrapper) wrapper).getAsLong());
+            return true;
+        }
+        if (setter instanceof DoublePropertySetter
+                && wrapper instanceof DoubleWrapper) {
+            ((DoublePropertySetter<ENTITY>) setter).acceptDouble(entity,
+                    ((DoubleWrapper) wrapper).getAsDouble());
+            return true;
+        }
+        return false;
+    }
+
     private void setFieldValue(Field field, ENTITY entity, Object value) {
         try {
             FieldUtil.set(field, entity, value);
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.seasar.doma.jdbc.SqlFile;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * 注釈処理で解析済みのSQLファイルを保持します。
+ * <p>
+ * オプション {@code doma.sql.precompile} を有効にすると、Daoの実装クラスの静的初期化子がSQLファイルを登録します。
+ * 登録されたSQLファイルは、リソースの読み込みと字句解析をせずに {@link SqlFile} に復元できます。
+ * <p>
+ * SQLファイルはDaoのインタフェースごとに {@link ClassValue} で保持されるため、
+ * 異なるクラスローダーに同じパスのSQLファイルが存在しても混同されず、Daoのクラスとともに破棄されます。
+ * 復元した {@link SqlFile} は最初の取得時にキャッシュされます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public final class CompiledSqlFileRegistry {
+
+    private static final ClassValue<ConcurrentMap<String, CompiledSqlFile>> compiledSqlFileMaps = new ClassValue<ConcurrentMap<String, CompiledSqlFile>>() {
+
+        @Override
+        protected ConcurrentMap<String, CompiledSqlFile> computeValue(
+                Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private CompiledSqlFileRegistry() {
+    }
+
+    /**
+     * 解析済みのSQLファイルを登録します。
+     * 
+     * @param daoInterface
+     *            SQLファイルを使用するDaoのインタフェース
+     * @param path
+     *            SQLファイルのパス
+     * @param sql
+     *            SQLファイルの内容
+     * @param encodedNode
+     *            {@link SqlNodeCodec#encode(SqlNode)} で変換したSQLの解析結果
+     */
+    public static void register(Class<?> daoInterface, String path,
+            String sql, String encodedNode) {
+        assertNotNull(daoInterface, path, sql, encodedNode);
+        compiledSqlFileMaps.get(daoInterface).put(path,
+                new CompiledSqlFile(path, sql, encodedNode));
+    }
+
+    /**
+     * SQLファイルが登録されている場合 {@code true} を返します。
+     * 
+     * @param daoInterface
+     *            SQLファイルを使用するDaoのインタフェース
+     * @param path
+     *            SQLファイルのパス
+     * @return 登録されている場合 {@code true}
+     */
+    public static boolean isRegistered(Class<?> daoInterface, String path) {
+        assertNotNull(daoInterface, path);
+        return compiledSqlFileMaps.get(daoInterface).containsKey(path);
+    }
+
+    /**
+     * 登録されたSQLファイルを復元して返します。
+     * 
+     * @param daoInterface
+     *            SQLファイルを使用するDaoのインタフェース
+     * @param path
+     *            SQLファイルのパス
+     * @return SQLファイル、登録されていない場合 {@code null}
+     */
+    public static SqlFile getSqlFile(Class<?> daoInterface, String path) {
+        assertNotNull(daoInterface, path);
+        CompiledSqlFile compiledSqlFile = compiledSqlFileMaps.get(
+                daoInterface).get(path);
+        if (compiledSqlFile == null) {
+            return null;
+        }
+        return compiledSqlFile.getSqlFile();
+    }
+
+    /**
+     * 登録されたSQLファイルのパスを返します。
+     * 
+     * @param daoInterface
+     *            SQLファイルを使用するDaoのインタフェース
+     * @return SQLファイルのパスの集合
+     */
+    public static Set<String> getPaths(Class<?> daoInterface) {
+        assertNotNull(daoInterface);
+        return Collections.unmodifiableSet(compiledSqlFileMaps.get(
+                daoInterface).keySet());
+    }
+
+    /**
+     * 登録されたSQLファイルをすべて削除します。
+     * 
+     * @param daoInterface
+     *            SQLファイルを使用するDaoのインタフェース
+     */
+    public static void clear(Class<?> daoInterface) {
+        assertNotNull(daoInterface);
+        compiledSqlFileMaps.remove(daoInterface);
+    }
+
+    private static class CompiledSqlFile {
+
+        private final String path;
+
+        private final String sql;
+
+        private final String encodedNode;
+
+        private volatile SqlFile sqlFile;
+
+        private CompiledSqlFile(String path, String sql, String encodedNode) {
+            this.path = path;
+            this.sql = sql;
+            this.encodedNode = encodedNode;
+        }
+
+        private SqlFile getSqlFile() {
+            SqlFile result = sqlFile;
+            if (result == null) {
+                SqlNode sqlNode = SqlNodeCodec.decode(sql, encodedNode);
+                result = new SqlFile(path, sql, sqlNode);
+                sqlFile = result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.seasar.doma.jdbc.InParameter;
+import org.seasar.doma.jdbc.SqlLogFormattingFunction;
+import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
+import org.seasar.doma.wrapper.Wrapper;
+
+/**
+ * 生のSQLとバインド変数からフォーマット済みSQLを組み立てます。
+ * <p>
+ * SQLのログ出力や例外メッセージの作成でフォーマット済みSQLが必要になるまで、
+ * バインド変数の値の文字列化を遅延させるために使用します。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class FormattedSqlSupplier implements Supplier<CharSequence> {
+
+    protected final SqlLogFormattingVisitor formattingVisitor;
+
+    protected final String rawSql;
+
+    protected final PlaceholderPositions positions;
+
+    protected final List<? extends InParameter<?>> parameters;
+
+    public FormattedSqlSupplier(SqlLogFormattingVisitor formattingVisitor,
+            String rawSql, PlaceholderPositions positions,
+            List<? extends InParameter<?>> parameters) {
+        assertNotNull(formattingVisitor, rawSql, positions, parameters);
+        assertEquals(positions.size(), parameters.size());
+        this.formattingVisitor = formattingVisitor;
+        this.rawSql = rawSql;
+        this.positions = positions;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public CharSequence get() {
+        if (positions.size() == 0) {
+            return rawSql;
+        }
+        SqlLogFormattingFunction formattingFunction = new ConvertToLogFormatFunction();
+        StringBuilder buf = new StringBuilder(rawSql.length() + 10
+                * positions.size());
+        int start = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            int position = positions.get(i);
+            buf.append(rawSql, start, position);
+            Wrapper<?> wrapper = parameters.get(i).getWrapper();
+            buf.append(wrapper.accept(formattingVisitor, formattingFunction,
+                    null));
+            start = position + 1;
+        }
+        buf.append(rawSql, start, rawSql.length());
+        return buf;
+    }
+
+}
@@ -32,7 +32,6 @@ import java.util.regex.Pattern;
 import org.seasar.doma.internal.expr.EvaluationResult;
 import org.seasar.doma.internal.expr.ExpressionEvaluator;
 import org.seasar.doma.internal.expr.ExpressionException;
-import org.seasar.doma.internal.expr.ExpressionParser;
 import org.seasar.doma.internal.expr.Value;
 import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.internal.jdbc.scalar.Scalar;
@@ -40,6 +39,7 @@ import org.seasar.doma.internal.jdbc.scalar.ScalarException;
 import org.seasar.doma.internal.jdbc.scalar.Scalars;
 import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
 import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.CachedExpression;
 import org.seasar.doma.internal.jdbc.sql.node.ClauseNode;
 import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
 import org.seasar.doma.internal.jdbc.sql.node.ElseNode;
@@ -165,9 +165,11 @@ public class NodePreparedSqlBuilder implements
         assertNotNull(sqlNode, commenter);
         Context context = new Context(config, evaluator);
         sqlNode.accept(this, context);
-        return new PreparedSql(kind, context.getSqlBuf(),
-                context.getFormattedSqlBuf(), sqlFilePath,
-                context.getParameters(), sqlLogType, commenter);
+        String rawSql = context.getSqlBuf().toString();
+        return new PreparedSql(kind, rawSql, new FormattedSqlSupplier(config
+                .getDialect().getSqlLogFormattingVisitor(), rawSql,
+                context.getPlaceholderPositions(), context.getParameters()),
+                sqlFilePath, context.getParameters(), sqlLogType, commenter);
     }
 
     @Override
@@ -183,7 +185,6 @@ public class NodePreparedSqlBuilder implements
         p.setAvailable(true);
         String other = node.getOther();
         p.appendRawSql(other);
-        p.appendFormattedSql(other);
         return null;
     }
 
@@ -191,7 +192,6 @@ public class NodePreparedSqlBuilder implements
     public Void visitWhitespaceNode(WhitespaceNode node, Context p) {
         String whitespace = node.getWhitespace();
         p.appendRawSql(whitespace);
-        p.appendFormattedSql(whitespace);
         return null;
     }
 
@@ -199,7 +199,6 @@ public class NodePreparedSqlBuilder implements
     public Void visitCommentNode(CommentNode node, Context p) {
         String comment = node.getComment();
         p.appendRawSql(comment);
-        p.appendFormattedSql(comment);
         return null;
     }
 
@@ -230,8 +229,8 @@ public class NodePreparedSqlBuilder implements
     protected Void visitValueNode(ValueNode node, Context p,
             Consumer<Scalar<?, ?>> valueHandler) {
         SqlLocation location = node.getLocation();
-        String name = node.getVariableName();
-        EvaluationResult result = p.evaluate(location, name);
+        EvaluationResult result = p.evaluate(location,
+                node.getCachedExpression());
         Object value = result.getValue();
         Class<?> valueClass = result.getValueClass();
         p.setAvailable(true);
@@ -260,8 +259,8 @@ public class NodePreparedSqlBuilder implements
     @Override
     public Void visitEmbeddedVariableNode(EmbeddedVariableNode node, Context p) {
         SqlLocation location = node.getLocation();
-        String name = node.getVariableName();
-        EvaluationResult result = p.evaluate(location, name);
+        EvaluationResult result = p.evaluate(location,
+                node.getCachedExpression());
         Object value = result.getValue();
         if (value != null) {
             String fragment = value.toString();
@@ -289,7 +288,6 @@ public class NodePreparedSqlBuilder implements
                 p.setAvailable(true);
             }
             p.appendRawSql(fragment);
-            p.appendFormattedSql(fragment);
         }
         for (SqlNode child : node.getChildren()) {
             child.accept(this, p);
@@ -326,15 +324,12 @@ public class NodePreparedSqlBuilder implements
                     node.getText(), v, v.getClass());
             consumer.accept(supplier.get());
             p.appendRawSql(", ");
-            p.appendFormattedSql(", ");
             index++;
         }
         if (index == 0) {
             p.appendRawSql("null");
-            p.appendFormattedSql("null");
         } else {
             p.cutBackSqlBuf(2);
-            p.cutBackFormattedSqlBuf(2);
         }
     }
 
@@ -353,8 +348,8 @@ public class NodePreparedSqlBuilder implements
     protected boolean handleIfNode(IfBlockNode node, Context p) {
         IfNode ifNode = node.getIfNode();
         SqlLocation location = ifNode.getLocation();
-        String expression = ifNode.getExpression();
-        EvaluationResult ifResult = p.evaluate(location, expression);
+        EvaluationResult ifResult = p.evaluate(location,
+                ifNode.getCachedExpression());
         if (ifResult.getBooleanValue()) {
             ifNode.accept(this, p);
             return true;
@@ -365,8 +360,8 @@ public class NodePreparedSqlBuilder implements
     protected boolean handleElseifNode(IfBlockNode node, Context p) {
         for (ElseifNode elseifNode : node.getElseifNodes()) {
             SqlLocation location = elseifNode.getLocation();
-            String expression = elseifNode.getExpression();
-            EvaluationResult elseifResult = p.evaluate(location, expression);
+            EvaluationResult elseifResult = p.evaluate(location,
+                    elseifNode.getCachedExpression());
             if (elseifResult.getBooleanValue()) {
                 elseifNode.accept(this, p);
                 return true;
@@ -419,7 +414,7 @@ public class NodePreparedSqlBuilder implements
         ForNode forNode = node.getForNode();
         SqlLocation location = forNode.getLocation();
         EvaluationResult expressionResult = p.evaluate(location,
-                forNode.getExpression());
+                forNode.getCachedExpression());
         Object expressionValue = expressionResult.getValue();
         Class<?> expressionValueClass = expressionResult.getValueClass();
         if (!Iterable.class.isAssignableFrom(expressionValueClass)) {
@@ -565,16 +560,12 @@ public class NodePreparedSqlBuilder implements
         if (context.isAvailable()) {
             node.getWordNode().accept(this, p);
             p.setAvailable(true);
-            p.appendRawSql(context.getSqlBuf());
-            p.appendFormattedSql(context.getFormattedSqlBuf());
-            p.addAllParameters(context.getParameters());
+            p.appendContext(context);
         } else {
             String fragment = context.getSqlBuf().toString();
             if (startsWithClauseKeyword(fragment)) {
                 p.setAvailable(true);
-                p.appendRawSql(context.getSqlBuf());
-                p.appendFormattedSql(context.getFormattedSqlBuf());
-                p.addAllParameters(context.getParameters());
+                p.appendContext(context);
             }
         }
     }
@@ -626,13 +617,11 @@ public class NodePreparedSqlBuilder implements
             @Override
             public void cutBackSql(int length) {
                 p.cutBackSqlBuf(length);
-                p.cutBackFormattedSqlBuf(length);
             }
 
             @Override
             public void appendSql(String sql) {
                 p.appendRawSql(sql);
-                p.appendFormattedSql(sql);
             }
 
             @Override
@@ -651,7 +640,6 @@ public class NodePreparedSqlBuilder implements
             p.appendWhitespaceIfNecessary();
         }
         p.appendRawSql(word);
-        p.appendFormattedSql(word);
         return null;
     }
 
@@ -660,7 +648,6 @@ public class NodePreparedSqlBuilder implements
         p.setAvailable(true);
         String fragment = node.getFragment();
         p.appendRawSql(fragment);
-        p.appendFormattedSql(fragment);
         return null;
     }
 
@@ -679,9 +666,7 @@ public class NodePreparedSqlBuilder implements
         if (context.isAvailable()) {
             node.getOpenedFragmentNode().accept(this, p);
             p.setAvailable(true);
-            p.appendRawSql(context.getSqlBuf());
-            p.appendFormattedSql(context.getFormattedSqlBuf());
-            p.addAllParameters(context.getParameters());
+            p.appendContext(context);
             node.getClosedFragmentNode().accept(this, p);
         }
         return null;
@@ -691,14 +676,13 @@ public class NodePreparedSqlBuilder implements
     public Void visitEolNode(EolNode node, Context p) {
         String eol = node.getEol();
         p.appendRawSql(eol);
-        p.appendFormattedSql(eol);
         return null;
     }
 
     @Override
     public Void visitExpandNode(ExpandNode node, Context p) {
         EvaluationResult evalResult = p.evaluate(node.getLocation(),
-                node.getAlias());
+                node.getCachedExpression());
         String alias = evalResult.getValue().toString();
         String prefix = alias.isEmpty() ? "" : alias + ".";
         StringJoiner joiner = new StringJoiner(", ");
@@ -707,7 +691,6 @@ public class NodePreparedSqlBuilder implements
         }
         String joined = joiner.toString();
         p.appendRawSql(joined);
-        p.appendFormattedSql(joined);
         return null;
     }
 
@@ -735,7 +718,7 @@ public class NodePreparedSqlBuilder implements
 
         private final StringBuilder rawSqlBuf = new StringBuilder(200);
 
-        private final StringBuilder formattedSqlBuf = new StringBuilder(200);
+        private final PlaceholderPositions placeholderPositions = new PlaceholderPositions();
 
         private final List<InParameter<?>> parameters = new ArrayList<>();
 
@@ -753,7 +736,6 @@ public class NodePreparedSqlBuilder implements
         protected void appendWhitespaceIfNecessary() {
             if (endsWithWordPart()) {
                 rawSqlBuf.append(WHITESPACE);
-                formattedSqlBuf.append(WHITESPACE);
             }
         }
 
@@ -769,24 +751,24 @@ public class NodePreparedSqlBuilder implements
             rawSqlBuf.append(sql);
         }
 
-        protected void appendFormattedSql(CharSequence sql) {
-            formattedSqlBuf.append(sql);
+        protected void appendContext(Context context) {
+            placeholderPositions.addAll(context.placeholderPositions,
+                    rawSqlBuf.length());
+            rawSqlBuf.append(context.rawSqlBuf);
+            parameters.addAll(context.parameters);
         }
 
         protected void cutBackSqlBuf(int size) {
             rawSqlBuf.setLength(rawSqlBuf.length() - size);
-        }
-
-        protected void cutBackFormattedSqlBuf(int size) {
-            formattedSqlBuf.setLength(formattedSqlBuf.length() - size);
+            placeholderPositions.cutBack(rawSqlBuf.length());
         }
 
         protected CharSequence getSqlBuf() {
             return rawSqlBuf;
         }
 
-        protected CharSequence getFormattedSqlBuf() {
-            return formattedSqlBuf;
+        protected PlaceholderPositions getPlaceholderPositions() {
+            return placeholderPositions;
         }
 
         protected <BASIC, CONTAINER> void addLiteralValue(
@@ -795,7 +777,6 @@ public class NodePreparedSqlBuilder implements
                     config.getDialect().getSqlLogFormattingVisitor(),
                     formattingFunction, null);
             rawSqlBuf.append(literal);
-            formattedSqlBuf.append(literal);
         }
 
         protected <BASIC, CONTAINER> void addBindValue(
@@ -811,15 +792,8 @@ public class NodePreparedSqlBuilder implements
         protected <BASIC> void appendParameterInternal(
                 InParameter<BASIC> parameter) {
             parameters.add(parameter);
+            placeholderPositions.add(rawSqlBuf.length());
             rawSqlBuf.append("?");
-            String formatted = parameter.getWrapper().accept(
-                    config.getDialect().getSqlLogFormattingVisitor(),
-                    formattingFunction, null);
-            formattedSqlBuf.append(formatted);
-        }
-
-        protected void addAllParameters(List<InParameter<?>> values) {
-            parameters.addAll(values);
         }
 
         protected List<InParameter<?>> getParameters() {
@@ -843,10 +817,9 @@ public class NodePreparedSqlBuilder implements
         }
 
         protected EvaluationResult evaluate(SqlLocation location,
-                String expression) {
+                CachedExpression expression) {
             try {
-                ExpressionParser parser = new ExpressionParser(expression);
-                ExpressionNode expressionNode = parser.parse();
+                ExpressionNode expressionNode = expression.getExpressionNode();
                 return evaluator.evaluate(expressionNode);
             } catch (ExpressionException e) {
                 throw new JdbcException(Message.DOMA2111, e, location.getSql(),
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import java.util.Arrays;
+
+/**
+ * 生のSQLにおけるバインド変数 {@code ?} の位置を保持します。
+ * <p>
+ * 位置は昇順に追加されなければいけません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PlaceholderPositions {
+
+    protected int[] positions = new int[16];
+
+    protected int size;
+
+    public void add(int position) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size << 1);
+        }
+        positions[size++] = position;
+    }
+
+    public void addAll(PlaceholderPositions other, int offset) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.positions[i] + offset);
+        }
+    }
+
+    public void cutBack(int length) {
+        while (size > 0 && positions[size - 1] >= length) {
+            size--;
+        }
+    }
+
+    public int get(int index) {
+        return positions[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
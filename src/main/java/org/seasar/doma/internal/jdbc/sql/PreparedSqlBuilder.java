@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.internal.jdbc.sql;
 
+import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.util.ArrayList;
@@ -25,9 +26,7 @@ import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
-import org.seasar.doma.jdbc.SqlLogFormattingFunction;
 import org.seasar.doma.jdbc.SqlLogType;
-import org.seasar.doma.wrapper.Wrapper;
 
 public class PreparedSqlBuilder implements SqlContext {
 
@@ -35,14 +34,14 @@ public class PreparedSqlBuilder implements SqlContext {
 
     protected final StringBuilder rawSql = new StringBuilder(200);
 
-    protected final StringBuilder formattedSql = new StringBuilder(200);
+    protected final PlaceholderPositions placeholderPositions = new PlaceholderPositions();
+
+    protected String builtSql;
 
     protected final Config config;
 
     protected final SqlKind kind;
 
-    protected final SqlLogFormattingFunction formattingFunction;
-
     protected final SqlLogType sqlLogType;
 
     public PreparedSqlBuilder(Config config, SqlKind kind, SqlLogType sqlLogType) {
@@ -50,31 +49,67 @@ public class PreparedSqlBuilder implements SqlContext {
         this.config = config;
         this.kind = kind;
         this.sqlLogType = sqlLogType;
-        this.formattingFunction = new ConvertToLogFormatFunction();
     }
 
     public void appendSql(String sql) {
         rawSql.append(sql);
-        formattedSql.append(sql);
+        builtSql = null;
     }
 
     public void cutBackSql(int length) {
         rawSql.setLength(rawSql.length() - length);
-        formattedSql.setLength(formattedSql.length() - length);
+        placeholderPositions.cutBack(rawSql.length());
+        builtSql = null;
     }
 
     public <BASIC> void appendParameter(InParameter<BASIC> parameter) {
+        placeholderPositions.add(rawSql.length());
         rawSql.append("?");
-        Wrapper<BASIC> wrapper = parameter.getWrapper();
-        formattedSql.append(wrapper.accept(config.getDialect()
-                .getSqlLogFormattingVisitor(), formattingFunction, null));
         parameters.add(parameter);
+        builtSql = null;
     }
 
     public PreparedSql build(Function<String, String> commenter) {
-        assertNotNull(commenter);
-        return new PreparedSql(kind, rawSql, formattedSql, null, parameters,
+        return build(parameters, commenter);
+    }
+
+    /**
+     * 組み立て済みのSQLの文字列を再利用して、バインド変数のパラメータだけを差し替えたSQLを構築します。
+     * <p>
+     * {@code parameters} の要素は、 {@link #appendParameter(InParameter)}
+     * で追加したパラメータと同じ順序で並んでいなければいけません。
+     * 
+     * @param parameters
+     *            パラメータのリスト
+     * @param commenter
+     *            SQLにコメントを付与する関数
+     * @return SQL
+     * @since 2.20.0
+     */
+    public PreparedSql build(List<? extends InParameter<?>> parameters,
+            Function<String, String> commenter) {
+        assertNotNull(parameters, commenter);
+        assertEquals(placeholderPositions.size(), parameters.size());
+        if (builtSql == null) {
+            builtSql = rawSql.toString();
+        }
+        String sql = builtSql;
+        return new PreparedSql(kind, sql, new FormattedSqlSupplier(config
+                .getDialect().getSqlLogFormattingVisitor(), sql,
+                placeholderPositions, parameters), null, parameters,
                 sqlLogType, commenter);
     }
 
+    /**
+     * 組み立て済みのSQLの文字列とバインド変数の位置からテンプレートを作成します。
+     * 
+     * @return テンプレート
+     * @since 2.20.0
+     */
+    public PreparedSqlTemplate toTemplate() {
+        PlaceholderPositions positions = new PlaceholderPositions();
+        positions.addAll(placeholderPositions, 0);
+        return new PreparedSqlTemplate(kind, rawSql.toString(), positions);
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+
+/**
+ * 組み立て済みのSQLの文字列とバインド変数の位置を保持するテンプレートです。
+ * <p>
+ * バインド変数のパラメータを与えるだけで {@link PreparedSql} を構築できます。
+ * このクラスは不変であり、スレッドセーフです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PreparedSqlTemplate {
+
+    protected final SqlKind kind;
+
+    protected final String rawSql;
+
+    protected final PlaceholderPositions placeholderPositions;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param kind
+     *            SQLの種別
+     * @param rawSql
+     *            生のSQL
+     * @param placeholderPositions
+     *            バインド変数の位置、構築後に変更してはいけません
+     */
+    public PreparedSqlTemplate(SqlKind kind, String rawSql,
+            PlaceholderPositions placeholderPositions) {
+        assertNotNull(kind, rawSql, placeholderPositions);
+        this.kind = kind;
+        this.rawSql = rawSql;
+        this.placeholderPositions = placeholderPositions;
+    }
+
+    /**
+     * パラメータを与えてSQLを構築します。
+     * <p>
+     * {@code parameters} の要素は、SQLのバインド変数と同じ順序で並んでいなければいけません。
+     * 
+     * @param config
+     *            設定
+     * @param sqlLogType
+     *            SQLのログの出力形式
+     * @param parameters
+     *            パラメータのリスト
+     * @param commenter
+     *            SQLにコメントを付与する関数
+     * @return SQL
+     */
+    public PreparedSql build(Config config, SqlLogType sqlLogType,
+            List<? extends InParameter<?>> parameters,
+            Function<String, String> commenter) {
+        assertNotNull(config, sqlLogType, parameters, commenter);
+        assertEquals(placeholderPositions.size(), parameters.size());
+        return new PreparedSql(kind, rawSql, new FormattedSqlSupplier(config
+                .getDialect().getSqlLogFormattingVisitor(), rawSql,
+                placeholderPositions, parameters), null, parameters,
+                sqlLogType, commenter);
+    }
+
+    public SqlKind getKind() {
+        return kind;
+    }
+
+    public String getRawSql() {
+        return rawSql;
+    }
+
+    public int getParameterSize() {
+        return placeholderPositions.size();
+    }
+
+}
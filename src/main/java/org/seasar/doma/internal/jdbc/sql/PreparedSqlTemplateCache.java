@@ -0,0 +1,98 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.seasar.doma.internal.util.StripedLruCache;
+
+/**
+ * 自動生成されるSQLのテンプレートをキャッシュします。
+ * <p>
+ * キーには、テンプレートの内容を決定するすべての要素（エンティティの型、ネーミング規約、ダイアレクト、
+ * 対象のプロパティの型のリストなど）を含めなければいけません。
+ * キャッシュは長く保持されるため、ダイアレクトのようにアプリケーションが作成するインスタンスはキーに含めず、クラス名で代用してください。
+ * <p>
+ * キャッシュされるテンプレートの数が {@link #MAX_SIZE} を超えると、最も長い間参照されていないテンプレートが破棄されます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PreparedSqlTemplateCache {
+
+    /** キャッシュするテンプレートの最大数 */
+    public static final int MAX_SIZE = 1024;
+
+    protected final StripedLruCache<List<Object>, PreparedSqlTemplate> templateCache = new StripedLruCache<>(
+            MAX_SIZE);
+
+    /**
+     * キャッシュのキーを作成します。
+     * <p>
+     * キーの要素は、キャッシュされた後に変更してはいけません。
+     * 
+     * @param elements
+     *            キーの要素
+     * @return キー
+     */
+    public static List<Object> createKey(Object... elements) {
+        assertNotNull((Object) elements);
+        return Arrays.asList(elements);
+    }
+
+    /**
+     * キャッシュされたテンプレートを返します。
+     * <p>
+     * キャッシュされていない場合は {@code factory} でテンプレートを作成してキャッシュします。
+     * 
+     * @param key
+     *            キー
+     * @param factory
+     *            テンプレートを作成するファクトリ
+     * @return テンプレート
+     */
+    public PreparedSqlTemplate get(List<Object> key,
+            Supplier<PreparedSqlTemplate> factory) {
+        assertNotNull(key, factory);
+        PreparedSqlTemplate template = templateCache.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = factory.get();
+        PreparedSqlTemplate current = templateCache.putIfAbsent(key, template);
+        return current != null ? current : template;
+    }
+
+    /**
+     * キャッシュをクリアします。
+     */
+    public void clear() {
+        templateCache.clear();
+    }
+
+    /**
+     * キャッシュされているテンプレートの数を返します。
+     * 
+     * @return テンプレートの数
+     */
+    public int size() {
+        return templateCache.size();
+    }
+}
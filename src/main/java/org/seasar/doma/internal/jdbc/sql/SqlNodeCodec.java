@@ -0,0 +1,695 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+import static org.seasar.doma.internal.util.AssertionUtil.assertUnreachable;
+
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.AppendableSqlNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
+import org.seasar.doma.internal.jdbc.sql.node.ElseNode;
+import org.seasar.doma.internal.jdbc.sql.node.ElseifNode;
+import org.seasar.doma.internal.jdbc.sql.node.EmbeddedVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.EndNode;
+import org.seasar.doma.internal.jdbc.sql.node.EolNode;
+import org.seasar.doma.internal.jdbc.sql.node.ExpandNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForBlockNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForUpdateClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.FromClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.GroupByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.HavingClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.IfBlockNode;
+import org.seasar.doma.internal.jdbc.sql.node.IfNode;
+import org.seasar.doma.internal.jdbc.sql.node.LiteralVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.LogicalOperatorNode;
+import org.seasar.doma.internal.jdbc.sql.node.OptionClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OrderByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OtherNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.PopulateNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.SetClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SqlLocation;
+import org.seasar.doma.internal.jdbc.sql.node.UpdateClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.UpdateStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.ValueNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhereClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.SqlNodeVisitor;
+
+/**
+ * {@link SqlParser} が作成したノードのツリーを文字列に変換し、また文字列からツリーを復元します。
+ * <p>
+ * 注釈処理で解析したSQLファイルのツリーを生成コードに埋め込み、実行時に字句解析なしで復元するために使用します。
+ * 文字列は、ノードの種別を表す1文字、ノードの属性、子ノードの数、子ノードを前順に並べたものです。
+ * 文字列の属性は「長さ:文字列」、数値の属性は「数値;」の形式で表します。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public final class SqlNodeCodec {
+
+    private SqlNodeCodec() {
+    }
+
+    /**
+     * ノードのツリーを文字列に変換します。
+     * 
+     * @param node
+     *            {@link SqlParser#parse()} が返したノード
+     * @return 変換された文字列
+     */
+    public static String encode(SqlNode node) {
+        assertNotNull(node);
+        StringBuilder buf = new StringBuilder(256);
+        node.accept(new Encoder(), buf);
+        return buf.toString();
+    }
+
+    /**
+     * 文字列からノードのツリーを復元します。
+     * 
+     * @param sql
+     *            ツリーの元となったSQL
+     * @param encoded
+     *            {@link #encode(SqlNode)} が返した文字列
+     * @return 復元されたノード
+     */
+    public static SqlNode decode(String sql, String encoded) {
+        assertNotNull(sql, encoded);
+        Decoder decoder = new Decoder(sql, encoded);
+        SqlNode node = decoder.readNode();
+        assertTrue(decoder.isEnd(), encoded);
+        return node;
+    }
+
+    protected static class Encoder implements SqlNodeVisitor<Void, StringBuilder> {
+
+        @Override
+        public Void visitAnonymousNode(AnonymousNode node, StringBuilder p) {
+            p.append('a');
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitBindVariableNode(BindVariableNode node,
+                StringBuilder p) {
+            p.append('b');
+            return writeValueNode(node, p);
+        }
+
+        @Override
+        public Void visitCommentNode(CommentNode node, StringBuilder p) {
+            p.append('c');
+            writeString(node.getComment(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitElseifNode(ElseifNode node, StringBuilder p) {
+            p.append('d');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getExpression(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitElseNode(ElseNode node, StringBuilder p) {
+            p.append('e');
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitEmbeddedVariableNode(EmbeddedVariableNode node,
+                StringBuilder p) {
+            p.append('v');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getVariableName(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitEndNode(EndNode node, StringBuilder p) {
+            p.append('n');
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitEolNode(EolNode node, StringBuilder p) {
+            p.append('l');
+            writeString(node.getEol(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitExpandNode(ExpandNode node, StringBuilder p) {
+            p.append('x');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getAlias(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitForBlockNode(ForBlockNode node, StringBuilder p) {
+            p.append('F');
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitForNode(ForNode node, StringBuilder p) {
+            p.append('f');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getIdentifier(), p);
+            writeString(node.getExpression(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitForUpdateClauseNode(ForUpdateClauseNode node,
+                StringBuilder p) {
+            p.append('U');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitFragmentNode(FragmentNode node, StringBuilder p) {
+            p.append('g');
+            writeString(node.getFragment(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitFromClauseNode(FromClauseNode node, StringBuilder p) {
+            p.append('R');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitGroupByClauseNode(GroupByClauseNode node,
+                StringBuilder p) {
+            p.append('G');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitHavingClauseNode(HavingClauseNode node,
+                StringBuilder p) {
+            p.append('H');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitIfBlockNode(IfBlockNode node, StringBuilder p) {
+            p.append('I');
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitIfNode(IfNode node, StringBuilder p) {
+            p.append('i');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getExpression(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitLiteralVariableNode(LiteralVariableNode node,
+                StringBuilder p) {
+            p.append('L');
+            return writeValueNode(node, p);
+        }
+
+        @Override
+        public Void visitLogicalOperatorNode(LogicalOperatorNode node,
+                StringBuilder p) {
+            p.append('o');
+            writeString(node.getWordNode().getWord(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitOptionClauseNode(OptionClauseNode node,
+                StringBuilder p) {
+            p.append('O');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitOrderByClauseNode(OrderByClauseNode node,
+                StringBuilder p) {
+            p.append('B');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitOtherNode(OtherNode node, StringBuilder p) {
+            p.append('t');
+            writeString(node.getOther(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitParensNode(ParensNode node, StringBuilder p) {
+            p.append('p');
+            writeParensNode(node, p);
+            return null;
+        }
+
+        @Override
+        public Void visitPopulateNode(PopulateNode node, StringBuilder p) {
+            p.append('P');
+            writeLocation(node.getLocation(), p);
+            writeString(node.getText(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitSelectClauseNode(SelectClauseNode node,
+                StringBuilder p) {
+            p.append('S');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitSelectStatementNode(SelectStatementNode node,
+                StringBuilder p) {
+            p.append('s');
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitSetClauseNode(SetClauseNode node, StringBuilder p) {
+            p.append('T');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitUpdateClauseNode(UpdateClauseNode node,
+                StringBuilder p) {
+            p.append('D');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitUpdateStatementNode(UpdateStatementNode node,
+                StringBuilder p) {
+            p.append('u');
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitWhereClauseNode(WhereClauseNode node,
+                StringBuilder p) {
+            p.append('W');
+            writeWordNode(node.getWordNode(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitWhitespaceNode(WhitespaceNode node, StringBuilder p) {
+            p.append('w');
+            writeString(node.getWhitespace(), p);
+            return writeChildren(node, p);
+        }
+
+        @Override
+        public Void visitWordNode(WordNode node, StringBuilder p) {
+            p.append('r');
+            writeWordNode(node, p);
+            return writeChildren(node, p);
+        }
+
+        protected Void writeValueNode(ValueNode node, StringBuilder p) {
+            writeLocation(node.getLocation(), p);
+            writeString(node.getVariableName(), p);
+            writeString(node.getText(), p);
+            if (node.getWordNode() != null) {
+                p.append('r');
+                writeWordNode(node.getWordNode(), p);
+            } else if (node.getParensNode() != null) {
+                p.append('p');
+                writeParensNode(node.getParensNode(), p);
+            } else {
+                p.append('-');
+            }
+            return writeChildren(node, p);
+        }
+
+        protected void writeParensNode(ParensNode node, StringBuilder p) {
+            writeLocation(node.getLocation(), p);
+            writeBoolean(node.isAttachedWithValue(), p);
+            writeBoolean(node.isEmpty(), p);
+            writeBoolean(node.getClosedFragmentNode() != null, p);
+            writeChildren(node, p);
+        }
+
+        protected void writeWordNode(WordNode node, StringBuilder p) {
+            writeString(node.getWord(), p);
+            writeBoolean(node.isReserved(), p);
+        }
+
+        protected void writeLocation(SqlLocation location, StringBuilder p) {
+            writeInt(location.getLineNumber(), p);
+            writeInt(location.getPosition(), p);
+        }
+
+        protected Void writeChildren(SqlNode node, StringBuilder p) {
+            writeInt(node.getChildren().size(), p);
+            for (SqlNode child : node.getChildren()) {
+                child.accept(this, p);
+            }
+            return null;
+        }
+
+        protected void writeString(String s, StringBuilder p) {
+            if (s == null) {
+                p.append('~');
+                return;
+            }
+            p.append(s.length()).append(':').append(s);
+        }
+
+        protected void writeInt(int i, StringBuilder p) {
+            p.append(i).append(';');
+        }
+
+        protected void writeBoolean(boolean b, StringBuilder p) {
+            p.append(b ? '1' : '0');
+        }
+    }
+
+    protected static class Decoder {
+
+        protected final String sql;
+
+        protected final String encoded;
+
+        protected int index;
+
+        protected Decoder(String sql, String encoded) {
+            this.sql = sql;
+            this.encoded = encoded;
+        }
+
+        protected boolean isEnd() {
+            return index == encoded.length();
+        }
+
+        protected SqlNode readNode() {
+            char type = encoded.charAt(index++);
+            switch (type) {
+            case 'a':
+                return readChildren(new AnonymousNode());
+            case 'b': {
+                SqlLocation location = readLocation();
+                String variableName = readString();
+                String text = readString();
+                return readValueNode(new BindVariableNode(location,
+                        variableName, text));
+            }
+            case 'c':
+                return readChildren(new CommentNode(readString()));
+            case 'd': {
+                SqlLocation location = readLocation();
+                String expression = readString();
+                String text = readString();
+                return readChildren(new ElseifNode(location, expression, text));
+            }
+            case 'e':
+                return readChildren(new ElseNode(readString()));
+            case 'v': {
+                SqlLocation location = readLocation();
+                String variableName = readString();
+                String text = readString();
+                return readChildren(new EmbeddedVariableNode(location,
+                        variableName, text));
+            }
+            case 'n':
+                return readChildren(new EndNode(readString()));
+            case 'l':
+                return readChildren(new EolNode(readString()));
+            case 'x': {
+                SqlLocation location = readLocation();
+                String alias = readString();
+                String text = readString();
+                return readChildren(new ExpandNode(location, alias, text));
+            }
+            case 'F':
+                return readForBlockNode();
+            case 'f': {
+                SqlLocation location = readLocation();
+                String identifier = readString();
+                String expression = readString();
+                String text = readString();
+                return readChildren(new ForNode(location, identifier,
+                        expression, text));
+            }
+            case 'U':
+                return readChildren(new ForUpdateClauseNode(readWordNode()));
+            case 'g':
+                return readChildren(new FragmentNode(readString()));
+            case 'R':
+                return readChildren(new FromClauseNode(readWordNode()));
+            case 'G':
+                return readChildren(new GroupByClauseNode(readWordNode()));
+            case 'H':
+                return readChildren(new HavingClauseNode(readWordNode()));
+            case 'I':
+                return readIfBlockNode();
+            case 'i': {
+                SqlLocation location = readLocation();
+                String expression = readString();
+                String text = readString();
+                return readChildren(new IfNode(location, expression, text));
+            }
+            case 'L': {
+                SqlLocation location = readLocation();
+                String variableName = readString();
+                String text = readString();
+                return readValueNode(new LiteralVariableNode(location,
+                        variableName, text));
+            }
+            case 'o':
+                return readChildren(new LogicalOperatorNode(readString()));
+            case 'O':
+                return readChildren(new OptionClauseNode(readWordNode()));
+            case 'B':
+                return readChildren(new OrderByClauseNode(readWordNode()));
+            case 't':
+                return readChildren(OtherNode.of(readString()));
+            case 'p':
+                return readParensNode();
+            case 'P': {
+                SqlLocation location = readLocation();
+                String text = readString();
+                return readChildren(new PopulateNode(location, text));
+            }
+            case 'S':
+                return readChildren(new SelectClauseNode(readWordNode()));
+            case 's':
+                return readSelectStatementNode();
+            case 'T':
+                return readChildren(new SetClauseNode(readWordNode()));
+            case 'D':
+                return readChildren(new UpdateClauseNode(readWordNode()));
+            case 'u':
+                return readUpdateStatementNode();
+            case 'W':
+                return readChildren(new WhereClauseNode(readWordNode()));
+            case 'w':
+                return readChildren(WhitespaceNode.of(readString()));
+            case 'r':
+                return readChildren(readWordNode());
+            default:
+                return assertUnreachable(encoded);
+            }
+        }
+
+        protected SqlNode readValueNode(ValueNode node) {
+            char attachment = encoded.charAt(index++);
+            if (attachment == 'r') {
+                node.setWordNode(readWordNode());
+            } else if (attachment == 'p') {
+                node.setParensNode(readParensNode());
+            } else {
+                assertTrue(attachment == '-', encoded);
+            }
+            return readChildren(node);
+        }
+
+        protected ParensNode readParensNode() {
+            ParensNode node = new ParensNode(readLocation());
+            node.setAttachedWithValue(readBoolean());
+            node.setEmpty(readBoolean());
+            if (readBoolean()) {
+                node.close();
+            }
+            return readChildren(node);
+        }
+
+        protected IfBlockNode readIfBlockNode() {
+            IfBlockNode node = new IfBlockNode();
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                SqlNode child = readNode();
+                if (child instanceof IfNode) {
+                    node.setIfNode((IfNode) child);
+                } else if (child instanceof ElseifNode) {
+                    node.addElseifNode((ElseifNode) child);
+                } else if (child instanceof ElseNode) {
+                    node.setElseNode((ElseNode) child);
+                } else if (child instanceof EndNode) {
+                    node.setEndNode((EndNode) child);
+                } else {
+                    assertUnreachable(encoded);
+                }
+            }
+            return node;
+        }
+
+        protected ForBlockNode readForBlockNode() {
+            ForBlockNode node = new ForBlockNode();
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                SqlNode child = readNode();
+                if (child instanceof ForNode) {
+                    node.setForNode((ForNode) child);
+                } else if (child instanceof EndNode) {
+                    node.setEndNode((EndNode) child);
+                } else {
+                    assertUnreachable(encoded);
+                }
+            }
+            return node;
+        }
+
+        protected SelectStatementNode readSelectStatementNode() {
+            SelectStatementNode node = new SelectStatementNode();
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                SqlNode child = readNode();
+                if (child instanceof SelectClauseNode) {
+                    node.setSelectClauseNode((SelectClauseNode) child);
+                } else if (child instanceof FromClauseNode) {
+                    node.setFromClauseNode((FromClauseNode) child);
+                } else if (child instanceof WhereClauseNode) {
+                    node.setWhereClauseNode((WhereClauseNode) child);
+                } else if (child instanceof GroupByClauseNode) {
+                    node.setGroupByClauseNode((GroupByClauseNode) child);
+                } else if (child instanceof HavingClauseNode) {
+                    node.setHavingClauseNode((HavingClauseNode) child);
+                } else if (child instanceof OrderByClauseNode) {
+                    node.setOrderByClauseNode((OrderByClauseNode) child);
+                } else if (child instanceof ForUpdateClauseNode) {
+                    node.setForUpdateClauseNode((ForUpdateClauseNode) child);
+                } else if (child instanceof OptionClauseNode) {
+                    node.setOptionClauseNode((OptionClauseNode) child);
+                } else {
+                    assertUnreachable(encoded);
+                }
+            }
+            return node;
+        }
+
+        protected UpdateStatementNode readUpdateStatementNode() {
+            UpdateStatementNode node = new UpdateStatementNode();
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                SqlNode child = readNode();
+                if (child instanceof UpdateClauseNode) {
+                    node.setUpdateClauseNode((UpdateClauseNode) child);
+                } else if (child instanceof SetClauseNode) {
+                    node.setSetClauseNode((SetClauseNode) child);
+                } else if (child instanceof WhereClauseNode) {
+                    node.setWhereClauseNode((WhereClauseNode) child);
+                } else {
+                    assertUnreachable(encoded);
+                }
+            }
+            return node;
+        }
+
+        protected <T extends AppendableSqlNode> T readChildren(T node) {
+            int size = readInt();
+            for (int i = 0; i < size; i++) {
+                node.appendNode(readNode());
+            }
+            return node;
+        }
+
+        protected WordNode readWordNode() {
+            String word = readString();
+            return new WordNode(word, readBoolean());
+        }
+
+        protected SqlLocation readLocation() {
+            int lineNumber = readInt();
+            int position = readInt();
+            return new SqlLocation(sql, lineNumber, position);
+        }
+
+        protected String readString() {
+            if (encoded.charAt(index) == '~') {
+                index++;
+                return null;
+            }
+            int length = readNumber(':');
+            String s = encoded.substring(index, index + length);
+            index += length;
+            return s;
+        }
+
+        protected int readInt() {
+            return readNumber(';');
+        }
+
+        protected boolean readBoolean() {
+            return encoded.charAt(index++) == '1';
+        }
+
+        protected int readNumber(char terminator) {
+            int end = encoded.indexOf(terminator, index);
+            assertTrue(end > index, encoded);
+            int number = Integer.parseInt(encoded.substring(index, end));
+            index = end + 1;
+            return number;
+        }
+    }
+}
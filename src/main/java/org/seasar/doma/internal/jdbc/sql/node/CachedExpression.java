@@ -0,0 +1,68 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql.node;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import org.seasar.doma.internal.expr.ExpressionParser;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
+
+/**
+ * SQLノードに含まれる式と、その式を解析した結果を保持します。
+ * <p>
+ * 式は最初に要求されたときに一度だけ解析され、以降の評価では解析結果が再利用されます。
+ * 解析結果の {@link ExpressionNode} は解析後に変更されないため、スレッド間で共有できます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class CachedExpression {
+
+    protected final String expression;
+
+    protected volatile ExpressionNode expressionNode;
+
+    public CachedExpression(String expression) {
+        assertNotNull(expression);
+        this.expression = expression;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 解析済みの式を返します。
+     * 
+     * @return 式のノード
+     * @throws org.seasar.doma.internal.expr.ExpressionException
+     *             式の解析に失敗した場合
+     */
+    public ExpressionNode getExpressionNode() {
+        ExpressionNode node = expressionNode;
+        if (node == null) {
+            ExpressionParser parser = new ExpressionParser(expression);
+            node = parser.parse();
+            expressionNode = node;
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
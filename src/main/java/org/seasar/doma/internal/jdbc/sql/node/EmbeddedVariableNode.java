@@ -28,12 +28,15 @@ public class EmbeddedVariableNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected final CachedExpression cachedExpression;
+
     public EmbeddedVariableNode(SqlLocation location, String variableName,
             String text) {
         assertNotNull(location, variableName, text);
         this.location = location;
         this.variableName = variableName;
         this.text = text;
+        this.cachedExpression = new CachedExpression(variableName);
     }
 
     public SqlLocation getLocation() {
@@ -44,6 +47,10 @@ public class EmbeddedVariableNode extends AbstractSqlNode {
         return variableName;
     }
 
+    public CachedExpression getCachedExpression() {
+        return cachedExpression;
+    }
+
     public String getText() {
         return text;
     }
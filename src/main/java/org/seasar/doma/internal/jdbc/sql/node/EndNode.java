@@ -30,6 +30,10 @@ public class EndNode extends AbstractSqlNode implements SpaceStrippingNode {
         this.text = text;
     }
 
+    public String getText() {
+        return text;
+    }
+
     @Override
     public void clearChildren() {
         children.clear();
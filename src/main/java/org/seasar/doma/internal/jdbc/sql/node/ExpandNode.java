@@ -30,11 +30,14 @@ public class ExpandNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected final CachedExpression cachedExpression;
+
     public ExpandNode(SqlLocation location, String alias, String text) {
         assertNotNull(location, alias, text);
         this.location = location;
         this.alias = alias;
         this.text = text;
+        this.cachedExpression = new CachedExpression(alias);
     }
 
     public SqlLocation getLocation() {
@@ -45,6 +48,10 @@ public class ExpandNode extends AbstractSqlNode {
         return alias;
     }
 
+    public CachedExpression getCachedExpression() {
+        return cachedExpression;
+    }
+
     public String getText() {
         return text;
     }
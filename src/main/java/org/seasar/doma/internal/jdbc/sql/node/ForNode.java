@@ -34,6 +34,8 @@ public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
 
     protected final String text;
 
+    protected final CachedExpression cachedExpression;
+
     public ForNode(SqlLocation location, String identifier, String expression,
             String text) {
         assertNotNull(location, identifier, expression, text);
@@ -41,6 +43,7 @@ public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
         this.identifier = identifier;
         this.expression = expression;
         this.text = text;
+        this.cachedExpression = new CachedExpression(expression);
     }
 
     public SqlLocation getLocation() {
@@ -55,6 +58,14 @@ public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
         return expression;
     }
 
+    public CachedExpression getCachedExpression() {
+        return cachedExpression;
+    }
+
+    public String getText() {
+        return text;
+    }
+
     @Override
     public void clearChildren() {
         children.clear();
@@ -32,11 +32,14 @@ public class IfNode extends AbstractSqlNode implements SpaceStrippingNode {
 
     protected final String text;
 
+    protected final CachedExpression cachedExpression;
+
     public IfNode(SqlLocation location, String expression, String text) {
         assertNotNull(location, expression, text);
         this.location = location;
         this.expression = expression;
         this.text = text;
+        this.cachedExpression = new CachedExpression(expression);
     }
 
     public SqlLocation getLocation() {
@@ -47,6 +50,14 @@ public class IfNode extends AbstractSqlNode implements SpaceStrippingNode {
         return expression;
     }
 
+    public CachedExpression getCachedExpression() {
+        return cachedExpression;
+    }
+
+    public String getText() {
+        return text;
+    }
+
     @Override
     public void clearChildren() {
         children.clear();
@@ -32,6 +32,8 @@ public abstract class ValueNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected final CachedExpression cachedExpression;
+
     protected WordNode wordNode;
 
     protected ParensNode parensNode;
@@ -41,6 +43,7 @@ public abstract class ValueNode extends AbstractSqlNode {
         this.location = location;
         this.variableName = variableName;
         this.text = text;
+        this.cachedExpression = new CachedExpression(variableName);
     }
 
     public SqlLocation getLocation() {
@@ -51,6 +54,10 @@ public abstract class ValueNode extends AbstractSqlNode {
         return variableName;
     }
 
+    public CachedExpression getCachedExpression() {
+        return cachedExpression;
+    }
+
     public String getText() {
         return text;
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.util;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * クラスに対応するメタタイプのシングルトンをキャッシュします。
+ * <p>
+ * 一度解決されたメタタイプは、以降 {@link ClassValue} から取り出すだけで返されます。
+ * 解決の結果が {@code null} の場合は、解決に使用したキーについてのみメタタイプが存在しないことをキャッシュします。
+ * 結果はクラスのロード方法によって変わるため、別のキー（たとえば別の
+ * {@link org.seasar.doma.jdbc.ClassHelper}）で解決する場合は改めて解決します。
+ * 解決時に例外が発生した場合はキャッシュしません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * @param <T>
+ *            メタタイプの型
+ */
+public class MetaTypeCache<T> {
+
+    private final ClassValue<Entry> entries = new ClassValue<Entry>() {
+
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return new Entry();
+        }
+    };
+
+    /**
+     * クラスに対応するメタタイプを返します。
+     * 
+     * @param clazz
+     *            クラス
+     * @param key
+     *            解決の結果を左右するキー
+     * @param resolver
+     *            キャッシュされていない場合にメタタイプを解決する関数
+     * @return メタタイプ、存在しない場合 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public T get(Class<?> clazz, Object key, Function<Class<?>, T> resolver) {
+        assertNotNull(clazz, key, resolver);
+        Entry entry = entries.get(clazz);
+        Object value = entry.metaType;
+        if (value != null) {
+            return (T) value;
+        }
+        if (entry.absentKeys.contains(key)) {
+            return null;
+        }
+        T metaType = resolver.apply(clazz);
+        if (metaType == null) {
+            entry.absentKeys.add(key);
+            return null;
+        }
+        synchronized (entry) {
+            if (entry.metaType == null) {
+                entry.metaType = metaType;
+            }
+            return (T) entry.metaType;
+        }
+    }
+
+    /**
+     * クラスに対応するメタタイプのキャッシュを削除します。
+     * 
+     * @param clazz
+     *            クラス
+     */
+    public void remove(Class<?> clazz) {
+        assertNotNull(clazz);
+        entries.remove(clazz);
+    }
+
+    private static class Entry {
+
+        private volatile Object metaType;
+
+        private final Set<Object> absentKeys = Collections
+                .synchronizedSet(Collections
+                        .newSetFromMap(new WeakHashMap<Object, Boolean>()));
+    }
+}
@@ -15,8 +15,22 @@
  */
 package org.seasar.doma.internal.jdbc.util;
 
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
 import java.io.File;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.seasar.doma.BatchDelete;
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.BatchUpdate;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Delete;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.SqlProcessor;
+import org.seasar.doma.Update;
 import org.seasar.doma.internal.Constants;
 import org.seasar.doma.jdbc.dialect.Dialect;
 
@@ -46,4 +60,61 @@ public final class SqlFileUtil {
         return FileUtil
                 .convertToDbmsSpecificPath(PREFIX, SUFFIX, path, dialect);
     }
+
+    /**
+     * Daoインタフェースのメソッドのうち、SQLファイルを使用するメソッドをSQLファイルのパスと関連付けて返します。
+     * <p>
+     * 親Daoインタフェースで宣言されたメソッドは、親Daoインタフェースのパスに関連付けます。
+     * 
+     * @param daoInterface
+     *            Daoインタフェース
+     * @return SQLファイルのパスをキー、メソッドを値とするマップ
+     * @since 2.20.0
+     */
+    public static Map<String, Method> getSqlFileMethods(Class<?> daoInterface) {
+        assertNotNull(daoInterface);
+        Map<String, Method> result = new LinkedHashMap<>();
+        for (Method method : daoInterface.getMethods()) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            if (declaringClass.isAnnotationPresent(Dao.class)
+                    && isSqlFileMethod(method)) {
+                String path = buildPath(declaringClass.getName(),
+                        method.getName());
+                result.putIfAbsent(path, method);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSqlFileMethod(Method method) {
+        if (method.isAnnotationPresent(Select.class)
+                || method.isAnnotationPresent(SqlProcessor.class)) {
+            return true;
+        }
+        Insert insert = method.getAnnotation(Insert.class);
+        if (insert != null) {
+            return insert.sqlFile();
+        }
+        Update update = method.getAnnotation(Update.class);
+        if (update != null) {
+            return update.sqlFile();
+        }
+        Delete delete = method.getAnnotation(Delete.class);
+        if (delete != null) {
+            return delete.sqlFile();
+        }
+        BatchInsert batchInsert = method.getAnnotation(BatchInsert.class);
+        if (batchInsert != null) {
+            return batchInsert.sqlFile();
+        }
+        BatchUpdate batchUpdate = method.getAnnotation(BatchUpdate.class);
+        if (batchUpdate != null) {
+            return batchUpdate.sqlFile();
+        }
+        BatchDelete batchDelete = method.getAnnotation(BatchDelete.class);
+        if (batchDelete != null) {
+            return batchDelete.sqlFile();
+        }
+        return false;
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.util;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 要素数の上限を持つLRU方式のキャッシュです。
+ * <p>
+ * 要素数が上限を超えると、最も長い間参照されていない要素が破棄されます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * 
+ * @param <K>
+ *            キーの型
+ * @param <V>
+ *            値の型
+ */
+public class LruCache<K, V> {
+
+    protected final int maxSize;
+
+    protected final LinkedHashMap<K, V> map;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param maxSize
+     *            要素数の上限
+     */
+    public LruCache(int maxSize) {
+        assertTrue(maxSize > 0);
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 値を返します。
+     * 
+     * @param key
+     *            キー
+     * @return 値、存在しない場合 {@code null}
+     */
+    public synchronized V get(K key) {
+        assertNotNull(key);
+        return map.get(key);
+    }
+
+    /**
+     * 値を設定します。
+     * 
+     * @param key
+     *            キー
+     * @param value
+     *            値
+     */
+    public synchronized void put(K key, V value) {
+        assertNotNull(key, value);
+        map.put(key, value);
+    }
+
+    /**
+     * 値が存在しない場合に値を設定します。
+     * 
+     * @param key
+     *            キー
+     * @param value
+     *            値
+     * @return 既に存在する値、存在しない場合 {@code null}
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        assertNotNull(key, value);
+        V current = map.get(key);
+        if (current != null) {
+            return current;
+        }
+        map.put(key, value);
+        return null;
+    }
+
+    /**
+     * 要素数を返します。
+     * 
+     * @return 要素数
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * すべての要素を破棄します。
+     */
+    public synchronized void clear() {
+        map.clear();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.util;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+/**
+ * ロックを分割した要素数の上限を持つLRU方式のキャッシュです。
+ * <p>
+ * キーのハッシュ値によって要素を複数の {@link LruCache} に振り分けるため、異なるストライプへのアクセスは互いにブロックしません。
+ * 要素数の上限はストライプごとに均等に割り当てられ、上限を超えるとそのストライプで最も長い間参照されていない要素が破棄されます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * 
+ * @param <K>
+ *            キーの型
+ * @param <V>
+ *            値の型
+ */
+public class StripedLruCache<K, V> {
+
+    /** ストライプの最大数 */
+    public static final int MAX_STRIPES = 16;
+
+    protected final LruCache<K, V>[] stripes;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param maxSize
+     *            要素数の上限
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int maxSize) {
+        assertTrue(maxSize > 0);
+        int stripeCount = Integer.highestOneBit(Math.min(maxSize,
+                MAX_STRIPES));
+        this.stripes = new LruCache[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LruCache<>(maxSize / stripeCount);
+        }
+    }
+
+    /**
+     * 値を返します。
+     * 
+     * @param key
+     *            キー
+     * @return 値、存在しない場合 {@code null}
+     */
+    public V get(K key) {
+        assertNotNull(key);
+        return stripe(key).get(key);
+    }
+
+    /**
+     * 値を設定します。
+     * 
+     * @param key
+     *            キー
+     * @param value
+     *            値
+     */
+    public void put(K key, V value) {
+        assertNotNull(key, value);
+        stripe(key).put(key, value);
+    }
+
+    /**
+     * 値が存在しない場合に値を設定します。
+     * 
+     * @param key
+     *            キー
+     * @param value
+     *            値
+     * @return 既に存在する値、存在しない場合 {@code null}
+     */
+    public V putIfAbsent(K key, V value) {
+        assertNotNull(key, value);
+        return stripe(key).putIfAbsent(key, value);
+    }
+
+    /**
+     * 要素数を返します。
+     * 
+     * @return 要素数
+     */
+    public int size() {
+        int size = 0;
+        for (LruCache<K, V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * すべての要素を破棄します。
+     */
+    public void clear() {
+        for (LruCache<K, V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    protected LruCache<K, V> stripe(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & (stripes.length - 1)];
+    }
+}
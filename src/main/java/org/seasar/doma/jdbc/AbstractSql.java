@@ -3,6 +3,7 @@ package org.seasar.doma.jdbc;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.seasar.doma.DomaNullPointerException;
 
@@ -12,7 +13,18 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
 
     protected final String rawSql;
 
-    protected final String formattedSql;
+    /**
+     * フォーマット済みSQLです。
+     * <p>
+     * {@link Supplier} を受け取るコンストラクタで構築した場合は、 {@link #getFormattedSql()}
+     * が最初に呼び出されるまで {@code null} です。サブクラスからは {@link #getFormattedSql()}
+     * を使用することを推奨します。
+     * 
+     * @since 2.20.0 {@code final} ではなくなりました
+     */
+    protected volatile String formattedSql;
+
+    private final Supplier<String> formattedSqlSupplier;
 
     protected final String sqlFilePath;
 
@@ -24,13 +36,30 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
             CharSequence formattedSql, String sqlFilePath,
             List<? extends P> parameters, SqlLogType sqlLogType,
             Function<String, String> commenter) {
+        this(kind, rawSql, toSupplier(formattedSql), sqlFilePath, parameters,
+                sqlLogType, commenter);
+        this.formattedSql = formattedSqlSupplier.get();
+    }
+
+    /**
+     * フォーマット済みSQLを遅延して組み立てるインスタンスを構築します。
+     * <p>
+     * {@code formattedSqlSupplier} は {@link #getFormattedSql()}
+     * が最初に呼び出されたときにだけ実行されます。
+     * 
+     * @since 2.20.0
+     */
+    protected AbstractSql(SqlKind kind, CharSequence rawSql,
+            Supplier<? extends CharSequence> formattedSqlSupplier,
+            String sqlFilePath, List<? extends P> parameters,
+            SqlLogType sqlLogType, Function<String, String> commenter) {
         if (kind == null) {
             throw new DomaNullPointerException("kind");
         }
         if (rawSql == null) {
             throw new DomaNullPointerException("rawSql");
         }
-        if (formattedSql == null) {
+        if (formattedSqlSupplier == null) {
             throw new DomaNullPointerException("formattedSql");
         }
         if (parameters == null) {
@@ -44,12 +73,21 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
         }
         this.kind = kind;
         this.rawSql = commenter.apply(rawSql.toString().trim());
-        this.formattedSql = commenter.apply(formattedSql.toString().trim());
+        this.formattedSqlSupplier = () -> commenter.apply(formattedSqlSupplier
+                .get().toString().trim());
         this.sqlFilePath = sqlFilePath;
         this.parameters = Collections.unmodifiableList(parameters);
         this.sqlLogType = sqlLogType;
     }
 
+    private static Supplier<CharSequence> toSupplier(CharSequence formattedSql) {
+        if (formattedSql == null) {
+            return null;
+        }
+        String sql = formattedSql.toString();
+        return () -> sql;
+    }
+
     @Override
     public SqlKind getKind() {
         return kind;
@@ -62,7 +100,12 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
 
     @Override
     public String getFormattedSql() {
-        return formattedSql;
+        String sql = formattedSql;
+        if (sql == null) {
+            sql = formattedSqlSupplier.get();
+            formattedSql = sql;
+        }
+        return sql;
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.internal.Constants;
 import org.seasar.doma.internal.WrapException;
+import org.seasar.doma.internal.jdbc.sql.CompiledSqlFileRegistry;
 import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
 import org.seasar.doma.internal.util.ResourceUtil;
@@ -82,6 +83,8 @@ public abstract class AbstractSqlFileRepository implements SqlFileRepository {
 
     /**
      * SQLファイルを作成します。
+     * <p>
+     * 注釈処理で解析済みのSQLファイルは使用しません。
      * 
      * @param path
      *            SQLのパス
@@ -90,7 +93,35 @@ public abstract class AbstractSqlFileRepository implements SqlFileRepository {
      * @return SQLファイル
      */
     protected final SqlFile createSqlFile(String path, Dialect dialect) {
+        return createSqlFile(null, path, dialect);
+    }
+
+    /**
+     * SQLファイルを作成します。
+     * 
+     * @param method
+     *            Daoのメソッド、注釈処理で解析済みのSQLファイルを使用しない場合 {@code null}
+     * @param path
+     *            SQLのパス
+     * @param dialect
+     *            方言
+     * @return SQLファイル
+     * @since 2.20.0
+     */
+    protected final SqlFile createSqlFile(Method method, String path,
+            Dialect dialect) {
         String primaryPath = getPrimaryPath(path, dialect);
+        if (method != null && isCompiledSqlFileUsed()) {
+            Class<?> daoInterface = method.getDeclaringClass();
+            if (CompiledSqlFileRegistry.isRegistered(daoInterface, path)) {
+                SqlFile sqlFile = CompiledSqlFileRegistry.getSqlFile(
+                        daoInterface, primaryPath);
+                if (sqlFile != null) {
+                    return sqlFile;
+                }
+                return CompiledSqlFileRegistry.getSqlFile(daoInterface, path);
+            }
+        }
         String sql = getSql(primaryPath);
         if (sql != null) {
             SqlNode sqlNode = parse(sql);
@@ -104,6 +135,19 @@ public abstract class AbstractSqlFileRepository implements SqlFileRepository {
         throw new SqlFileNotFoundException(path);
     }
 
+    /**
+     * 注釈処理で解析済みのSQLファイルを使用する場合 {@code true} を返します。
+     * <p>
+     * {@code true} の場合、 {@link CompiledSqlFileRegistry} に登録されたSQLファイルを
+     * リソースの読み込みと解析をせずに使用します。
+     * 
+     * @return 解析済みのSQLファイルを使用する場合 {@code true}
+     * @since 2.20.0
+     */
+    protected boolean isCompiledSqlFileUsed() {
+        return true;
+    }
+
     /**
      * SQLファイルを見つける際の優先パスを取得します。
      * 
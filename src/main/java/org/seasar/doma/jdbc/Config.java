@@ -17,6 +17,8 @@ package org.seasar.doma.jdbc;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.sql.DataSource;
 
@@ -239,6 +241,24 @@ public interface Config {
         return 0;
     }
 
+    /**
+     * バッチ挿入で複数行を挿入するINSERT文を使用するかどうかを返します。
+     * <p>
+     * {@code true} を返す場合、 {@link Dialect#supportsMultiRowInsertStatement()}
+     * が {@code true} を返すダイアレクトでは、SQLファイルを使用しないバッチ挿入が
+     * {@code insert into ... values (...), (...)} の形式のSQLにまとめて実行されます。
+     * 1つのSQLに含まれる行数は、 {@link Dialect#getMultiRowInsertParameterLimit()}
+     * とバッチサイズにより制限されます。
+     * <p>
+     * 識別子をINSERTの実行後に取得する必要がある場合、この設定は無視されます。
+     * 
+     * @return 使用する場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean isMultiRowBatchInsertEnabled() {
+        return false;
+    }
+
     /**
      * {@link EntityListener} のプロバイダを返します。
      * 
@@ -249,6 +269,19 @@ public interface Config {
         return ConfigSupport.defaultEntityListenerProvider;
     }
 
+    /**
+     * 戻り値の型が {@link CompletableFuture} であるDaoメソッドを実行するエグゼキュータを返します。
+     * <p>
+     * デフォルトの実装は、仮想スレッドをサポートする実行環境ではタスクごとに仮想スレッドを作成するエグゼキュータを、
+     * それ以外の実行環境ではデーモンスレッドを使うエグゼキュータを返します。
+     * 
+     * @return エグゼキュータ
+     * @since 2.20.0
+     */
+    default Executor getExecutor() {
+        return ConfigSupport.defaultExecutor;
+    }
+
     /**
      * {@link ConfigProvider} から {@link Config} を取得します。
      * 
@@ -15,6 +15,10 @@
  */
 package org.seasar.doma.jdbc;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 /**
  * {@link Config} が返すインタフェースのデフォルト実装を提供します。
  * 
@@ -61,4 +65,24 @@ public final class ConfigSupport {
      */
     public static EntityListenerProvider defaultEntityListenerProvider = new EntityListenerProvider() {
     };
+
+    /**
+     * @since 2.20.0
+     */
+    public static Executor defaultExecutor = createDefaultExecutor();
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method method = Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException ignored) {
+            // 仮想スレッドをサポートしない実行環境
+        }
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "doma-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
@@ -16,9 +16,20 @@
 package org.seasar.doma.jdbc;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import org.seasar.doma.Dao;
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
 import org.seasar.doma.jdbc.dialect.Dialect;
 
 /**
@@ -40,7 +51,7 @@ public class GreedyCacheSqlFileRepository extends AbstractSqlFileRepository {
         if (file != null) {
             return file;
         }
-        file = createSqlFile(path, dialect);
+        file = createSqlFile(method, path, dialect);
         SqlFile current = sqlFileMap.putIfAbsent(path, file);
         return current != null ? current : file;
     }
@@ -49,4 +60,87 @@ public class GreedyCacheSqlFileRepository extends AbstractSqlFileRepository {
     public void clearCache() {
         sqlFileMap.clear();
     }
+
+    /**
+     * Daoが使用するSQLファイルを {@link ForkJoinPool#commonPool()} で並列に読み込み、キャッシュします。
+     * 
+     * @param dialect
+     *            方言
+     * @param daoInterfaces
+     *            {@link Dao} が注釈されたインタフェース
+     * @return すべてのSQLファイルがキャッシュされると完了する {@link CompletableFuture}
+     * @throws DomaNullPointerException
+     *             引数のいずれかが {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code daoInterfaces} に {@link Dao} が注釈されていないクラスが含まれる場合
+     * @since 2.20.0
+     */
+    public CompletableFuture<SqlFileWarmUpResult> warmUp(Dialect dialect,
+            Class<?>... daoInterfaces) {
+        return warmUp(ForkJoinPool.commonPool(), dialect, daoInterfaces);
+    }
+
+    /**
+     * Daoが使用するSQLファイルを並列に読み込み、キャッシュします。
+     * <p>
+     * 返された {@link CompletableFuture} の完了を待つことで、キャッシュの準備ができるまでブロックできます。
+     * SQLファイルが見つからない場合などは、 {@link CompletableFuture} は例外で完了します。
+     * 
+     * @param executor
+     *            SQLファイルの読み込みを実行するエグゼキュータ
+     * @param dialect
+     *            方言
+     * @param daoInterfaces
+     *            {@link Dao} が注釈されたインタフェース
+     * @return すべてのSQLファイルがキャッシュされると完了する {@link CompletableFuture}
+     * @throws DomaNullPointerException
+     *             引数のいずれかが {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code daoInterfaces} に {@link Dao} が注釈されていないクラスが含まれる場合
+     * @since 2.20.0
+     */
+    public CompletableFuture<SqlFileWarmUpResult> warmUp(Executor executor,
+            Dialect dialect, Class<?>... daoInterfaces) {
+        if (executor == null) {
+            throw new DomaNullPointerException("executor");
+        }
+        if (dialect == null) {
+            throw new DomaNullPointerException("dialect");
+        }
+        if (daoInterfaces == null) {
+            throw new DomaNullPointerException("daoInterfaces");
+        }
+        long start = System.nanoTime();
+        Map<String, Method> methodMap = new LinkedHashMap<>();
+        for (Class<?> daoInterface : daoInterfaces) {
+            if (daoInterface == null
+                    || !daoInterface.isAnnotationPresent(Dao.class)) {
+                throw new DomaIllegalArgumentException("daoInterfaces",
+                        "The element is not annotated with @Dao: "
+                                + daoInterface);
+            }
+            methodMap.putAll(SqlFileUtil.getSqlFileMethods(daoInterface));
+        }
+        List<String> paths = new ArrayList<>(methodMap.keySet());
+        long[] loadTimes = new long[paths.size()];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            int index = i;
+            String path = paths.get(i);
+            Method method = methodMap.get(path);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                long loadStart = System.nanoTime();
+                getSqlFile(method, path, dialect);
+                loadTimes[index] = System.nanoTime() - loadStart;
+            }, executor);
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> {
+            Map<String, Long> loadTimeMap = new LinkedHashMap<>();
+            for (int i = 0; i < paths.size(); i++) {
+                loadTimeMap.put(paths.get(i), loadTimes[i]);
+            }
+            return new SqlFileWarmUpResult(loadTimeMap, System.nanoTime()
+                    - start);
+        });
+    }
 }
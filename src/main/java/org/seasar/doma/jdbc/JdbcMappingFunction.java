@@ -18,7 +18,13 @@ package org.seasar.doma.jdbc;
 import java.sql.SQLException;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.jdbc.type.DoubleType;
+import org.seasar.doma.jdbc.type.IntegerType;
 import org.seasar.doma.jdbc.type.JdbcType;
+import org.seasar.doma.jdbc.type.LongType;
+import org.seasar.doma.wrapper.DoubleWrapper;
+import org.seasar.doma.wrapper.IntegerWrapper;
+import org.seasar.doma.wrapper.LongWrapper;
 import org.seasar.doma.wrapper.Wrapper;
 
 /**
@@ -50,4 +56,76 @@ public interface JdbcMappingFunction {
      */
     <R, V> R apply(Wrapper<V> wrapper, JdbcType<V> jdbcType)
             throws SQLException;
+
+    /**
+     * {@code int} 型の値に対してこの処理を適用します。
+     * <p>
+     * 実装はボクシングを避けて値を扱うためにこのメソッドをオーバーライドできます。デフォルトの実装は
+     * {@link #apply(Wrapper, JdbcType)} に処理を委譲します。
+     * 
+     * @param <R>
+     *            戻り値の型
+     * @param wrapper
+     *            ラッパー
+     * @param jdbcType
+     *            JDBC型
+     * @return マッピング処理の結果
+     * @throws DomaNullPointerException
+     *             いずれかの引数が {@code null} の場合
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    default <R> R applyInt(IntegerWrapper wrapper, IntegerType jdbcType)
+            throws SQLException {
+        return apply(wrapper, jdbcType);
+    }
+
+    /**
+     * {@code long} 型の値に対してこの処理を適用します。
+     * <p>
+     * 実装はボクシングを避けて値を扱うためにこのメソッドをオーバーライドできます。デフォルトの実装は
+     * {@link #apply(Wrapper, JdbcType)} に処理を委譲します。
+     * 
+     * @param <R>
+     *            戻り値の型
+     * @param wrapper
+     *            ラッパー
+     * @param jdbcType
+     *            JDBC型
+     * @return マッピング処理の結果
+     * @throws DomaNullPointerException
+     *             いずれかの引数が {@code null} の場合
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    default <R> R applyLong(LongWrapper wrapper, LongType jdbcType)
+            throws SQLException {
+        return apply(wrapper, jdbcType);
+    }
+
+    /**
+     * {@code double} 型の値に対してこの処理を適用します。
+     * <p>
+     * 実装はボクシングを避けて値を扱うためにこのメソッドをオーバーライドできます。デフォルトの実装は
+     * {@link #apply(Wrapper, JdbcType)} に処理を委譲します。
+     * 
+     * @param <R>
+     *            戻り値の型
+     * @param wrapper
+     *            ラッパー
+     * @param jdbcType
+     *            JDBC型
+     * @return マッピング処理の結果
+     * @throws DomaNullPointerException
+     *             いずれかの引数が {@code null} の場合
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    default <R> R applyDouble(DoubleWrapper wrapper, DoubleType jdbcType)
+            throws SQLException {
+        return apply(wrapper, jdbcType);
+    }
 }
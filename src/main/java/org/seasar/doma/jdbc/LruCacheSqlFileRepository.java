@@ -0,0 +1,240 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.internal.util.ResourceUtil;
+import org.seasar.doma.jdbc.dialect.Dialect;
+
+/**
+ * SQLの解析結果を上限の重みまでキャッシュする {@link SqlFileRepository} の実装です。
+ * <p>
+ * SQLファイルの重みは、SQLの文字数と解析結果のノードの数の合計です。
+ * 重みの合計が上限を超えると、最も長い間使用されていないSQLファイルから破棄します。
+ * <p>
+ * リロードを有効にすると、キャッシュしたSQLファイルが変更された場合に読み込み直します。
+ * 変更を検知できるのは、ファイルシステム上にあるSQLファイルに限られます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class LruCacheSqlFileRepository extends AbstractSqlFileRepository {
+
+    /** 重みの合計の上限 */
+    protected final long maxWeight;
+
+    /** リロードが有効な場合 {@code true} */
+    protected final boolean reloadEnabled;
+
+    /** SQLのパスをキー、キャッシュのエントリを値とするアクセス順のマップです。 */
+    protected final LinkedHashMap<String, Entry> entryMap = new LinkedHashMap<String, Entry>(
+            16, 0.75f, true);
+
+    /** 重みの合計 */
+    protected long weight;
+
+    protected final LongAdder hitCount = new LongAdder();
+
+    protected final LongAdder missCount = new LongAdder();
+
+    protected final LongAdder reloadCount = new LongAdder();
+
+    protected final LongAdder evictionCount = new LongAdder();
+
+    protected final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param maxWeight
+     *            重みの合計の上限
+     * @throws DomaIllegalArgumentException
+     *             {@code maxWeight} が {@code 0} 以下の場合
+     */
+    public LruCacheSqlFileRepository(long maxWeight) {
+        this(maxWeight, false);
+    }
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param maxWeight
+     *            重みの合計の上限
+     * @param reloadEnabled
+     *            変更されたSQLファイルを読み込み直す場合 {@code true}
+     * @throws DomaIllegalArgumentException
+     *             {@code maxWeight} が {@code 0} 以下の場合
+     */
+    public LruCacheSqlFileRepository(long maxWeight, boolean reloadEnabled) {
+        if (maxWeight <= 0) {
+            throw new DomaIllegalArgumentException("maxWeight", "maxWeight <= 0");
+        }
+        this.maxWeight = maxWeight;
+        this.reloadEnabled = reloadEnabled;
+    }
+
+    @Override
+    protected SqlFile getSqlFileWithCacheControl(Method method, String path,
+            Dialect dialect) {
+        Entry entry;
+        synchronized (entryMap) {
+            entry = entryMap.get(path);
+        }
+        if (entry == null) {
+            missCount.increment();
+        } else if (reloadEnabled
+                && entry.lastModified != getLastModified(entry.sqlFile
+                        .getPath())) {
+            reloadCount.increment();
+        } else {
+            hitCount.increment();
+            return entry.sqlFile;
+        }
+        long start = System.nanoTime();
+        SqlFile sqlFile = createSqlFile(method, path, dialect);
+        long lastModified = reloadEnabled ? getLastModified(sqlFile.getPath())
+                : 0L;
+        totalLoadTime.add(System.nanoTime() - start);
+        put(path, new Entry(sqlFile, calculateWeight(sqlFile), lastModified));
+        return sqlFile;
+    }
+
+    /**
+     * エントリをキャッシュし、重みの合計が上限を超えた分だけ古いエントリを破棄します。
+     * 
+     * @param path
+     *            SQLのパス
+     * @param entry
+     *            エントリ
+     */
+    protected void put(String path, Entry entry) {
+        synchronized (entryMap) {
+            Entry old = entryMap.remove(path);
+            if (old != null) {
+                weight -= old.weight;
+            }
+            if (entry.weight > maxWeight) {
+                return;
+            }
+            entryMap.put(path, entry);
+            weight += entry.weight;
+            Iterator<Entry> it = entryMap.values().iterator();
+            while (weight > maxWeight && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                weight -= eldest.weight;
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * SQLファイルの重みを計算します。
+     * 
+     * @param sqlFile
+     *            SQLファイル
+     * @return 重み
+     */
+    protected long calculateWeight(SqlFile sqlFile) {
+        return sqlFile.getSql().length() + countNodes(sqlFile.getSqlNode());
+    }
+
+    protected long countNodes(SqlNode node) {
+        long count = 1;
+        for (SqlNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * SQLファイルの最終更新時刻を返します。
+     * 
+     * @param path
+     *            SQLファイルのパス
+     * @return 最終更新時刻、ファイルシステム上にない場合 {@code 0}
+     */
+    protected long getLastModified(String path) {
+        URL url = ResourceUtil.getResource(path);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return 0L;
+        }
+        try {
+            return new File(url.toURI()).lastModified();
+        } catch (URISyntaxException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * リロードが有効な場合、変更を検知できるように解析済みのSQLファイルは使用しません。
+     */
+    @Override
+    protected boolean isCompiledSqlFileUsed() {
+        return !reloadEnabled;
+    }
+
+    @Override
+    public void clearCache() {
+        synchronized (entryMap) {
+            entryMap.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * キャッシュの統計情報を返します。
+     * 
+     * @return 統計情報
+     */
+    public SqlFileCacheStatistics getStatistics() {
+        int size;
+        long currentWeight;
+        synchronized (entryMap) {
+            size = entryMap.size();
+            currentWeight = weight;
+        }
+        return new SqlFileCacheStatistics(hitCount.sum(), missCount.sum(),
+                reloadCount.sum(), evictionCount.sum(), totalLoadTime.sum(),
+                size, currentWeight, maxWeight);
+    }
+
+    /**
+     * キャッシュのエントリです。
+     */
+    protected static class Entry {
+
+        protected final SqlFile sqlFile;
+
+        protected final long weight;
+
+        protected final long lastModified;
+
+        protected Entry(SqlFile sqlFile, long weight, long lastModified) {
+            this.sqlFile = sqlFile;
+            this.weight = weight;
+            this.lastModified = lastModified;
+        }
+    }
+}
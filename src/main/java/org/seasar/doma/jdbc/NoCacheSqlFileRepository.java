@@ -30,7 +30,15 @@ public class NoCacheSqlFileRepository extends AbstractSqlFileRepository {
     @Override
     protected SqlFile getSqlFileWithCacheControl(Method method, String path,
             Dialect dialect) {
-        return createSqlFile(path, dialect);
+        return createSqlFile(method, path, dialect);
+    }
+
+    /**
+     * 変更されたSQLファイルを読み込めるように、解析済みのSQLファイルは使用しません。
+     */
+    @Override
+    protected boolean isCompiledSqlFileUsed() {
+        return false;
     }
 
 }
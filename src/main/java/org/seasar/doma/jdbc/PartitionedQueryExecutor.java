@@ -0,0 +1,260 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.jdbc.command.PrefetchingIterator;
+
+/**
+ * 検索を分割キーの範囲で分割し、並列に実行するエグゼキュータです。
+ * <p>
+ * 範囲は並列度と同じ数に分割され、分割された範囲は
+ * {@link SelectOptions#partition(String, long, long)} を指定した {@link SelectOptions}
+ * として検索を行う関数に渡されます。関数は {@link Config#getExecutor()}
+ * のスレッドで実行されるため、それぞれの検索は {@link Config#getDataSource()}
+ * から取得される別々のコネクションで実行されます。ローカルトランザクションを使用する場合、
+ * トランザクションは関数の中で開始してください。
+ * 
+ * <h3>例</h3>
+ * 
+ * <pre>
+ * PartitionedQueryExecutor executor = PartitionedQueryExecutor.newInstance(
+ *         config, &quot;e.id&quot;, 1, 10000001).parallelism(8);
+ * try (Stream&lt;Emp&gt; stream = executor.stream(options -&gt; dao.selectAll(options))) {
+ *     ...
+ * }
+ * </pre>
+ * 
+ * このインスタンスはスレッドセーフではありません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PartitionedQueryExecutor {
+
+    /** {@link #stream(Function)} が先読みする要素の数の既定値 */
+    protected static final int DEFAULT_BUFFER_SIZE = 256;
+
+    protected final Config config;
+
+    protected final String partitionKey;
+
+    protected final long lower;
+
+    protected final long upper;
+
+    protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+    protected int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    protected PartitionedQueryExecutor(Config config, String partitionKey,
+            long lower, long upper) {
+        this.config = config;
+        this.partitionKey = partitionKey;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * ファクトリメソッドです。
+     * 
+     * @param config
+     *            設定
+     * @param partitionKey
+     *            範囲で分割する列を表す式
+     * @param lower
+     *            範囲の下限（この値を含む）
+     * @param upper
+     *            範囲の上限（この値を含まない）
+     * @return エグゼキュータ
+     * @throws DomaNullPointerException
+     *             {@code config} もしくは {@code partitionKey} が {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code lower} が {@code upper} 以上の場合
+     */
+    public static PartitionedQueryExecutor newInstance(Config config,
+            String partitionKey, long lower, long upper) {
+        if (config == null) {
+            throw new DomaNullPointerException("config");
+        }
+        if (partitionKey == null) {
+            throw new DomaNullPointerException("partitionKey");
+        }
+        if (lower >= upper) {
+            throw new DomaIllegalArgumentException("upper", "lower >= upper");
+        }
+        return new PartitionedQueryExecutor(config, partitionKey, lower, upper);
+    }
+
+    /**
+     * 並列度を設定します。
+     * <p>
+     * 範囲はこの数に分割されます。ただし、範囲に含まれる値の数より多くは分割されません。
+     * 
+     * @param parallelism
+     *            並列度
+     * @return このインスタンス
+     * @throws DomaIllegalArgumentException
+     *             {@code parallelism} が1未満の場合
+     */
+    public PartitionedQueryExecutor parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new DomaIllegalArgumentException("parallelism",
+                    "parallelism < 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * {@link #stream(Function)} が先読みする要素の数を設定します。
+     * 
+     * @param bufferSize
+     *            先読みする要素の数
+     * @return このインスタンス
+     * @throws DomaIllegalArgumentException
+     *             {@code bufferSize} が1未満の場合
+     */
+    public PartitionedQueryExecutor bufferSize(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new DomaIllegalArgumentException("bufferSize",
+                    "bufferSize < 1");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 分割された範囲ごとに検索を並列に実行し、その結果をまとめたストリームを返します。
+     * <p>
+     * 要素は範囲ごとの検索から取得された順に返されるため、範囲をまたいだ順序は保証されません。
+     * 返されたストリームは、使用後に必ずクローズしてください。クローズすると実行中の検索は中止されます。
+     * 
+     * @param <TARGET>
+     *            要素の型
+     * @param query
+     *            範囲を指定したオプションを受け取り、ストリームを返す検索
+     * @return 結果をまとめたストリーム
+     * @throws DomaNullPointerException
+     *             {@code query} が {@code null} の場合
+     */
+    public <TARGET> Stream<TARGET> stream(
+            Function<SelectOptions, Stream<TARGET>> query) {
+        if (query == null) {
+            throw new DomaNullPointerException("query");
+        }
+        List<Consumer<Consumer<TARGET>>> producers = createPartitions()
+                .stream().map(options -> createProducer(query, options))
+                .collect(Collectors.toList());
+        PrefetchingIterator<TARGET> iterator = new PrefetchingIterator<>(
+                producers, bufferSize, config.getExecutor());
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, 0), false)
+                .onClose(iterator::close);
+    }
+
+    protected <TARGET> Consumer<Consumer<TARGET>> createProducer(
+            Function<SelectOptions, Stream<TARGET>> query,
+            SelectOptions options) {
+        return sink -> {
+            try (Stream<TARGET> stream = query.apply(options)) {
+                stream.forEach(sink);
+            }
+        };
+    }
+
+    /**
+     * 分割された範囲ごとに検索を並列に実行し、それぞれの結果を範囲の順に格納したリストを返します。
+     * <p>
+     * 範囲ごとの結果の処理も関数の中で行うことができます。このメソッドはすべての検索が終了するまで待機します。
+     * いずれかの検索が例外をスローした場合、すべての検索の終了を待ってからその例外をスローします。
+     * 
+     * @param <RESULT>
+     *            範囲ごとの結果の型
+     * @param query
+     *            範囲を指定したオプションを受け取り、結果を返す検索
+     * @return 範囲ごとの結果のリスト
+     * @throws DomaNullPointerException
+     *             {@code query} が {@code null} の場合
+     */
+    public <RESULT> List<RESULT> execute(Function<SelectOptions, RESULT> query) {
+        if (query == null) {
+            throw new DomaNullPointerException("query");
+        }
+        Executor executor = config.getExecutor();
+        List<CompletableFuture<RESULT>> futures = createPartitions()
+                .stream()
+                .map(options -> CompletableFuture.supplyAsync(
+                        () -> query.apply(options), executor))
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(
+                    futures.toArray(new CompletableFuture<?>[futures.size()]))
+                    .join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 範囲を分割し、分割された範囲を指定したオプションのリストを返します。
+     * 
+     * @return オプションのリスト
+     */
+    protected List<SelectOptions> createPartitions() {
+        long size = upper - lower;
+        if (size <= 0) {
+            // overflow
+            size = Long.MAX_VALUE;
+        }
+        int count = (int) Math.min(parallelism, size);
+        long step = size / count;
+        long remainder = size % count;
+        List<SelectOptions> partitions = new ArrayList<>(count);
+        long from = lower;
+        for (int i = 0; i < count; i++) {
+            long to = i == count - 1 ? upper : from + step
+                    + (i < remainder ? 1 : 0);
+            partitions.add(SelectOptions.get().partition(partitionKey, from,
+                    to));
+            from = to;
+        }
+        return Collections.unmodifiableList(partitions);
+    }
+}
@@ -17,6 +17,7 @@ package org.seasar.doma.jdbc;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 
@@ -40,4 +41,17 @@ public class PreparedSql extends AbstractSql<InParameter<?>> {
                 commenter);
     }
 
+    /**
+     * フォーマット済みSQLを遅延して組み立てるインスタンスを構築します。
+     * 
+     * @since 2.20.0
+     */
+    public PreparedSql(SqlKind kind, CharSequence rawSql,
+            Supplier<? extends CharSequence> formattedSqlSupplier,
+            String sqlFilePath, List<? extends InParameter<?>> parameters,
+            SqlLogType sqlLogType, Function<String, String> commenter) {
+        super(kind, rawSql, formattedSqlSupplier, sqlFilePath, parameters,
+                sqlLogType, commenter);
+    }
+
 }
@@ -44,9 +44,24 @@ public class SelectOptions implements Serializable {
     /** ページングのリミット */
     protected long limit = -1;
 
+    /** キーセットページングの基点となる行のキー */
+    protected Object[] keys;
+
+    /** 範囲で分割する列を表す式 */
+    protected String partitionKey;
+
+    /** 分割された範囲の下限（この値を含む） */
+    protected long partitionLower;
+
+    /** 分割された範囲の上限（この値を含まない） */
+    protected long partitionUpper;
+
     /** 集計するかどうか */
     protected boolean count;
 
+    /** 集計をウィンドウ関数で検索結果に含めるかどうか */
+    protected boolean countWithWindowFunction;
+
     /** 集計サイズ */
     protected long countSize = -1;
 
@@ -196,6 +211,86 @@ public class SelectOptions implements Serializable {
         return this;
     }
 
+    /**
+     * 指定されたキーを持つ行より後の行を検索するキーセットページング用のSQLへ変換することを示します。
+     * <p>
+     * キーには、前のページの最後の行が持つ値をorder by句の項目と同じ順序で指定します。
+     * キーはwhere句の条件に変換されるため、 {@link #offset(int)} とは異なり読み飛ばす行をデータベースが走査する必要がありません。
+     * 検索する行数は {@link #limit(int)} で指定します。
+     * <p>
+     * order by句の項目は {@code NULL} を含まない列でなければいけません。 {@code NULL}
+     * を含む行は比較の条件に一致しないため、ページの境界で読み飛ばされます。
+     * {@code nulls first} や {@code nulls last} を指定したorder by句は変換できません。
+     * 
+     * <h3>例</h3>
+     * 
+     * <pre>
+     * SelectOptions options = SelectOptions.get().after(lastSalary, lastId).limit(50);
+     * </pre>
+     * 
+     * @param keys
+     *            前のページの最後の行のキー
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions after(Object... keys) {
+        if (keys == null) {
+            throw new DomaNullPointerException("keys");
+        }
+        if (keys.length == 0) {
+            throw new DomaIllegalArgumentException("keys", "keys.length == 0");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new DomaIllegalArgumentException("keys", "keys[" + i
+                        + "] == null");
+            }
+        }
+        this.keys = keys.clone();
+        return this;
+    }
+
+    /**
+     * 指定された列の値が範囲に含まれる行だけを検索するSQLへ変換することを示します。
+     * <p>
+     * 列の値が {@code lower} 以上かつ {@code upper} 未満であるという条件がwhere句（group
+     * by句がある場合はhaving句）に追加されます。 {@code partitionKey} はSQLにそのまま埋め込まれるため、
+     * 信頼できない入力を指定してはいけません。
+     * <p>
+     * 通常は {@link PartitionedQueryExecutor} が範囲を分割して指定します。
+     * 
+     * <h3>例</h3>
+     * 
+     * <pre>
+     * SelectOptions options = SelectOptions.get().partition(&quot;e.id&quot;, 1, 10001);
+     * </pre>
+     * 
+     * @param partitionKey
+     *            範囲で分割する列を表す式
+     * @param lower
+     *            下限（この値を含む）
+     * @param upper
+     *            上限（この値を含まない）
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions partition(String partitionKey, long lower, long upper) {
+        if (partitionKey == null) {
+            throw new DomaNullPointerException("partitionKey");
+        }
+        if (partitionKey.trim().isEmpty()) {
+            throw new DomaIllegalArgumentException("partitionKey",
+                    "partitionKey.trim().isEmpty()");
+        }
+        if (lower >= upper) {
+            throw new DomaIllegalArgumentException("upper", "lower >= upper");
+        }
+        this.partitionKey = partitionKey;
+        this.partitionLower = lower;
+        this.partitionUpper = upper;
+        return this;
+    }
+
     /**
      * 集計することを示します。
      * 
@@ -206,6 +301,30 @@ public class SelectOptions implements Serializable {
         return this;
     }
 
+    /**
+     * ウィンドウ関数を使って集計することを示します。
+     * <p>
+     * {@link #count()} は検索とは別に集計用のSQLを発行しますが、このメソッドを使うと
+     * {@code count(*) over()} で計算された集計が検索結果の列として返されるため、SQLの発行は1回で済みます。
+     * 集計の列はエンティティや {@code Map} には含まれません。
+     * <p>
+     * 次の場合は {@link #count()} と同様に集計用のSQLを発行します。
+     * <ul>
+     * <li>ダイアレクトがウィンドウ関数をサポートしていない場合</li>
+     * <li>{@link #after(Object...)} を指定した場合</li>
+     * <li>悲観的排他制御を指定した場合</li>
+     * <li>オフセットを指定して検索した結果が0件の場合</li>
+     * </ul>
+     * 
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions countWithWindowFunction() {
+        this.count = true;
+        this.countWithWindowFunction = true;
+        return this;
+    }
+
     /**
      * 集計を返します。
      * <p>
@@ -15,6 +15,8 @@
  */
 package org.seasar.doma.jdbc;
 
+import org.seasar.doma.jdbc.dialect.Dialect;
+
 /**
  * {@link SelectOptions} へのアクセッサーです。
  * <p>
@@ -36,6 +38,37 @@ public class SelectOptionsAccessor {
         return options.count;
     }
 
+    /**
+     * オプションからウィンドウ関数を使って集計するかどうかを返します。
+     * 
+     * @param options
+     *            オプション
+     * @return ウィンドウ関数を使って集計するかどうか
+     * @since 2.20.0
+     */
+    public static boolean isCountWithWindowFunction(SelectOptions options) {
+        return options.countWithWindowFunction;
+    }
+
+    /**
+     * 集計をウィンドウ関数で計算し、検索結果の列に含めるかどうかを返します。
+     * <p>
+     * 悲観的排他制御を指定した場合、ウィンドウ関数と {@code FOR UPDATE} は併用できないため {@code false} を返します。
+     * 
+     * @param options
+     *            オプション
+     * @param dialect
+     *            ダイアレクト
+     * @return 検索結果の列に含める場合 {@code true}
+     * @since 2.20.0
+     */
+    public static boolean isCountColumnIncluded(SelectOptions options,
+            Dialect dialect) {
+        return options.count && options.countWithWindowFunction
+                && options.keys == null && options.forUpdateType == null
+                && dialect.supportsWindowFunction();
+    }
+
     /**
      * オプションに集計サイズを設定します。
      * 
@@ -92,6 +125,54 @@ public class SelectOptionsAccessor {
         return options.offset;
     }
 
+    /**
+     * オプションからキーセットページングのキーを返します。
+     * 
+     * @param options
+     *            オプション
+     * @return キー、キーセットページングを行わない場合 {@code null}
+     * @since 2.20.0
+     */
+    public static Object[] getKeys(SelectOptions options) {
+        return options.keys;
+    }
+
+    /**
+     * オプションから範囲で分割する列を表す式を返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 範囲で分割する列を表す式、範囲で分割しない場合 {@code null}
+     * @since 2.20.0
+     */
+    public static String getPartitionKey(SelectOptions options) {
+        return options.partitionKey;
+    }
+
+    /**
+     * オプションから分割された範囲の下限を返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 下限（この値を含む）
+     * @since 2.20.0
+     */
+    public static long getPartitionLower(SelectOptions options) {
+        return options.partitionLower;
+    }
+
+    /**
+     * オプションから分割された範囲の上限を返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 上限（この値を含まない）
+     * @since 2.20.0
+     */
+    public static long getPartitionUpper(SelectOptions options) {
+        return options.partitionUpper;
+    }
+
     /**
      * オプションからページングのリミットを返します。
      * 
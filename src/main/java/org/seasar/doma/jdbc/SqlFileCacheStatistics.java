@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+/**
+ * {@link LruCacheSqlFileRepository} の統計情報です。
+ * <p>
+ * 時間の単位はナノ秒です。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class SqlFileCacheStatistics {
+
+    protected final long hitCount;
+
+    protected final long missCount;
+
+    protected final long reloadCount;
+
+    protected final long evictionCount;
+
+    protected final long totalLoadTime;
+
+    protected final int size;
+
+    protected final long weight;
+
+    protected final long maxWeight;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param hitCount
+     *            キャッシュが使われた回数
+     * @param missCount
+     *            キャッシュされていなかった回数
+     * @param reloadCount
+     *            読み込み直した回数
+     * @param evictionCount
+     *            破棄した回数
+     * @param totalLoadTime
+     *            読み込みと解析にかかった時間の合計
+     * @param size
+     *            キャッシュされているSQLファイルの数
+     * @param weight
+     *            重みの合計
+     * @param maxWeight
+     *            重みの合計の上限
+     */
+    public SqlFileCacheStatistics(long hitCount, long missCount,
+            long reloadCount, long evictionCount, long totalLoadTime,
+            int size, long weight, long maxWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.reloadCount = reloadCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadTime = totalLoadTime;
+        this.size = size;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * キャッシュが使われた回数を返します。
+     * 
+     * @return キャッシュが使われた回数
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * キャッシュされていなかったためにSQLファイルを読み込んだ回数を返します。
+     * 
+     * @return キャッシュされていなかった回数
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 変更されたSQLファイルを読み込み直した回数を返します。
+     * 
+     * @return 読み込み直した回数
+     */
+    public long getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * 重みの上限を超えたためにSQLファイルを破棄した回数を返します。
+     * 
+     * @return 破棄した回数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * SQLファイルの読み込みと解析にかかった時間の合計を返します。
+     * 
+     * @return 時間の合計
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * キャッシュされているSQLファイルの数を返します。
+     * 
+     * @return SQLファイルの数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * キャッシュされているSQLファイルの重みの合計を返します。
+     * 
+     * @return 重みの合計
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * 重みの合計の上限を返します。
+     * 
+     * @return 重みの合計の上限
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlFileCacheStatistics [hitCount=" + hitCount + ", missCount="
+                + missCount + ", reloadCount=" + reloadCount
+                + ", evictionCount=" + evictionCount + ", totalLoadTime="
+                + totalLoadTime + ", size=" + size + ", weight=" + weight
+                + ", maxWeight=" + maxWeight + "]";
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.seasar.doma.jdbc.dialect.Dialect;
+
+/**
+ * {@link GreedyCacheSqlFileRepository#warmUp(Dialect, Class...)} の結果です。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class SqlFileWarmUpResult {
+
+    protected final Map<String, Long> loadTimes;
+
+    protected final long elapsedTime;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param loadTimes
+     *            SQLファイルのパスをキー、読み込みと解析にかかった時間（ナノ秒）を値とするマップ
+     * @param elapsedTime
+     *            ウォームアップ全体にかかった時間（ナノ秒）
+     */
+    public SqlFileWarmUpResult(Map<String, Long> loadTimes, long elapsedTime) {
+        this.loadTimes = Collections.unmodifiableMap(loadTimes);
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * SQLファイルのパスをキー、読み込みと解析にかかった時間（ナノ秒）を値とするマップを返します。
+     * 
+     * @return SQLファイルごとの時間
+     */
+    public Map<String, Long> getLoadTimes() {
+        return loadTimes;
+    }
+
+    /**
+     * 読み込んだSQLファイルの数を返します。
+     * 
+     * @return SQLファイルの数
+     */
+    public int getCount() {
+        return loadTimes.size();
+    }
+
+    /**
+     * ウォームアップ全体にかかった時間（ナノ秒）を返します。
+     * 
+     * @return 経過時間
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * SQLファイルごとの時間の合計（ナノ秒）を返します。
+     * 
+     * @return 時間の合計
+     */
+    public long getTotalLoadTime() {
+        long total = 0;
+        for (long loadTime : loadTimes.values()) {
+            total += loadTime;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlFileWarmUpResult [count=" + getCount() + ", elapsedTime="
+                + elapsedTime + ", totalLoadTime=" + getTotalLoadTime() + "]";
+    }
+}
@@ -23,7 +23,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
-import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.jdbc.SqlNode;
 
 /**
@@ -103,8 +102,7 @@ class BatchBuildingHelper {
                 break;
             }
         }
-        SqlParser parser = new SqlParser(buf.toString());
-        return parser.parse();
+        return SqlNodeCache.get(buf.toString());
     }
 
     private static class Item {
@@ -21,7 +21,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.jdbc.SqlNode;
 
 /**
@@ -90,8 +89,7 @@ class BuildingHelper {
                 break;
             }
         }
-        SqlParser parser = new SqlParser(buf.toString());
-        return parser.parse();
+        return SqlNodeCache.get(buf.toString());
     }
 
     private static class Item {
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.builder;
+
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.internal.util.StripedLruCache;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * ビルダーが組み立てたSQLのテンプレートを解析した結果のキャッシュです。
+ * <p>
+ * 同じ形のSQLを繰り返し組み立てる場合に、テンプレートの解析を省略するために使用します。 キャッシュの要素数が
+ * {@link #MAX_SIZE} を超えると、最も長い間参照されていないテンプレートが破棄されます。
+ * キャッシュはロックを分割しているため、異なるテンプレートを扱うスレッド同士はほとんど競合しません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+final class SqlNodeCache {
+
+    /** キャッシュする要素数の上限 */
+    static final int MAX_SIZE = 1024;
+
+    private static final StripedLruCache<String, SqlNode> cache = new StripedLruCache<>(
+            MAX_SIZE);
+
+    private SqlNodeCache() {
+    }
+
+    static SqlNode get(String template) {
+        SqlNode sqlNode = cache.get(template);
+        if (sqlNode != null) {
+            return sqlNode;
+        }
+        SqlParser parser = new SqlParser(template);
+        sqlNode = parser.parse();
+        SqlNode current = cache.putIfAbsent(template, sqlNode);
+        return current != null ? current : sqlNode;
+    }
+
+    static int size() {
+        return cache.size();
+    }
+
+    static void clear() {
+        cache.clear();
+    }
+}
@@ -15,13 +15,21 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
 import java.util.List;
 
+import org.seasar.doma.internal.jdbc.util.JdbcUtil;
+import org.seasar.doma.jdbc.BatchSqlExecutionException;
 import org.seasar.doma.jdbc.BatchUniqueConstraintException;
+import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.dialect.Dialect;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.jdbc.query.BatchInsertQuery;
 
 /**
@@ -34,6 +42,109 @@ public class BatchInsertCommand extends BatchModifyCommand<BatchInsertQuery> {
         super(query);
     }
 
+    @Override
+    public int[] execute() {
+        List<PreparedSql> multiRowSqls = query.getMultiRowSqls();
+        if (!query.isExecutable() || multiRowSqls.isEmpty()) {
+            return super.execute();
+        }
+        JdbcLogger logger = query.getConfig().getJdbcLogger();
+        Connection connection = JdbcUtil.getConnection(query.getConfig()
+                .getDataSource());
+        try {
+            return executeMultiRow(connection, multiRowSqls);
+        } finally {
+            JdbcUtil.close(connection, logger);
+        }
+    }
+
+    protected int[] executeMultiRow(Connection connection,
+            List<PreparedSql> multiRowSqls) {
+        JdbcLogger logger = query.getConfig().getJdbcLogger();
+        int rowSize = query.getMultiRowSize();
+        int[] updatedRows = new int[query.getSqls().size()];
+        int pos = 0;
+        PreparedStatement preparedStatement = null;
+        String rawSql = null;
+        try {
+            for (PreparedSql sql : multiRowSqls) {
+                int size = Math.min(rowSize, updatedRows.length - pos);
+                try {
+                    if (!sql.getRawSql().equals(rawSql)) {
+                        JdbcUtil.close(preparedStatement, logger);
+                        preparedStatement = null;
+                        preparedStatement = prepareMultiRowStatement(
+                                connection, sql);
+                        setupOptions(preparedStatement);
+                        rawSql = sql.getRawSql();
+                    }
+                    log(sql);
+                    bindParameters(preparedStatement, sql);
+                    int rows = executeMultiRowUpdate(preparedStatement, sql,
+                            pos, size);
+                    Arrays.fill(updatedRows, pos, pos + size,
+                            rows == size ? 1 : Statement.SUCCESS_NO_INFO);
+                } catch (SQLException e) {
+                    Dialect dialect = query.getConfig().getDialect();
+                    throw new BatchSqlExecutionException(query.getConfig()
+                            .getExceptionSqlLogType(), sql, e,
+                            dialect.getRootCause(e));
+                }
+                pos += size;
+            }
+        } finally {
+            JdbcUtil.close(preparedStatement, logger);
+        }
+        return updatedRows;
+    }
+
+    protected PreparedStatement prepareMultiRowStatement(
+            Connection connection, PreparedSql sql) {
+        if (query.getMultiRowGeneratedKeysType() == MultiRowInsertGeneratedKeysType.GENERATED_KEYS) {
+            return prepareStatement(connection, sql);
+        }
+        return JdbcUtil.prepareStatement(connection, sql);
+    }
+
+    protected int executeMultiRowUpdate(PreparedStatement preparedStatement,
+            PreparedSql sql, int index, int size) throws SQLException {
+        switch (query.getMultiRowGeneratedKeysType()) {
+        case RETURNING:
+            return executeReturning(preparedStatement, sql, index, size);
+        case GENERATED_KEYS:
+            int rows = executeUpdate(preparedStatement, sql);
+            generateIds(preparedStatement.getGeneratedKeys(), index, size);
+            return rows;
+        default:
+            return executeUpdate(preparedStatement, sql);
+        }
+    }
+
+    protected int executeReturning(PreparedStatement preparedStatement,
+            PreparedSql sql, int index, int size) throws SQLException {
+        ResultSet resultSet;
+        try {
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            Dialect dialect = query.getConfig().getDialect();
+            if (dialect.isUniqueConstraintViolated(e)) {
+                throw new BatchUniqueConstraintException(query.getConfig()
+                        .getExceptionSqlLogType(), sql, e);
+            }
+            throw e;
+        }
+        return generateIds(resultSet, index, size);
+    }
+
+    protected int generateIds(ResultSet resultSet, int index, int size)
+            throws SQLException {
+        try {
+            return query.generateIds(resultSet, index, size);
+        } finally {
+            JdbcUtil.close(resultSet, query.getConfig().getJdbcLogger());
+        }
+    }
+
     @Override
     protected int[] executeInternal(PreparedStatement preparedStatement,
             List<PreparedSql> sqls) throws SQLException {
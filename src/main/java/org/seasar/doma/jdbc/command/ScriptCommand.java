@@ -17,22 +17,27 @@ package org.seasar.doma.jdbc.command;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import org.seasar.doma.internal.jdbc.command.ScriptReader;
 import org.seasar.doma.internal.jdbc.util.JdbcUtil;
 import org.seasar.doma.jdbc.AbstractSql;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.ScriptException;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.SqlParameter;
 import org.seasar.doma.jdbc.query.ScriptQuery;
+import org.seasar.doma.message.Message;
 
 /**
  * @author taedium
@@ -56,28 +61,10 @@ public class ScriptCommand implements Command<Void> {
         try {
             ScriptReader reader = new ScriptReader(query);
             try {
-                for (String script = reader.readSql(); script != null; script = reader
-                        .readSql()) {
-                    ScriptSql sql = new ScriptSql(script,
-                            query.getScriptFilePath(), query.getSqlLogType(),
-                            query::comment);
-                    Statement statement = JdbcUtil.createStatement(connection);
-                    try {
-                        log(sql);
-                        setupOptions(statement);
-                        statement.execute(script);
-                    } catch (Exception e) {
-                        if (query.getHaltOnError()) {
-                            throw new ScriptException(e, sql,
-                                    reader.getLineNumber());
-                        }
-                        if (savedScriptException == null) {
-                            savedScriptException = new ScriptException(e, sql,
-                                    reader.getLineNumber());
-                        }
-                    } finally {
-                        JdbcUtil.close(statement, config.getJdbcLogger());
-                    }
+                if (query.getBatchSize() > 1) {
+                    executeInBatches(connection, reader);
+                } else {
+                    executeOneByOne(connection, reader);
                 }
             } finally {
                 reader.close();
@@ -89,6 +76,179 @@ public class ScriptCommand implements Command<Void> {
         return null;
     }
 
+    protected void executeOneByOne(Connection connection, ScriptReader reader) {
+        for (String script = reader.readSql(); script != null; script = reader
+                .readSql()) {
+            ScriptSql sql = createSql(script);
+            Statement statement = JdbcUtil.createStatement(connection);
+            try {
+                log(sql);
+                setupOptions(statement);
+                statement.execute(script);
+            } catch (Exception e) {
+                handleException(e, sql, reader.getLineNumber());
+            } finally {
+                JdbcUtil.close(statement, query.getConfig().getJdbcLogger());
+            }
+        }
+    }
+
+    /**
+     * 1つの {@link Statement} を使いまわし、連続するDML文をバッチで実行します。
+     * <p>
+     * DDLやSQLのブロックはバッチの区切りとして扱われ、それまでにバッチに追加されたSQLを実行した後に単独で実行されます。
+     * 
+     * @param connection
+     *            コネクション
+     * @param reader
+     *            スクリプトのリーダー
+     * @since 2.20.0
+     */
+    protected void executeInBatches(Connection connection, ScriptReader reader) {
+        int batchSize = query.getBatchSize();
+        List<ScriptSql> batchSqls = new ArrayList<>(batchSize);
+        List<Integer> batchLineNumbers = new ArrayList<>(batchSize);
+        Statement statement = JdbcUtil.createStatement(connection);
+        try {
+            setupOptions(statement);
+            for (String script = reader.readSql(); script != null; script = reader
+                    .readSql()) {
+                ScriptSql sql = createSql(script);
+                if (isBatchable(reader)) {
+                    try {
+                        log(sql);
+                        statement.addBatch(script);
+                        batchSqls.add(sql);
+                        batchLineNumbers.add(reader.getLineNumber());
+                    } catch (Exception e) {
+                        handleException(e, sql, reader.getLineNumber());
+                    }
+                    if (batchSqls.size() == batchSize) {
+                        executeBatch(statement, batchSqls, batchLineNumbers);
+                    }
+                } else {
+                    executeBatch(statement, batchSqls, batchLineNumbers);
+                    try {
+                        log(sql);
+                        statement.execute(script);
+                    } catch (Exception e) {
+                        handleException(e, sql, reader.getLineNumber());
+                    }
+                }
+            }
+            executeBatch(statement, batchSqls, batchLineNumbers);
+        } catch (SQLException e) {
+            throw new JdbcException(Message.DOMA2008, e, e);
+        } finally {
+            JdbcUtil.close(statement, query.getConfig().getJdbcLogger());
+        }
+    }
+
+    /**
+     * バッチに追加されたSQLを実行します。
+     * <p>
+     * 失敗したSQLは {@link BatchUpdateException#getUpdateCounts()} から特定し、その行番号とともに報告します。
+     * 最初に失敗したSQLで処理を止めるドライバもあるため、ドライバが実行しなかった後続のSQLは1件ずつ実行します。
+     * 
+     * @param statement
+     *            ステートメント
+     * @param batchSqls
+     *            バッチに追加されたSQL
+     * @param batchLineNumbers
+     *            バッチに追加されたSQLの行番号
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    protected void executeBatch(Statement statement, List<ScriptSql> batchSqls,
+            List<Integer> batchLineNumbers) throws SQLException {
+        if (batchSqls.isEmpty()) {
+            return;
+        }
+        try {
+            statement.executeBatch();
+        } catch (Exception e) {
+            int size = batchSqls.size();
+            int index = getFailedIndex(e, size);
+            try {
+                statement.clearBatch();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            handleException(e, batchSqls.get(index),
+                    batchLineNumbers.get(index));
+            int[] updateCounts = e instanceof BatchUpdateException ? ((BatchUpdateException) e)
+                    .getUpdateCounts() : null;
+            int executedSize = index + 1;
+            if (updateCounts != null) {
+                executedSize = Math.max(executedSize,
+                        Math.min(updateCounts.length, size));
+                for (int i = index + 1; i < executedSize; i++) {
+                    if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                        handleException(e, batchSqls.get(i),
+                                batchLineNumbers.get(i));
+                    }
+                }
+            }
+            for (int i = executedSize; i < size; i++) {
+                ScriptSql sql = batchSqls.get(i);
+                try {
+                    statement.execute(sql.getRawSql());
+                } catch (Exception e2) {
+                    handleException(e2, sql, batchLineNumbers.get(i));
+                }
+            }
+        } finally {
+            batchSqls.clear();
+            batchLineNumbers.clear();
+        }
+    }
+
+    protected int getFailedIndex(Exception e, int size) {
+        if (e instanceof BatchUpdateException) {
+            int[] updateCounts = ((BatchUpdateException) e).getUpdateCounts();
+            if (updateCounts != null) {
+                for (int i = 0; i < updateCounts.length && i < size; i++) {
+                    if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                        return i;
+                    }
+                }
+                if (updateCounts.length < size) {
+                    return updateCounts.length;
+                }
+            }
+        }
+        return 0;
+    }
+
+    protected boolean isBatchable(ScriptReader reader) {
+        if (reader.isBlock()) {
+            return false;
+        }
+        String keyword = reader.getKeyword();
+        if (keyword == null) {
+            return false;
+        }
+        return "insert".equalsIgnoreCase(keyword)
+                || "update".equalsIgnoreCase(keyword)
+                || "delete".equalsIgnoreCase(keyword)
+                || "merge".equalsIgnoreCase(keyword);
+    }
+
+    protected ScriptSql createSql(String script) {
+        return new ScriptSql(script, query.getScriptFilePath(),
+                query.getSqlLogType(), query::comment);
+    }
+
+    protected void handleException(Exception e, ScriptSql sql, int lineNumber) {
+        if (query.getHaltOnError()) {
+            throw new ScriptException(e, sql, lineNumber);
+        }
+        if (savedScriptException == null) {
+            savedScriptException = new ScriptException(e, sql, lineNumber);
+        }
+    }
+
     protected void log(ScriptSql sql) {
         JdbcLogger logger = query.getConfig().getJdbcLogger();
         logger.logSql(query.getClassName(), query.getMethodName(), sql);
@@ -15,11 +15,13 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -30,6 +32,7 @@ import org.seasar.doma.internal.jdbc.util.JdbcUtil;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.NoResultException;
 import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.Sql;
 import org.seasar.doma.jdbc.SqlExecutionException;
 import org.seasar.doma.jdbc.dialect.Dialect;
@@ -126,6 +129,9 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
     protected Supplier<RESULT> handleResultSet(ResultSet resultSet)
             throws SQLException {
         return resultSetHandler.handle(resultSet, query, (index, next) -> {
+            if (index == -1 && next && query.isCountColumnIncluded()) {
+                fetchCount(resultSet);
+            }
             if (index == -1 && !next && query.isResultEnsured()) {
                 Sql<?> sql = query.getSql();
                 throw new NoResultException(query.getConfig()
@@ -134,9 +140,27 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
         });
     }
 
+    protected void fetchCount(ResultSet resultSet) {
+        try {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = metaData.getColumnCount(); i > 0; i--) {
+                if (COUNT_COLUMN_NAME.equalsIgnoreCase(metaData
+                        .getColumnLabel(i))) {
+                    SelectOptionsAccessor.setCountSize(query.getOptions(),
+                            resultSet.getLong(i));
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            Dialect dialect = query.getConfig().getDialect();
+            throw new SqlExecutionException(query.getConfig()
+                    .getExceptionSqlLogType(), sql, e, dialect.getRootCause(e));
+        }
+    }
+
     protected void close(Supplier<RESULT> supplier, Runnable closeHandler) {
         if (supplier != null && query.isResultStream()
-                && query.getFetchType() == FetchType.LAZY) {
+                && query.getFetchType() != FetchType.EAGER) {
             RESULT result = supplier.get();
             if (result instanceof Stream) {
                 @SuppressWarnings("resource")
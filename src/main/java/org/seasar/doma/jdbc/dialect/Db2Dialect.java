@@ -23,6 +23,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.Db2ForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.Db2PagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -135,6 +136,13 @@ public class Db2Dialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, true);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toPagingSqlNode(SqlNode sqlNode, long offset, long limit) {
         Db2PagingTransformer transformer = new Db2PagingTransformer(offset,
@@ -178,6 +186,11 @@ public class Db2Dialect extends StandardDialect {
         return type == SelectForUpdateType.NORMAL && !withTargets;
     }
 
+    @Override
+    public boolean supportsWindowFunction() {
+        return true;
+    }
+
     @Override
     public boolean supportsAutoGeneratedKeys() {
         return true;
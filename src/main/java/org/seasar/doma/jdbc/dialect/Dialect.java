@@ -23,6 +23,8 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
+import org.seasar.doma.jdbc.JdbcUnsupportedOperationException;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.ScriptBlockContext;
 import org.seasar.doma.jdbc.SelectForUpdateType;
 import org.seasar.doma.jdbc.SelectOptions;
@@ -30,6 +32,7 @@ import org.seasar.doma.jdbc.Sql;
 import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
 import org.seasar.doma.jdbc.SqlNode;
 import org.seasar.doma.jdbc.id.AutoGeneratedKeysType;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.jdbc.type.JdbcType;
 import org.seasar.doma.wrapper.Wrapper;
 
@@ -109,6 +112,16 @@ public interface Dialect {
      */
     boolean supportsSequence();
 
+    /**
+     * シーケンスの値の予約をサポートするかどうかを返します。
+     * 
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsSequenceReservation() {
+        return false;
+    }
+
     /**
      * {@link Statement#getGeneratedKeys()} をサポートしているかどうかを返します。
      * 
@@ -123,6 +136,63 @@ public interface Dialect {
      */
     boolean supportsBatchUpdateResults();
 
+    /**
+     * 複数行を挿入するINSERT文をサポートしているかどうかを返します。
+     * 
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsMultiRowInsertStatement() {
+        return false;
+    }
+
+    /**
+     * 複数行を挿入するINSERT文1つに含められるバインド変数の最大数を返します。
+     * <p>
+     * {@link #supportsMultiRowInsertStatement()} が {@code true}
+     * を返す場合にのみ呼び出し可能です。
+     * 
+     * @return バインド変数の最大数
+     * @since 2.20.0
+     */
+    default int getMultiRowInsertParameterLimit() {
+        return 0;
+    }
+
+    /**
+     * 複数行を挿入するINSERT文でデータベースが生成した識別子を取得する方法を返します。
+     * <p>
+     * {@link #supportsMultiRowInsertStatement()} が {@code true}
+     * を返す場合にのみ呼び出し可能です。
+     * 
+     * @return 識別子を取得する方法
+     * @since 2.20.0
+     */
+    default MultiRowInsertGeneratedKeysType getMultiRowInsertGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+    }
+
+    /**
+     * 複数行を挿入するINSERT文を、データベースが生成した識別子を挿入した行の順に結果セットとして返すSQLに変換します。
+     * <p>
+     * {@link #getMultiRowInsertGeneratedKeysType()} が
+     * {@link MultiRowInsertGeneratedKeysType#RETURNING} を返す場合にのみ呼び出し可能です。
+     * 
+     * @param sql
+     *            複数行を挿入するINSERT文
+     * @param idColumnName
+     *            識別子のカラム名
+     * @return 変換されたSQL
+     * @throws DomaNullPointerException
+     *             引数のいずれかが {@code null} の場合
+     * @since 2.20.0
+     */
+    default PreparedSql toMultiRowInsertReturningSql(PreparedSql sql,
+            String idColumnName) {
+        throw new JdbcUnsupportedOperationException(getClass().getName(),
+                "toMultiRowInsertReturningSql");
+    }
+
     /**
      * 悲観的排他制御をサポートしているかどうかを返します。
      * 
@@ -145,6 +215,16 @@ public interface Dialect {
 
     boolean supportsIdentityReservation();
 
+    /**
+     * {@code count(*) over()} のようなウィンドウ関数をサポートしているかどうかを返します。
+     * 
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsWindowFunction() {
+        return false;
+    }
+
     /**
      * データベースで生成されたIDENTITYを取得するためのSQLを返します。
      * <p>
@@ -215,6 +295,28 @@ public interface Dialect {
     Sql<?> getSequenceNextValSql(String qualifiedSequenceName,
             long allocationSize);
 
+    /**
+     * シーケンスの次の値を複数まとめて取得するためのSQLを返します。
+     * <p>
+     * {@link #supportsSequenceReservation()} が {@code true} を返す場合にのみ呼び出し可能です。
+     * 
+     * @param qualifiedSequenceName
+     *            シーケンスの完全修飾名
+     * @param allocationSize
+     *            割り当てサイズ
+     * @param reservationSize
+     *            予約サイズ
+     * @return シーケンスの次の値を複数まとめて取得するためのSQL
+     * @throws DomaNullPointerException
+     *             {@code qualifiedSequenceName} が {@code null} の場合
+     * @since 2.20.0
+     */
+    default Sql<?> getSequenceReservationSql(String qualifiedSequenceName,
+            long allocationSize, int reservationSize) {
+        throw new JdbcUnsupportedOperationException(getClass().getName(),
+                "getSequenceReservationSql");
+    }
+
     /**
      * {@link ResultSet} の {@link JdbcType} を返します。
      * <p>
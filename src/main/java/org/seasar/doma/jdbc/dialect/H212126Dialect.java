@@ -22,6 +22,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.H212126ForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.H212126PagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -165,6 +166,13 @@ public class H212126Dialect extends StandardDialect {
         return UNIQUE_CONSTRAINT_VIOLATION_ERROR_CODE == code;
     }
 
+    @Override
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, true);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toPagingSqlNode(SqlNode sqlNode, long offset, long limit) {
         H212126PagingTransformer transformer = new H212126PagingTransformer(
@@ -186,6 +194,16 @@ public class H212126Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public int getMultiRowInsertParameterLimit() {
+        return 32767;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
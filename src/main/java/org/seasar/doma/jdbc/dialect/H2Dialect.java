@@ -16,15 +16,18 @@
 package org.seasar.doma.jdbc.dialect;
 
 import java.sql.SQLException;
+import java.util.function.Function;
 
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.H2ForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.H2PagingTransformer;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SelectForUpdateType;
 import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
 import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.wrapper.Wrapper;
 
 /**
@@ -138,6 +141,33 @@ public class H2Dialect extends H212126Dialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowInsertGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.RETURNING;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * H2はRETURNING句をサポートしないため、INSERT文をデータ変更デルタテーブル（ {@code final table}
+     * ）から識別子を検索するSQLに変換します。
+     */
+    @Override
+    public PreparedSql toMultiRowInsertReturningSql(PreparedSql sql,
+            String idColumnName) {
+        if (sql == null) {
+            throw new DomaNullPointerException("sql");
+        }
+        if (idColumnName == null) {
+            throw new DomaNullPointerException("idColumnName");
+        }
+        String prefix = "select " + idColumnName + " from final table (";
+        return new PreparedSql(sql.getKind(), prefix + sql.getRawSql() + ")",
+                () -> prefix + sql.getFormattedSql() + ")",
+                sql.getSqlFilePath(), sql.getParameters(),
+                sql.getSqlLogType(), Function.identity());
+    }
+
     /**
      * H2用の {@link JdbcMappingVisitor} の実装です。
      * 
@@ -21,6 +21,7 @@ import java.util.Collections;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.HsqldbPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -166,6 +167,13 @@ public class HsqldbDialect extends StandardDialect {
         return UNIQUE_CONSTRAINT_VIOLATION_ERROR_CODE == code;
     }
 
+    @Override
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, true);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toPagingSqlNode(SqlNode sqlNode, long offset, long limit) {
         HsqldbPagingTransformer transformer = new HsqldbPagingTransformer(
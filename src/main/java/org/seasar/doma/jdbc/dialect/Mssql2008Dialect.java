@@ -165,6 +165,11 @@ public class Mssql2008Dialect extends StandardDialect {
                 && !withTargets;
     }
 
+    @Override
+    public boolean supportsWindowFunction() {
+        return true;
+    }
+
     @Override
     public boolean supportsAutoGeneratedKeys() {
         return true;
@@ -26,11 +26,13 @@ import org.seasar.doma.internal.jdbc.dialect.MysqlCountCalculatingTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlCountGettingTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.ScriptBlockContext;
 import org.seasar.doma.jdbc.SelectForUpdateType;
 import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
 import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.wrapper.Wrapper;
 
 /**
@@ -151,6 +153,21 @@ public class MysqlDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public int getMultiRowInsertParameterLimit() {
+        return 65535;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowInsertGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.GENERATED_KEYS;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
@@ -163,6 +180,13 @@ public class MysqlDialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, true);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toPagingSqlNode(SqlNode sqlNode, long offset, long limit) {
         MysqlPagingTransformer transformer = new MysqlPagingTransformer(offset,
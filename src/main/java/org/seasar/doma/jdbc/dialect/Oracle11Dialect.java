@@ -196,6 +196,18 @@ public class Oracle11Dialect extends StandardDialect {
                 Collections.<InParameter<?>> emptyList(), SqlLogType.FORMATTED);
     }
 
+    @Override
+    public PreparedSql getSequenceReservationSql(String qualifiedSequenceName,
+            long allocationSize, int reservationSize) {
+        if (qualifiedSequenceName == null) {
+            throw new DomaNullPointerException("qualifiedSequenceName");
+        }
+        String rawSql = "select " + qualifiedSequenceName
+                + ".nextval from dual connect by level <= " + reservationSize;
+        return new PreparedSql(SqlKind.SELECT, rawSql, rawSql, null,
+                Collections.<InParameter<?>> emptyList(), SqlLogType.FORMATTED);
+    }
+
     @Override
     public boolean supportsIdentity() {
         return false;
@@ -206,12 +218,22 @@ public class Oracle11Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsSequenceReservation() {
+        return true;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
         return true;
     }
 
+    @Override
+    public boolean supportsWindowFunction() {
+        return true;
+    }
+
     @Override
     public boolean supportsResultSetReturningAsOutParameter() {
         return true;
@@ -25,6 +25,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.PostgresForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.PostgresPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
 import org.seasar.doma.internal.jdbc.util.DatabaseObjectUtil;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
@@ -36,6 +37,7 @@ import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.jdbc.type.AbstractResultSetType;
 import org.seasar.doma.jdbc.type.JdbcType;
 import org.seasar.doma.wrapper.Wrapper;
@@ -145,6 +147,13 @@ public class PostgresDialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, true);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toPagingSqlNode(SqlNode sqlNode, long offset, long limit) {
         PostgresPagingTransformer transformer = new PostgresPagingTransformer(
@@ -229,11 +238,38 @@ public class PostgresDialect extends StandardDialect {
                 Collections.<InParameter<?>> emptyList(), SqlLogType.FORMATTED);
     }
 
+    @Override
+    public PreparedSql getSequenceReservationSql(String qualifiedSequenceName,
+            long allocationSize, int reservationSize) {
+        if (qualifiedSequenceName == null) {
+            throw new DomaNullPointerException("qualifiedSequenceName");
+        }
+        String rawSql = "select nextval('" + qualifiedSequenceName
+                + "') from generate_series(1, " + reservationSize + ")";
+        return new PreparedSql(SqlKind.SELECT, rawSql, rawSql, null,
+                Collections.<InParameter<?>> emptyList(), SqlLogType.FORMATTED);
+    }
+
     @Override
     public boolean supportsIdentity() {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public int getMultiRowInsertParameterLimit() {
+        return 32767;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowInsertGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.RETURNING;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
@@ -244,6 +280,11 @@ public class PostgresDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsSequenceReservation() {
+        return true;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
@@ -251,6 +292,11 @@ public class PostgresDialect extends StandardDialect {
                 || type == SelectForUpdateType.NOWAIT;
     }
 
+    @Override
+    public boolean supportsWindowFunction() {
+        return true;
+    }
+
     @Override
     public boolean supportsResultSetReturningAsOutParameter() {
         return true;
@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,7 +37,10 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.StandardCountGettingTransformer;
 import org.seasar.doma.internal.jdbc.dialect.StandardForUpdateTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardKeysetTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardPartitionTransformer;
 import org.seasar.doma.internal.jdbc.dialect.StandardPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardWindowCountTransformer;
 import org.seasar.doma.internal.util.AssertionUtil;
 import org.seasar.doma.internal.util.CharSequenceUtil;
 import org.seasar.doma.jdbc.JdbcException;
@@ -54,6 +58,7 @@ import org.seasar.doma.jdbc.SqlLogFormattingFunction;
 import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
 import org.seasar.doma.jdbc.SqlNode;
 import org.seasar.doma.jdbc.id.AutoGeneratedKeysType;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.jdbc.type.EnumType;
 import org.seasar.doma.jdbc.type.JdbcType;
 import org.seasar.doma.jdbc.type.JdbcTypes;
@@ -214,8 +219,18 @@ public class StandardDialect implements Dialect {
             throw new DomaNullPointerException("options");
         }
         SqlNode transformed = sqlNode;
-        if (SelectOptionsAccessor.isCount(options)) {
-            transformed = toCountCalculatingSqlNode(sqlNode);
+        String partitionKey = SelectOptionsAccessor.getPartitionKey(options);
+        if (partitionKey != null) {
+            transformed = toPartitionSqlNode(transformed, partitionKey);
+        }
+        if (SelectOptionsAccessor.isCountColumnIncluded(options, this)) {
+            transformed = toWindowCountSqlNode(transformed);
+        } else if (SelectOptionsAccessor.isCount(options)) {
+            transformed = toCountCalculatingSqlNode(transformed);
+        }
+        Object[] keys = SelectOptionsAccessor.getKeys(options);
+        if (keys != null) {
+            transformed = toKeysetSqlNode(transformed, keys.length);
         }
         long offset = SelectOptionsAccessor.getOffset(options);
         long limit = SelectOptionsAccessor.getLimit(options);
@@ -270,6 +285,51 @@ public class StandardDialect implements Dialect {
         return sqlNode;
     }
 
+    /**
+     * ウィンドウ関数で集計を計算し、検索結果の列に含めるSQLノードに変換します。
+     * 
+     * @param sqlNode
+     *            SQLノード
+     * @return 変換されたSQLノード
+     * @since 2.20.0
+     */
+    protected SqlNode toWindowCountSqlNode(SqlNode sqlNode) {
+        StandardWindowCountTransformer transformer = new StandardWindowCountTransformer();
+        return transformer.transform(sqlNode);
+    }
+
+    /**
+     * 範囲で分割された検索用のSQLノードに変換します。
+     * 
+     * @param sqlNode
+     *            SQLノード
+     * @param partitionKey
+     *            範囲で分割する列を表す式
+     * @return 変換されたSQLノード
+     * @since 2.20.0
+     */
+    protected SqlNode toPartitionSqlNode(SqlNode sqlNode, String partitionKey) {
+        StandardPartitionTransformer transformer = new StandardPartitionTransformer(
+                partitionKey);
+        return transformer.transform(sqlNode);
+    }
+
+    /**
+     * キーセットページング用のSQLノードに変換します。
+     * 
+     * @param sqlNode
+     *            SQLノード
+     * @param keySize
+     *            キーの数
+     * @return 変換されたSQLノード
+     * @since 2.20.0
+     */
+    protected SqlNode toKeysetSqlNode(SqlNode sqlNode, int keySize) {
+        StandardKeysetTransformer transformer = new StandardKeysetTransformer(
+                keySize, false);
+        return transformer.transform(sqlNode);
+    }
+
     /**
      * ページング用のSQLノードに変換します。
      * 
@@ -404,6 +464,36 @@ public class StandardDialect implements Dialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return false;
+    }
+
+    @Override
+    public int getMultiRowInsertParameterLimit() {
+        return 0;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowInsertGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+    }
+
+    @Override
+    public PreparedSql toMultiRowInsertReturningSql(PreparedSql sql,
+            String idColumnName) {
+        if (sql == null) {
+            throw new DomaNullPointerException("sql");
+        }
+        if (idColumnName == null) {
+            throw new DomaNullPointerException("idColumnName");
+        }
+        String returning = " returning " + idColumnName;
+        return new PreparedSql(sql.getKind(), sql.getRawSql() + returning,
+                () -> sql.getFormattedSql() + returning, sql.getSqlFilePath(),
+                sql.getParameters(), sql.getSqlLogType(), Function.identity());
+    }
+
     @Override
     public boolean supportsIdentity() {
         return false;
@@ -419,6 +509,11 @@ public class StandardDialect implements Dialect {
         return false;
     }
 
+    @Override
+    public boolean supportsSequenceReservation() {
+        return false;
+    }
+
     @Override
     public boolean includesIdentityColumn() {
         return false;
@@ -435,6 +530,11 @@ public class StandardDialect implements Dialect {
         return false;
     }
 
+    @Override
+    public boolean supportsWindowFunction() {
+        return false;
+    }
+
     @Override
     public JdbcType<ResultSet> getResultSetType() {
         throw new JdbcUnsupportedOperationException(getClass().getName(),
@@ -464,6 +564,13 @@ public class StandardDialect implements Dialect {
                 "getSequenceNextValString");
     }
 
+    @Override
+    public Sql<?> getSequenceReservationSql(String qualifiedSequenceName,
+            long allocationSize, int reservationSize) {
+        throw new JdbcUnsupportedOperationException(getClass().getName(),
+                "getSequenceReservationSql");
+    }
+
     @Override
     public String applyQuote(String name) {
         return OPEN_QUOTE + name + CLOSE_QUOTE;
@@ -577,7 +684,7 @@ public class StandardDialect implements Dialect {
         @Override
         public Void visitDoubleWrapper(DoubleWrapper wrapper,
                 JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
-            return p.apply(wrapper, JdbcTypes.DOUBLE);
+            return p.applyDouble(wrapper, JdbcTypes.DOUBLE);
         }
 
         @Override
@@ -589,7 +696,7 @@ public class StandardDialect implements Dialect {
         @Override
         public Void visitIntegerWrapper(IntegerWrapper wrapper,
                 JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
-            return p.apply(wrapper, JdbcTypes.INTEGER);
+            return p.applyInt(wrapper, JdbcTypes.INTEGER);
         }
 
         @Override
@@ -613,7 +720,7 @@ public class StandardDialect implements Dialect {
         @Override
         public Void visitLongWrapper(LongWrapper wrapper,
                 JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
-            return p.apply(wrapper, JdbcTypes.LONG);
+            return p.applyLong(wrapper, JdbcTypes.LONG);
         }
 
         @Override
@@ -23,19 +23,27 @@ import org.seasar.doma.Domain;
 import org.seasar.doma.internal.Constants;
 import org.seasar.doma.internal.Conventions;
 import org.seasar.doma.internal.WrapException;
+import org.seasar.doma.internal.jdbc.util.MetaTypeCache;
 import org.seasar.doma.internal.util.ClassUtil;
 import org.seasar.doma.internal.util.MethodUtil;
 import org.seasar.doma.jdbc.ClassHelper;
+import org.seasar.doma.jdbc.ConfigSupport;
 import org.seasar.doma.message.Message;
 
 /**
  * {@link DomainType} のファクトリクラスです。
+ * <p>
+ * 取得した {@link DomainType} はドメインクラスごとにキャッシュされます。
  * 
  * @author taedium
  * @since 1.8.0
  */
 public final class DomainTypeFactory {
 
+    private static final MetaTypeCache<DomainType<?, ?>> domainTypeCache = new MetaTypeCache<>();
+
+    private static final MetaTypeCache<DomainType<?, ?>> externalDomainTypeCache = new MetaTypeCache<>();
+
     /**
      * {@link DomainType} のインスタンスを生成します。
      * 
@@ -80,6 +88,7 @@ public final class DomainTypeFactory {
      *             ドメインクラスに対応するメタクラスが見つからない場合
      * @since 1.27.0
      */
+    @SuppressWarnings("unchecked")
     public static <BASIC, DOMAIN> DomainType<BASIC, DOMAIN> getDomainType(
             Class<DOMAIN> domainClass, ClassHelper classHelper) {
         if (domainClass == null) {
@@ -88,6 +97,12 @@ public final class DomainTypeFactory {
         if (classHelper == null) {
             throw new DomaNullPointerException("classHelper");
         }
+        return (DomainType<BASIC, DOMAIN>) domainTypeCache.get(domainClass,
+                classHelper, c -> createDomainType(domainClass, classHelper));
+    }
+
+    private static <BASIC, DOMAIN> DomainType<BASIC, DOMAIN> createDomainType(
+            Class<DOMAIN> domainClass, ClassHelper classHelper) {
         if (!domainClass.isAnnotationPresent(Domain.class)) {
             throw new DomaIllegalArgumentException("domainClass",
                     Message.DOMA2205.getMessage(domainClass.getName()));
@@ -123,8 +138,8 @@ public final class DomainTypeFactory {
      */
     public static <BASIC, DOMAIN> DomainType<BASIC, DOMAIN> getExternalDomainType(
             Class<DOMAIN> domainClass) {
-        return getExternalDomainType(domainClass, new ClassHelper() {
-        });
+        return getExternalDomainType(domainClass,
+                ConfigSupport.defaultClassHelper);
     }
 
     /**
@@ -143,6 +158,7 @@ public final class DomainTypeFactory {
      *             引数が {@code null} の場合
      * @since 1.27.0
      */
+    @SuppressWarnings("unchecked")
     public static <BASIC, DOMAIN> DomainType<BASIC, DOMAIN> getExternalDomainType(
             Class<DOMAIN> domainClass, ClassHelper classHelper) {
         if (domainClass == null) {
@@ -151,6 +167,13 @@ public final class DomainTypeFactory {
         if (classHelper == null) {
             throw new DomaNullPointerException("classHelper");
         }
+        return (DomainType<BASIC, DOMAIN>) externalDomainTypeCache.get(
+                domainClass, classHelper,
+                c -> createExternalDomainType(domainClass, classHelper));
+    }
+
+    private static <BASIC, DOMAIN> DomainType<BASIC, DOMAIN> createExternalDomainType(
+            Class<DOMAIN> domainClass, ClassHelper classHelper) {
         String domainTypeClassName = Constants.EXTERNAL_DOMAIN_METATYPE_ROOT_PACKAGE
                 + "." + Conventions.toFullMetaName(domainClass.getName());
         try {
@@ -163,4 +186,15 @@ public final class DomainTypeFactory {
             return null;
         }
     }
+
+    /**
+     * ドメインクラスに対応する {@link DomainType} のキャッシュを削除します。
+     * 
+     * @param domainClass
+     *            ドメインクラス
+     */
+    static void removeCache(Class<?> domainClass) {
+        domainTypeCache.remove(domainClass);
+        externalDomainTypeCache.remove(domainClass);
+    }
 }
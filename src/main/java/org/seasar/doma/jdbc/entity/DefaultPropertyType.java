@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -135,6 +136,54 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
             DomainType<BASIC, DOMAIN> domainType, String name,
             String columnName, NamingType namingType, boolean insertable,
             boolean updatable, boolean quoteRequired) {
+        this(entityClass, entityPropertyClass, basicClass, wrapperSupplier,
+                parentEntityPropertyType, domainType, name, columnName,
+                namingType, insertable, updatable, quoteRequired, null, null);
+    }
+
+    /**
+     * フィールドのアクセサを指定してインスタンスを構築します。
+     * <p>
+     * アクセサが指定された場合、エンティティのフィールドはリフレクションを使わずに読み書きされます。
+     * 
+     * @param entityClass
+     *            エンティティのクラス
+     * @param entityPropertyClass
+     *            プロパティのクラス
+     * @param basicClass
+     *            値のクラス
+     * @param wrapperSupplier
+     *            ラッパーのサプライヤ
+     * @param parentEntityPropertyType
+     *            親のエンティティのプロパティ型、親のエンティティを持たない場合 {@code null}
+     * @param domainType
+     *            ドメインのメタタイプ、ドメインでない場合 {@code null}
+     * @param name
+     *            プロパティの名前
+     * @param columnName
+     *            カラム名
+     * @param namingType
+     *            ネーミング規約
+     * @param insertable
+     *            挿入可能かどうか
+     * @param updatable
+     *            更新可能かどうか
+     * @param quoteRequired
+     *            カラム名に引用符が必要とされるかどうか
+     * @param getter
+     *            フィールドの値を取得する関数、リフレクションを使う場合 {@code null}
+     * @param setter
+     *            フィールドに値を設定する関数、リフレクションを使う場合 {@code null}
+     * @since 2.20.0
+     */
+    public DefaultPropertyType(Class<ENTITY> entityClass,
+            Class<?> entityPropertyClass, Class<BASIC> basicClass,
+            Supplier<Wrapper<BASIC>> wrapperSupplier,
+            EntityPropertyType<PARENT, BASIC> parentEntityPropertyType,
+            DomainType<BASIC, DOMAIN> domainType, String name,
+            String columnName, NamingType namingType, boolean insertable,
+            boolean updatable, boolean quoteRequired,
+            Function<ENTITY, Object> getter, BiConsumer<ENTITY, Object> setter) {
         if (entityClass == null) {
             throw new DomaNullPointerException("entityClass");
         }
@@ -166,7 +215,7 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
         this.insertable = insertable;
         this.updatable = updatable;
         this.quoteRequired = quoteRequired;
-        this.field = new PropertyField<>(name, entityClass);
+        this.field = new PropertyField<>(name, entityClass, getter, setter);
         this.propertySupplier = createPropertySupplier();
     }
 
@@ -351,6 +400,9 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
 
         @Override
         public Property<ENTITY, BASIC> save(ENTITY entity) {
+            if (field.setPrimitiveValue(entity, scalar.getWrapper())) {
+                return this;
+            }
             field.setValue(entity, scalar.get());
             return this;
         }
@@ -22,6 +22,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.Entity;
 import org.seasar.doma.internal.Conventions;
 import org.seasar.doma.internal.WrapException;
+import org.seasar.doma.internal.jdbc.util.MetaTypeCache;
 import org.seasar.doma.internal.util.ClassUtil;
 import org.seasar.doma.internal.util.MethodUtil;
 import org.seasar.doma.jdbc.ClassHelper;
@@ -29,12 +30,16 @@ import org.seasar.doma.message.Message;
 
 /**
  * {@link EntityType} のファクトリクラスです。
+ * <p>
+ * 取得した {@link EntityType} はエンティティクラスごとにキャッシュされます。
  * 
  * @author taedium
  * @since 1.8.0
  */
 public final class EntityTypeFactory {
 
+    private static final MetaTypeCache<EntityType<?>> entityTypeCache = new MetaTypeCache<>();
+
     /**
      * {@link EntityType} のインスタンスを生成します。
      * 
@@ -53,6 +58,7 @@ public final class EntityTypeFactory {
      *             エンティティクラスに対応するメタクラスが見つからない場合
      * @since 1.27.0
      */
+    @SuppressWarnings("unchecked")
     public static <E> EntityType<E> getEntityType(Class<E> entityClass,
             ClassHelper classHelper) {
         if (entityClass == null) {
@@ -61,6 +67,12 @@ public final class EntityTypeFactory {
         if (classHelper == null) {
             throw new DomaNullPointerException("classHelper");
         }
+        return (EntityType<E>) entityTypeCache.get(entityClass, classHelper,
+                c -> createEntityType(entityClass, classHelper));
+    }
+
+    private static <E> EntityType<E> createEntityType(Class<E> entityClass,
+            ClassHelper classHelper) {
         if (!entityClass.isAnnotationPresent(Entity.class)) {
             throw new DomaIllegalArgumentException("entityClass",
                     Message.DOMA2206.getMessage("entityClass"));
@@ -79,4 +91,14 @@ public final class EntityTypeFactory {
                     entityClass.getName(), entityTypeClassName);
         }
     }
+
+    /**
+     * エンティティクラスに対応する {@link EntityType} のキャッシュを削除します。
+     * 
+     * @param entityClass
+     *            エンティティクラス
+     */
+    static void removeCache(Class<?> entityClass) {
+        entityTypeCache.remove(entityClass);
+    }
 }
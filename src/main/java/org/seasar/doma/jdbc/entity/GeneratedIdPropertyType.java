@@ -16,6 +16,8 @@
 package org.seasar.doma.jdbc.entity;
 
 import java.sql.Statement;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.seasar.doma.DomaNullPointerException;
@@ -83,9 +85,34 @@ public class GeneratedIdPropertyType<PARENT, ENTITY extends PARENT, BASIC extend
             DomainType<BASIC, DOMAIN> domainType, String name,
             String columnName, NamingType namingType, boolean quoteRequired,
             IdGenerator idGenerator) {
+        this(entityClass, entityPropertyClass, basicClass, wrapperSupplier,
+                parentEntityPropertyType, domainType, name, columnName,
+                namingType, quoteRequired, idGenerator, null, null);
+    }
+
+    /**
+     * フィールドのアクセサを指定してインスタンスを構築します。
+     * <p>
+     * {@code idGenerator} 以外のパラメータについては {@link DefaultPropertyType} のコンストラクタを参照してください。
+     * 
+     * @param idGenerator
+     *            識別子のジェネレータ
+     * @see DefaultPropertyType#DefaultPropertyType(Class, Class, Class,
+     *      Supplier, EntityPropertyType, DomainType, String, String,
+     *      NamingType, boolean, boolean, boolean, Function, BiConsumer)
+     * @since 2.20.0
+     */
+    public GeneratedIdPropertyType(Class<ENTITY> entityClass,
+            Class<?> entityPropertyClass, Class<BASIC> basicClass,
+            Supplier<Wrapper<BASIC>> wrapperSupplier,
+            EntityPropertyType<PARENT, BASIC> parentEntityPropertyType,
+            DomainType<BASIC, DOMAIN> domainType, String name,
+            String columnName, NamingType namingType, boolean quoteRequired,
+            IdGenerator idGenerator, Function<ENTITY, Object> getter,
+            BiConsumer<ENTITY, Object> setter) {
         super(entityClass, entityPropertyClass, basicClass, wrapperSupplier,
                 parentEntityPropertyType, domainType, name, columnName,
-                namingType, true, true, quoteRequired);
+                namingType, true, true, quoteRequired, getter, setter);
         if (idGenerator == null) {
             throw new DomaNullPointerException("idGenerator");
         }
@@ -203,6 +230,25 @@ public class GeneratedIdPropertyType<PARENT, ENTITY extends PARENT, BASIC extend
                 () -> idGenerator.generatePostInsert(config, statement));
     }
 
+    /**
+     * INSERTの実行後にデータベースで生成された識別子を設定します。
+     * <p>
+     * 複数行を挿入するINSERT文のように、識別子がまとめて取得される場合に使用します。
+     * 
+     * @param entityType
+     *            エンティティタイプ
+     * @param entity
+     *            エンティティ
+     * @param generatedValue
+     *            データベースで生成された識別子
+     * @return エンティティ
+     * @since 2.20.0
+     */
+    public ENTITY postInsert(EntityType<ENTITY> entityType, ENTITY entity,
+            long generatedValue) {
+        return setIfNecessary(entityType, entity, () -> generatedValue);
+    }
+
     /**
      * 必要であれば識別子を設定します。
      * 
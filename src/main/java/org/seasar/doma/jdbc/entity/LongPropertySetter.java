@@ -0,0 +1,49 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.entity;
+
+import java.util.function.BiConsumer;
+
+/**
+ * エンティティの {@code long} 型のフィールドにボクシングせずに値を設定する関数です。
+ * <p>
+ * このインタフェースは注釈処理によって生成されるコードから利用されます。
+ * 
+ * @author nakamura-to
+ * 
+ * @param <ENTITY>
+ *            エンティティの型
+ * @since 2.20.0
+ */
+@FunctionalInterface
+public interface LongPropertySetter<ENTITY> extends
+        BiConsumer<ENTITY, Object> {
+
+    /**
+     * フィールドに値を設定します。
+     * 
+     * @param entity
+     *            エンティティ
+     * @param value
+     *            値
+     */
+    void acceptLong(ENTITY entity, long value);
+
+    @Override
+    default void accept(ENTITY entity, Object value) {
+        acceptLong(entity, ((Number) value).longValue());
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.seasar.doma.jdbc.entity;
 
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.seasar.doma.jdbc.domain.DomainType;
@@ -67,9 +69,31 @@ public class TenantIdPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
             EntityPropertyType<PARENT, BASIC> parentEntityPropertyType,
             DomainType<BASIC, DOMAIN> domainType, String name,
             String columnName, NamingType namingType, boolean quoteRequired) {
+        this(entityClass, entityPropertyClass, basicClass, wrapperSupplier,
+                parentEntityPropertyType, domainType, name, columnName,
+                namingType, quoteRequired, null, null);
+    }
+
+    /**
+     * フィールドのアクセサを指定してインスタンスを構築します。
+     * <p>
+     * パラメータについては {@link DefaultPropertyType} のコンストラクタを参照してください。
+     * 
+     * @see DefaultPropertyType#DefaultPropertyType(Class, Class, Class,
+     *      Supplier, EntityPropertyType, DomainType, String, String,
+     *      NamingType, boolean, boolean, boolean, Function, BiConsumer)
+     * @since 2.20.0
+     */
+    public TenantIdPropertyType(Class<ENTITY> entityClass,
+            Class<?> entityPropertyClass, Class<BASIC> basicClass,
+            Supplier<Wrapper<BASIC>> wrapperSupplier,
+            EntityPropertyType<PARENT, BASIC> parentEntityPropertyType,
+            DomainType<BASIC, DOMAIN> domainType, String name,
+            String columnName, NamingType namingType, boolean quoteRequired,
+            Function<ENTITY, Object> getter, BiConsumer<ENTITY, Object> setter) {
         super(entityClass, entityPropertyClass, basicClass, wrapperSupplier,
                 parentEntityPropertyType, domainType, name, columnName,
-                namingType, true, true, quoteRequired);
+                namingType, true, true, quoteRequired, getter, setter);
     }
 
     @Override
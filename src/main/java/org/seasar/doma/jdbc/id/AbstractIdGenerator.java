@@ -67,6 +67,43 @@ public abstract class AbstractIdGenerator implements IdGenerator {
         }
     }
 
+    /**
+     * 生成された複数の識別子を取得するSQLを実行します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param sql
+     *            生成された識別子を取得するSQL
+     * @param count
+     *            取得する値の数
+     * @return SQLにより取得された値の配列
+     * @throws JdbcException
+     *             生成された識別子の取得に失敗した場合
+     * @since 2.20.0
+     */
+    protected long[] getGeneratedValues(IdGenerationConfig config, Sql<?> sql,
+            int count) {
+        JdbcLogger logger = config.getJdbcLogger();
+        Connection connection = JdbcUtil.getConnection(config.getDataSource());
+        try {
+            PreparedStatement preparedStatement = JdbcUtil.prepareStatement(
+                    connection, sql);
+            try {
+                logger.logSql(getClass().getName(), "getGeneratedValues", sql);
+                setupOptions(config, preparedStatement);
+                ResultSet resultSet = preparedStatement.executeQuery();
+                return getGeneratedValues(config, resultSet, count);
+            } catch (SQLException e) {
+                throw new JdbcException(Message.DOMA2018, e, config
+                        .getEntityType().getName(), e);
+            } finally {
+                JdbcUtil.close(preparedStatement, logger);
+            }
+        } finally {
+            JdbcUtil.close(connection, logger);
+        }
+    }
+
     /**
      * {@code preparedStatement} に対しオプションの設定を行います。
      * 
@@ -117,4 +154,39 @@ public abstract class AbstractIdGenerator implements IdGenerator {
             JdbcUtil.close(resultSet, logger);
         }
     }
+
+    /**
+     * {@link ResultSet} から生成された複数の識別子の値を取得します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param resultSet
+     *            結果セット
+     * @param count
+     *            取得する値の数
+     * @return 生成された識別子の値の配列
+     * @throws JdbcException
+     *             識別子の取得に失敗した場合
+     * @since 2.20.0
+     */
+    protected long[] getGeneratedValues(IdGenerationConfig config,
+            ResultSet resultSet, int count) {
+        JdbcLogger logger = config.getJdbcLogger();
+        try {
+            long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                if (!resultSet.next()) {
+                    throw new JdbcException(Message.DOMA2017, config
+                            .getEntityType().getName());
+                }
+                values[i] = resultSet.getLong(1);
+            }
+            return values;
+        } catch (final SQLException e) {
+            throw new JdbcException(Message.DOMA2018, e, config.getEntityType()
+                    .getName(), e);
+        } finally {
+            JdbcUtil.close(resultSet, logger);
+        }
+    }
 }
@@ -16,8 +16,13 @@
 package org.seasar.doma.jdbc.id;
 
 import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.seasar.doma.jdbc.JdbcException;
 
@@ -36,6 +41,9 @@ public abstract class AbstractPreGenerateIdGenerator extends
     /** 割り当てサイズ */
     protected long allocationSize;
 
+    /** 次のブロックを先読みするかどうか */
+    protected boolean prefetchEnabled;
+
     /** データソース名をキー、識別子コンテキストを値とするマップ */
     protected ConcurrentMap<String, IdContext> idContextMap = new ConcurrentHashMap<String, IdContext>();
 
@@ -59,6 +67,25 @@ public abstract class AbstractPreGenerateIdGenerator extends
         this.allocationSize = allocationSize;
     }
 
+    /**
+     * 次のブロックを先読みするかどうかを設定します。
+     * <p>
+     * {@code true} の場合、識別子はロックを取得せずにブロックから払い出されます。
+     * ブロックの半分が払い出された時点で次のブロックの初期値が {@link IdGenerationConfig#getExecutor()}
+     * のスレッドで取得されるため、挿入を行うスレッドはデータベースへのアクセスを待たずに識別子を取得できます。
+     * <p>
+     * 先読みは呼び出し元のスレッドにバインドされていないデータソースを前提とします。
+     * 先読みに失敗した場合、次のブロックはブロックを使い切ったスレッドで取得されます。
+     * 割り当てサイズが {@code 1} の場合は先読みされません。
+     * 
+     * @param prefetchEnabled
+     *            次のブロックを先読みする場合 {@code true}
+     * @since 2.20.0
+     */
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        this.prefetchEnabled = prefetchEnabled;
+    }
+
     @Override
     public boolean supportsBatch(IdGenerationConfig config) {
         return true;
@@ -99,7 +126,8 @@ public abstract class AbstractPreGenerateIdGenerator extends
         if (context != null) {
             return context;
         }
-        context = new IdContext();
+        context = prefetchEnabled && allocationSize > 1 ? new PrefetchIdContext()
+                : new IdContext();
         IdContext existent = idContextMap.putIfAbsent(dataSourceName, context);
         if (existent != null) {
             return existent;
@@ -118,6 +146,42 @@ public abstract class AbstractPreGenerateIdGenerator extends
      */
     protected abstract long getNewInitialValue(IdGenerationConfig config);
 
+    /**
+     * 新しい初期値をまとめて返します。
+     * <p>
+     * 各初期値は割り当てサイズ分の識別子のブロックの先頭を表します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param count
+     *            初期値の数
+     * @return 新しい初期値の配列
+     * @throws JdbcException
+     *             新しい初期値の取得に失敗した場合
+     * @since 2.20.0
+     */
+    protected long[] getNewInitialValues(IdGenerationConfig config, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = getNewInitialValue(config);
+        }
+        return values;
+    }
+
+    /**
+     * まとめて取得する初期値の数を返します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @return まとめて取得する初期値の数
+     * @since 2.20.0
+     */
+    protected int getInitialValueCount(IdGenerationConfig config) {
+        long size = Math.max(allocationSize, 1);
+        long count = (config.getReservationSize() + size - 1) / size;
+        return (int) Math.max(count, 1);
+    }
+
     /**
      * 識別子コンテキストです。
      * <p>
@@ -134,6 +198,12 @@ public abstract class AbstractPreGenerateIdGenerator extends
         /** 割り当てサイズ */
         protected long allocated = Long.MAX_VALUE;
 
+        /** 予約された初期値 */
+        protected long[] reservedInitValues = new long[0];
+
+        /** 次に使用する予約された初期値のインデックス */
+        protected int reservedIndex;
+
         /**
          * 次の識別子を返します。
          * 
@@ -147,10 +217,162 @@ public abstract class AbstractPreGenerateIdGenerator extends
             if (allocated < allocationSize) {
                 return initValue + allocated++;
             }
-            initValue = getNewInitialValue(config);
+            initValue = nextInitValue(config);
             allocated = 1;
             return initValue;
         }
 
+        /**
+         * 次の初期値を返します。
+         * <p>
+         * 予約された初期値を使い切った場合は、新しい初期値をまとめて予約します。
+         * 
+         * @param config
+         *            識別子生成の設定
+         * @return 次の初期値
+         * @throws JdbcException
+         *             新しい初期値の取得に失敗した場合
+         * @since 2.20.0
+         */
+        protected synchronized long nextInitValue(IdGenerationConfig config) {
+            if (reservedIndex >= reservedInitValues.length) {
+                reservedInitValues = getNewInitialValues(config,
+                        getInitialValueCount(config));
+                reservedIndex = 0;
+            }
+            return reservedInitValues[reservedIndex++];
+        }
+
+    }
+
+    /**
+     * 次のブロックを先読みする識別子コンテキストです。
+     * <p>
+     * 識別子はブロック内のオフセットを {@link AtomicLong} で増分して払い出されます。
+     * 次のブロックの初期値は {@link IdGenerationConfig#getExecutor()} のスレッドで取得されます。
+     * 先読みに失敗した場合、次のブロックはブロックを切り替えるスレッドで取得されます。
+     * その取得も失敗した場合、先読みに失敗した原因は抑制された例外としてスローされる例外に追加されます。
+     * ブロックの切り替えのみが同期化されます。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    public class PrefetchIdContext extends IdContext {
+
+        /** ブロックの切り替えに使用するロック */
+        protected final Object switchLock = new Object();
+
+        /** 現在のブロック */
+        protected volatile Block current;
+
+        /** 先読みされるブロック */
+        protected CompletableFuture<Block> next;
+
+        /** 先読みに失敗した原因、次の取得に失敗した場合に抑制された例外として追加されます */
+        protected Throwable prefetchFailure;
+
+        @Override
+        public long getNextValue(IdGenerationConfig config) {
+            for (;;) {
+                Block block = current;
+                if (block != null) {
+                    long offset = block.offset.getAndIncrement();
+                    if (offset < block.size) {
+                        if (offset == block.size / 2) {
+                            prefetch(config);
+                        }
+                        return block.initValue + offset;
+                    }
+                }
+                switchBlock(config, block);
+            }
+        }
+
+        /**
+         * 次のブロックの取得を開始します。
+         * 
+         * @param config
+         *            識別子生成の設定
+         */
+        protected void prefetch(IdGenerationConfig config) {
+            synchronized (switchLock) {
+                if (next != null) {
+                    return;
+                }
+                try {
+                    next = CompletableFuture.supplyAsync(
+                            () -> new Block(nextInitValue(config),
+                                    allocationSize), config.getExecutor());
+                } catch (RejectedExecutionException e) {
+                    // ブロックを切り替えるスレッドで取得する
+                    prefetchFailure = e;
+                }
+            }
+        }
+
+        /**
+         * 使い切ったブロックを次のブロックに切り替えます。
+         * 
+         * @param config
+         *            識別子生成の設定
+         * @param exhausted
+         *            使い切ったブロック
+         */
+        protected void switchBlock(IdGenerationConfig config, Block exhausted) {
+            synchronized (switchLock) {
+                if (current != exhausted) {
+                    return;
+                }
+                Block block = null;
+                if (next != null) {
+                    try {
+                        block = next.join();
+                    } catch (CompletionException e) {
+                        // 先読みに失敗した場合はこのスレッドで取得する
+                        prefetchFailure = e.getCause() != null ? e.getCause()
+                                : e;
+                    } catch (CancellationException e) {
+                        prefetchFailure = e;
+                    }
+                    next = null;
+                }
+                if (block == null) {
+                    Throwable failure = prefetchFailure;
+                    prefetchFailure = null;
+                    try {
+                        block = new Block(nextInitValue(config), allocationSize);
+                    } catch (RuntimeException e) {
+                        if (failure != null && failure != e) {
+                            e.addSuppressed(failure);
+                        }
+                        throw e;
+                    }
+                }
+                current = block;
+            }
+        }
+    }
+
+    /**
+     * 識別子のブロックです。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected static class Block {
+
+        /** 初期値 */
+        protected final long initValue;
+
+        /** 割り当てサイズ */
+        protected final long size;
+
+        /** 次に払い出すオフセット */
+        protected final AtomicLong offset = new AtomicLong();
+
+        protected Block(long initValue, long size) {
+            this.initValue = initValue;
+            this.size = Math.max(size, 1);
+        }
     }
 }
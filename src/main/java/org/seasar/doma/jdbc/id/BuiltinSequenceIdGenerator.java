@@ -17,6 +17,7 @@ package org.seasar.doma.jdbc.id;
 
 import org.seasar.doma.GenerationType;
 import org.seasar.doma.jdbc.Sql;
+import org.seasar.doma.jdbc.dialect.Dialect;
 
 /**
  * {@link SequenceIdGenerator} のデフォルトの実装です。
@@ -46,6 +47,17 @@ public class BuiltinSequenceIdGenerator extends AbstractPreGenerateIdGenerator
         return getGeneratedValue(config, sql);
     }
 
+    @Override
+    protected long[] getNewInitialValues(IdGenerationConfig config, int count) {
+        Dialect dialect = config.getDialect();
+        if (count < 2 || !dialect.supportsSequenceReservation()) {
+            return super.getNewInitialValues(config, count);
+        }
+        Sql<?> sql = dialect.getSequenceReservationSql(qualifiedSequenceName,
+                allocationSize, count);
+        return getGeneratedValues(config, sql, count);
+    }
+
     @Override
     public GenerationType getGenerationType() {
         return GenerationType.SEQUENCE;
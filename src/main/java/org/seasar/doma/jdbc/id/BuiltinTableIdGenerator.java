@@ -95,23 +95,37 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
         if (valueColumnName == null) {
             throw new JdbcException(Message.DOMA2033, "valueColumnName");
         }
-        LongWrapper allocationSizeWrapper = new LongWrapper();
-        allocationSizeWrapper.set(allocationSize);
         StringWrapper pkColumnValueWrapper = new StringWrapper();
         pkColumnValueWrapper.set(pkColumnValue);
-        updateSql = new PreparedSql(
+        updateSql = createUpdateSql(allocationSize);
+        selectSql = new PreparedSql(SqlKind.SELECT, createSelectRawSql(),
+                createSelectFormattedSql(), null,
+                Arrays.asList(new BasicInParameter<String>(
+                        () -> pkColumnValueWrapper)), SqlLogType.FORMATTED);
+    }
+
+    /**
+     * 識別子を更新するSQLを返します。
+     * 
+     * @param increment
+     *            増分
+     * @return 識別子を更新するSQL
+     * @since 2.20.0
+     */
+    protected PreparedSql createUpdateSql(long increment) {
+        LongWrapper incrementWrapper = new LongWrapper();
+        incrementWrapper.set(increment);
+        StringWrapper pkColumnValueWrapper = new StringWrapper();
+        pkColumnValueWrapper.set(pkColumnValue);
+        return new PreparedSql(
                 SqlKind.UPDATE,
                 createUpdateRawSql(),
-                createUpdateFormattedSql(),
+                createUpdateFormattedSql(increment),
                 null,
                 Arrays.asList(
-                        new BasicInParameter<Long>(() -> allocationSizeWrapper),
+                        new BasicInParameter<Long>(() -> incrementWrapper),
                         new BasicInParameter<String>(() -> pkColumnValueWrapper)),
                 SqlLogType.FORMATTED);
-        selectSql = new PreparedSql(SqlKind.SELECT, createSelectRawSql(),
-                createSelectFormattedSql(), null,
-                Arrays.asList(new BasicInParameter<String>(
-                        () -> pkColumnValueWrapper)), SqlLogType.FORMATTED);
     }
 
     /**
@@ -139,6 +153,18 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
      * @return 識別子を更新するログ用SQL
      */
     protected String createUpdateFormattedSql() {
+        return createUpdateFormattedSql(allocationSize);
+    }
+
+    /**
+     * 識別子を更新するログ用SQLを返します。
+     * 
+     * @param increment
+     *            増分
+     * @return 識別子を更新するログ用SQL
+     * @since 2.20.0
+     */
+    protected String createUpdateFormattedSql(long increment) {
         StringBuilder buf = new StringBuilder(100);
         buf.append("update ");
         buf.append(qualifiedTableName);
@@ -147,7 +173,7 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
         buf.append(" = ");
         buf.append(valueColumnName);
         buf.append(" + ");
-        buf.append(allocationSize);
+        buf.append(increment);
         buf.append(" where ");
         buf.append(pkColumnName);
         buf.append(" = '");
@@ -194,6 +220,40 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
 
     @Override
     protected long getNewInitialValue(final IdGenerationConfig config) {
+        return getNewValue(config, updateSql, allocationSize) - allocationSize;
+    }
+
+    @Override
+    protected long[] getNewInitialValues(IdGenerationConfig config, int count) {
+        if (count < 2) {
+            return super.getNewInitialValues(config, count);
+        }
+        long increment = allocationSize * count;
+        long initialValue = getNewValue(config, createUpdateSql(increment),
+                increment) - increment;
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = initialValue + allocationSize * i;
+        }
+        return values;
+    }
+
+    /**
+     * 識別子を増分して新しい値を返します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param updateSql
+     *            更新用SQL
+     * @param increment
+     *            増分
+     * @return 新しい値
+     * @throws JdbcException
+     *             新しい値の取得に失敗した場合
+     * @since 2.20.0
+     */
+    protected long getNewValue(final IdGenerationConfig config,
+            final PreparedSql updateSql, final long increment) {
         RequiresNewController controller = config.getRequiresNewController();
         try {
             Long value = controller
@@ -201,11 +261,11 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
 
                         @Override
                         public Long execute() {
-                            updateId(config, updateSql);
+                            updateId(config, updateSql, increment);
                             return selectId(config, selectSql);
                         }
                     });
-            return value - allocationSize;
+            return value;
         } catch (Throwable t) {
             throw new JdbcException(Message.DOMA2018, t, config.getEntityType()
                     .getName(), t);
@@ -223,6 +283,24 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
      *             識別子の更新に失敗した場合
      */
     protected void updateId(IdGenerationConfig config, PreparedSql sql) {
+        updateId(config, sql, allocationSize);
+    }
+
+    /**
+     * 識別子を更新します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param sql
+     *            更新用SQL
+     * @param increment
+     *            増分
+     * @throws JdbcException
+     *             識別子の更新に失敗した場合
+     * @since 2.20.0
+     */
+    protected void updateId(IdGenerationConfig config, PreparedSql sql,
+            long increment) {
         JdbcLogger logger = config.getJdbcLogger();
         Connection connection = JdbcUtil.getConnection(config.getDataSource());
         try {
@@ -231,7 +309,7 @@ public class BuiltinTableIdGenerator extends AbstractPreGenerateIdGenerator
             try {
                 logger.logSql(getClass().getName(), "updateId", sql);
                 setupOptions(config, preparedStatement);
-                preparedStatement.setLong(1, allocationSize);
+                preparedStatement.setLong(1, increment);
                 preparedStatement.setString(2, pkColumnValue);
                 int rows = preparedStatement.executeUpdate();
                 if (rows != 1) {
@@ -17,6 +17,8 @@ package org.seasar.doma.jdbc.id;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.util.concurrent.Executor;
+
 import javax.sql.DataSource;
 
 import org.seasar.doma.jdbc.Config;
@@ -43,6 +45,9 @@ public class IdGenerationConfig {
     /** 識別子プロバイダ */
     protected final IdProvider idProvider;
 
+    /** まとめて生成される識別子の数 */
+    protected final int reservationSize;
+
     /**
      * インスタンスを構築します。
      * 
@@ -67,10 +72,29 @@ public class IdGenerationConfig {
      */
     public IdGenerationConfig(Config config, EntityType<?> entityType,
             IdProvider idProvider) {
+        this(config, entityType, idProvider, 1);
+    }
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param config
+     *            JDBCの設定
+     * @param entityType
+     *            識別子が属するエンティティ
+     * @param idProvider
+     *            識別子プロバイダ
+     * @param reservationSize
+     *            まとめて生成される識別子の数
+     * @since 2.20.0
+     */
+    public IdGenerationConfig(Config config, EntityType<?> entityType,
+            IdProvider idProvider, int reservationSize) {
         assertNotNull(config, entityType, idProvider);
         this.config = config;
         this.entityType = entityType;
         this.idProvider = idProvider;
+        this.reservationSize = reservationSize;
     }
 
     public DataSource getDataSource() {
@@ -109,6 +133,16 @@ public class IdGenerationConfig {
         return config.getQueryTimeout();
     }
 
+    /**
+     * 識別子の先読みに使用するエグゼキュータを返します。
+     * 
+     * @return エグゼキュータ
+     * @since 2.20.0
+     */
+    public Executor getExecutor() {
+        return config.getExecutor();
+    }
+
     public EntityType<?> getEntityType() {
         return entityType;
     }
@@ -117,6 +151,18 @@ public class IdGenerationConfig {
         return idProvider;
     }
 
+    /**
+     * まとめて生成される識別子の数を返します。
+     * <p>
+     * バッチ挿入では挿入されるエンティティの数を返します。
+     * 
+     * @return まとめて生成される識別子の数
+     * @since 2.20.0
+     */
+    public int getReservationSize() {
+        return reservationSize;
+    }
+
     protected static class UnavailableIdProvider implements IdProvider {
         @Override
         public boolean isAvailable() {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.id;
+
+import java.sql.Statement;
+
+/**
+ * 複数行を挿入するINSERT文でデータベースが生成した識別子を取得する方法を示します。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public enum MultiRowInsertGeneratedKeysType {
+
+    /**
+     * 取得できないことを示します。
+     */
+    UNSUPPORTED,
+
+    /**
+     * {@link Statement#getGeneratedKeys()} で挿入した行の順に取得することを示します。
+     */
+    GENERATED_KEYS,
+
+    /**
+     * INSERT文を識別子を結果セットとして返すSQLに変換し、挿入した行の順に取得することを示します。
+     * 
+     * @see org.seasar.doma.jdbc.dialect.Dialect#toMultiRowInsertReturningSql(org.seasar.doma.jdbc.PreparedSql,
+     *      String)
+     */
+    RETURNING
+}
@@ -49,6 +49,18 @@ public interface SequenceIdGenerator extends IdGenerator {
      */
     void setAllocationSize(long allocationSize);
 
+    /**
+     * 次の識別子のブロックを先読みするかどうかを設定します。
+     * <p>
+     * デフォルトの実装は何も行いません。先読みをサポートする実装はこのメソッドをオーバーライドします。
+     * 
+     * @param prefetchEnabled
+     *            先読みする場合 {@code true}
+     * @since 2.20.0
+     */
+    default void setPrefetchEnabled(boolean prefetchEnabled) {
+    }
+
     /**
      * このジェネレータを初期化します。
      * 
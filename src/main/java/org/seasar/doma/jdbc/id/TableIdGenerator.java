@@ -50,6 +50,18 @@ public interface TableIdGenerator extends IdGenerator {
      */
     void setAllocationSize(long allocationSize);
 
+    /**
+     * 次の識別子のブロックを先読みするかどうかを設定します。
+     * <p>
+     * デフォルトの実装は何も行いません。先読みをサポートする実装はこのメソッドをオーバーライドします。
+     * 
+     * @param prefetchEnabled
+     *            先読みする場合 {@code true}
+     * @since 2.20.0
+     */
+    default void setPrefetchEnabled(boolean prefetchEnabled) {
+    }
+
     /**
      * 主キーのカラム名を設定します。
      * 
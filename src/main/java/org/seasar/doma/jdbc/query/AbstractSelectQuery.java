@@ -15,6 +15,9 @@
  */
 package org.seasar.doma.jdbc.query;
 
+import static org.seasar.doma.internal.Constants.KEYSET_PARAMETER_NAME_PREFIX;
+import static org.seasar.doma.internal.Constants.PARTITION_LOWER_PARAMETER_NAME;
+import static org.seasar.doma.internal.Constants.PARTITION_UPPER_PARAMETER_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.util.HashMap;
@@ -72,6 +75,8 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
 
     protected boolean resultStream;
 
+    protected boolean countColumnIncluded;
+
     protected AbstractSelectQuery() {
     }
 
@@ -79,6 +84,8 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
     public void prepare() {
         super.prepare();
         prepareOptions();
+        prepareKeys();
+        preparePartition();
         prepareSql();
         assertNotNull(sql);
     }
@@ -93,6 +100,33 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
         if (queryTimeout <= 0) {
             queryTimeout = config.getQueryTimeout();
         }
+        countColumnIncluded = SelectOptionsAccessor.isCountColumnIncluded(
+                options, config.getDialect());
+        if (countColumnIncluded) {
+            SelectOptionsAccessor.setCountSize(options, -1);
+        }
+    }
+
+    protected void prepareKeys() {
+        Object[] keys = SelectOptionsAccessor.getKeys(options);
+        if (keys == null) {
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            parameters.put(KEYSET_PARAMETER_NAME_PREFIX + i,
+                    new Value(key.getClass(), key));
+        }
+    }
+
+    protected void preparePartition() {
+        if (SelectOptionsAccessor.getPartitionKey(options) == null) {
+            return;
+        }
+        parameters.put(PARTITION_LOWER_PARAMETER_NAME, new Value(Long.class,
+                SelectOptionsAccessor.getPartitionLower(options)));
+        parameters.put(PARTITION_UPPER_PARAMETER_NAME, new Value(Long.class,
+                SelectOptionsAccessor.getPartitionUpper(options)));
     }
 
     protected abstract void prepareSql();
@@ -118,6 +152,22 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
                 .collect(Collectors.toList());
     }
 
+    protected void completeCount(SqlNode sqlNode) {
+        if (!SelectOptionsAccessor.isCount(options)) {
+            return;
+        }
+        if (countColumnIncluded) {
+            if (options.getCount() >= 0) {
+                return;
+            }
+            if (SelectOptionsAccessor.getOffset(options) <= 0) {
+                SelectOptionsAccessor.setCountSize(options, 0);
+                return;
+            }
+        }
+        executeCount(sqlNode);
+    }
+
     protected void executeCount(SqlNode sqlNode) {
         CountQuery query = new CountQuery();
         query.setCallerClassName(callerClassName);
@@ -141,6 +191,11 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
         SelectOptionsAccessor.setCountSize(options, count);
     }
 
+    @Override
+    public boolean isCountColumnIncluded() {
+        return countColumnIncluded;
+    }
+
     @Override
     public SelectOptions getOptions() {
         return options;
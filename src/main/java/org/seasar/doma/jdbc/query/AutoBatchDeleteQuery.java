@@ -19,14 +19,18 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ListIterator;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostDeleteContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreDeleteContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.Naming;
-import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
@@ -70,7 +74,6 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
             currentEntity = it.next();
             preDelete();
-            prepareSql();
             it.set(currentEntity);
         }
         assertEquals(size, sqls.size());
@@ -93,7 +96,15 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected List<Object> createSqlTemplateKey() {
+        return PreparedSqlTemplateCache.createKey(getClass(), entityType,
+                config.getNaming(), config.getDialect().getClass().getName(),
+                versionIgnored);
+    }
+
+    @Override
+    protected PreparedSqlTemplate createSqlTemplate() {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
         PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
@@ -146,8 +157,22 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             builder.appendParameter(property.asInParameter());
         }
 
-        PreparedSql sql = builder.build(this::comment);
-        sqls.add(sql);
+        return builder.toTemplate();
+    }
+
+    @Override
+    protected List<InParameter<?>> createParameters(ENTITY entity) {
+        List<InParameter<?>> parameters = new ArrayList<>();
+        for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
+            addParameter(parameters, propertyType, entity);
+        }
+        if (versionPropertyType != null && !versionIgnored) {
+            addParameter(parameters, versionPropertyType, entity);
+        }
+        if (tenantIdPropertyType != null) {
+            addParameter(parameters, tenantIdPropertyType, entity);
+        }
+        return parameters;
     }
 
     @Override
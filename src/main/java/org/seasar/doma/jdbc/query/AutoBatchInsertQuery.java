@@ -19,14 +19,24 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.function.Function;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostInsertContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreInsertContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -37,6 +47,7 @@ import org.seasar.doma.jdbc.entity.EntityType;
 import org.seasar.doma.jdbc.entity.GeneratedIdPropertyType;
 import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.id.IdGenerationConfig;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 import org.seasar.doma.jdbc.id.ReservedIdProvider;
 import org.seasar.doma.message.Message;
 
@@ -54,6 +65,12 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
 
     protected boolean batchSupported = true;
 
+    protected List<PreparedSql> multiRowSqls = Collections.emptyList();
+
+    protected int multiRowSize;
+
+    protected MultiRowInsertGeneratedKeysType multiRowGeneratedKeysType = MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+
     public AutoBatchInsertQuery(EntityType<ENTITY> entityType) {
         super(entityType);
     }
@@ -82,11 +99,11 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             preInsert();
             prepareIdValue();
             prepareVersionValue();
-            prepareSql();
             it.set(currentEntity);
         }
         currentEntity = null;
         assertEquals(entities.size(), sqls.size());
+        prepareMultiRowSqls();
     }
 
     protected void preInsert() {
@@ -106,7 +123,7 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             if (idGenerationConfig == null) {
                 idGenerationConfig = new IdGenerationConfig(config, entityType,
                         new ReservedIdProvider(config, entityType,
-                                entities.size()));
+                                entities.size()), entities.size());
                 generatedIdPropertyType
                         .validateGenerationStrategy(idGenerationConfig);
                 autoGeneratedKeysSupported = generatedIdPropertyType
@@ -164,11 +181,33 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         }
     }
 
-    protected void prepareSql() {
-        Naming naming = config.getNaming();
-        Dialect dialect = config.getDialect();
+    @Override
+    protected List<Object> createSqlTemplateKey() {
+        return PreparedSqlTemplateCache.createKey(getClass(), entityType,
+                config.getNaming(), config.getDialect().getClass().getName(),
+                targetPropertyTypes);
+    }
+
+    @Override
+    protected PreparedSqlTemplate createSqlTemplate() {
         PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
                 SqlKind.BATCH_INSERT, sqlLogType);
+        appendInsertInto(builder);
+        builder.appendSql(" values (");
+        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
+            Property<ENTITY, ?> property = propertyType.createProperty();
+            property.load(currentEntity);
+            builder.appendParameter(property.asInParameter());
+            builder.appendSql(", ");
+        }
+        builder.cutBackSql(2);
+        builder.appendSql(")");
+        return builder.toTemplate();
+    }
+
+    protected void appendInsertInto(PreparedSqlBuilder builder) {
+        Naming naming = config.getNaming();
+        Dialect dialect = config.getDialect();
         builder.appendSql("insert into ");
         builder.appendSql(entityType.getQualifiedTableName(naming::apply,
                 dialect::applyQuote));
@@ -179,17 +218,72 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             builder.appendSql(", ");
         }
         builder.cutBackSql(2);
-        builder.appendSql(") values (");
-        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
-            Property<ENTITY, ?> property = propertyType.createProperty();
-            property.load(currentEntity);
-            builder.appendParameter(property.asInParameter());
-            builder.appendSql(", ");
+        builder.appendSql(")");
+    }
+
+    protected void prepareMultiRowSqls() {
+        Dialect dialect = config.getDialect();
+        if (!config.isMultiRowBatchInsertEnabled()
+                || !dialect.supportsMultiRowInsertStatement()
+                || targetPropertyTypes.isEmpty()) {
+            return;
+        }
+        MultiRowInsertGeneratedKeysType generatedKeysType = MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+        if (!batchSupported) {
+            generatedKeysType = dialect.getMultiRowInsertGeneratedKeysType();
+            if (generatedKeysType == MultiRowInsertGeneratedKeysType.UNSUPPORTED) {
+                return;
+            }
+        }
+        int size = dialect.getMultiRowInsertParameterLimit()
+                / targetPropertyTypes.size();
+        if (batchSize > 1) {
+            size = Math.min(size, batchSize);
+        }
+        if (size < 2) {
+            return;
+        }
+        multiRowSqls = new MultiRowSqlList(size);
+        multiRowSize = size;
+        multiRowGeneratedKeysType = generatedKeysType;
+    }
+
+    protected PreparedSql createMultiRowSql(List<ENTITY> rows) {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.BATCH_INSERT, sqlLogType);
+        appendInsertInto(builder);
+        builder.appendSql(" values ");
+        for (ENTITY entity : rows) {
+            builder.appendSql("(");
+            for (InParameter<?> parameter : createParameters(entity)) {
+                builder.appendParameter(parameter);
+                builder.appendSql(", ");
+            }
+            builder.cutBackSql(2);
+            builder.appendSql("), ");
         }
         builder.cutBackSql(2);
-        builder.appendSql(")");
-        PreparedSql sql = builder.build(this::comment);
-        sqls.add(sql);
+        if (multiRowGeneratedKeysType != MultiRowInsertGeneratedKeysType.RETURNING) {
+            return builder.build(this::comment);
+        }
+        Naming naming = config.getNaming();
+        Dialect dialect = config.getDialect();
+        PreparedSql sql = dialect.toMultiRowInsertReturningSql(
+                builder.build(Function.identity()), generatedIdPropertyType
+                        .getColumnName(naming::apply, dialect::applyQuote));
+        return new PreparedSql(sql.getKind(), sql.getRawSql(),
+                sql::getFormattedSql, sql.getSqlFilePath(),
+                sql.getParameters(), sql.getSqlLogType(), this::comment);
+    }
+
+    @Override
+    protected List<InParameter<?>> createParameters(ENTITY entity) {
+        List<InParameter<?>> parameters = new ArrayList<>(
+                targetPropertyTypes.size());
+        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
+            addParameter(parameters, propertyType, entity);
+        }
+        return parameters;
     }
 
     @Override
@@ -197,6 +291,38 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         return batchSupported;
     }
 
+    @Override
+    public List<PreparedSql> getMultiRowSqls() {
+        return multiRowSqls;
+    }
+
+    @Override
+    public int getMultiRowSize() {
+        return multiRowSize;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowGeneratedKeysType() {
+        return multiRowGeneratedKeysType;
+    }
+
+    @Override
+    public int generateIds(ResultSet resultSet, int index, int size)
+            throws SQLException {
+        if (generatedIdPropertyType == null) {
+            return 0;
+        }
+        int count = 0;
+        while (count < size && resultSet.next()) {
+            int i = index + count;
+            ENTITY newEntity = generatedIdPropertyType.postInsert(entityType,
+                    entities.get(i), resultSet.getLong(1));
+            entities.set(i, newEntity);
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public void generateId(Statement statement, int index) {
         if (generatedIdPropertyType != null && idGenerationConfig != null) {
@@ -224,6 +350,37 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         }
     }
 
+    /**
+     * 複数行を挿入するSQLを要求されるたびに作成するリストです。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected class MultiRowSqlList extends AbstractList<PreparedSql>
+            implements RandomAccess {
+
+        protected final int rowSize;
+
+        protected MultiRowSqlList(int rowSize) {
+            this.rowSize = rowSize;
+        }
+
+        @Override
+        public PreparedSql get(int index) {
+            int fromIndex = index * rowSize;
+            if (index < 0 || fromIndex >= entities.size()) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            int toIndex = Math.min(fromIndex + rowSize, entities.size());
+            return createMultiRowSql(entities.subList(fromIndex, toIndex));
+        }
+
+        @Override
+        public int size() {
+            return (entities.size() + rowSize - 1) / rowSize;
+        }
+    }
+
     protected static class AutoBatchPreInsertContext<E> extends
             AbstractPreInsertContext<E> {
 
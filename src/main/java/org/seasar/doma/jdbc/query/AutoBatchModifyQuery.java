@@ -17,16 +17,23 @@ package org.seasar.doma.jdbc.query;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlExecutionSkipCause;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
+import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.entity.TenantIdPropertyType;
 import org.seasar.doma.jdbc.entity.VersionPropertyType;
 import org.seasar.doma.message.Message;
@@ -41,6 +48,9 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
 
     protected static final String[] EMPTY_STRINGS = new String[] {};
 
+    /** 自動生成されるSQLのテンプレートのキャッシュ */
+    protected static final PreparedSqlTemplateCache sqlTemplateCache = new PreparedSqlTemplateCache();
+
     protected List<EntityPropertyType<ENTITY, ?>> targetPropertyTypes;
 
     protected List<EntityPropertyType<ENTITY, ?>> idPropertyTypes;
@@ -65,6 +75,8 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
 
     protected List<PreparedSql> sqls;
 
+    protected PreparedSqlTemplate sqlTemplate;
+
     protected List<ENTITY> entities;
 
     protected ENTITY currentEntity;
@@ -134,7 +146,59 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
                 this.entities.add(entity);
             }
         }
-        this.sqls = new ArrayList<PreparedSql>(this.entities.size());
+        this.sqls = Collections.emptyList();
+    }
+
+    /**
+     * 最初のエンティティについて作成したSQLをもとに、すべてのエンティティのSQLを準備します。
+     * <p>
+     * SQLの文字列はテンプレートとしてキャッシュされます。2番目以降のエンティティのSQLは、
+     * テンプレートを共有し、バッチの実行時に必要になった時点で作成されます。
+     * 
+     * @since 2.20.0
+     */
+    protected void prepareSql() {
+        sqlTemplate = sqlTemplateCache.get(createSqlTemplateKey(),
+                this::createSqlTemplate);
+        sqls = new PreparedSqlList(sqlTemplate.build(config, sqlLogType,
+                createParameters(currentEntity), this::comment));
+    }
+
+    /**
+     * SQLのテンプレートのキャッシュのキーを作成します。
+     * <p>
+     * キーには、テンプレートの内容を決定するすべての要素を含めなければいけません。
+     * 
+     * @return キー
+     * @since 2.20.0
+     */
+    protected abstract List<Object> createSqlTemplateKey();
+
+    /**
+     * 現在のエンティティについてSQLのテンプレートを作成します。
+     * 
+     * @return テンプレート
+     * @since 2.20.0
+     */
+    protected abstract PreparedSqlTemplate createSqlTemplate();
+
+    /**
+     * エンティティの値からバインド変数のパラメータのリストを作成します。
+     * <p>
+     * パラメータは、SQLのバインド変数と同じ順序で並んでいなければいけません。
+     * 
+     * @param entity
+     *            エンティティ
+     * @return パラメータのリスト
+     * @since 2.20.0
+     */
+    protected abstract List<InParameter<?>> createParameters(ENTITY entity);
+
+    protected void addParameter(List<InParameter<?>> parameters,
+            EntityPropertyType<ENTITY, ?> propertyType, ENTITY entity) {
+        Property<ENTITY, ?> property = propertyType.createProperty();
+        property.load(entity);
+        parameters.add(property.asInParameter());
     }
 
     public List<ENTITY> getEntities() {
@@ -202,4 +266,38 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
         return sqls.toString();
     }
 
+    /**
+     * エンティティごとのSQLを要求されるたびに作成するリストです。
+     * <p>
+     * SQLを保持しないため、バッチ対象のエンティティの数に比例したSQLの文字列やパラメータのリストは生成されません。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected class PreparedSqlList extends AbstractList<PreparedSql> implements
+            RandomAccess {
+
+        protected final PreparedSql firstSql;
+
+        protected PreparedSqlList(PreparedSql firstSql) {
+            this.firstSql = firstSql;
+        }
+
+        @Override
+        public PreparedSql get(int index) {
+            if (index == 0) {
+                return firstSql;
+            }
+            ENTITY entity = entities.get(index);
+            return sqlTemplate.build(config, sqlLogType,
+                    createParameters(entity),
+                    AutoBatchModifyQuery.this::comment);
+        }
+
+        @Override
+        public int size() {
+            return entities.size();
+        }
+    }
+
 }
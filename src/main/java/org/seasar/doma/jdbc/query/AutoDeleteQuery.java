@@ -18,11 +18,16 @@ package org.seasar.doma.jdbc.query;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostDeleteContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreDeleteContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
@@ -77,7 +82,15 @@ public class AutoDeleteQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected List<Object> createSqlTemplateKey() {
+        return PreparedSqlTemplateCache.createKey(getClass(), entityType,
+                config.getNaming(), config.getDialect().getClass().getName(),
+                versionIgnored);
+    }
+
+    @Override
+    protected PreparedSqlTemplate createSqlTemplate() {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
         PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
@@ -128,7 +141,22 @@ public class AutoDeleteQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
             builder.appendSql(" = ");
             builder.appendParameter(property.asInParameter());
         }
-        sql = builder.build(this::comment);
+        return builder.toTemplate();
+    }
+
+    @Override
+    protected List<InParameter<?>> createParameters() {
+        List<InParameter<?>> parameters = new ArrayList<>();
+        for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
+            addParameter(parameters, propertyType);
+        }
+        if (versionPropertyType != null && !versionIgnored) {
+            addParameter(parameters, versionPropertyType);
+        }
+        if (tenantIdPropertyType != null) {
+            addParameter(parameters, tenantIdPropertyType);
+        }
+        return parameters;
     }
 
     @Override
@@ -20,11 +20,15 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import java.lang.reflect.Method;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostInsertContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreInsertContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.SqlKind;
@@ -144,7 +148,15 @@ public class AutoInsertQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected List<Object> createSqlTemplateKey() {
+        return PreparedSqlTemplateCache.createKey(getClass(), entityType,
+                config.getNaming(), config.getDialect().getClass().getName(),
+                targetPropertyTypes);
+    }
+
+    @Override
+    protected PreparedSqlTemplate createSqlTemplate() {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
         PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
@@ -168,7 +180,17 @@ public class AutoInsertQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
         }
         builder.cutBackSql(2);
         builder.appendSql(")");
-        sql = builder.build(this::comment);
+        return builder.toTemplate();
+    }
+
+    @Override
+    protected List<InParameter<?>> createParameters() {
+        List<InParameter<?>> parameters = new ArrayList<>(
+                targetPropertyTypes.size());
+        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
+            addParameter(parameters, propertyType);
+        }
+        return parameters;
     }
 
     @Override
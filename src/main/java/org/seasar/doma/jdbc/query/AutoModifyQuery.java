@@ -17,13 +17,17 @@ package org.seasar.doma.jdbc.query;
 
 import java.util.List;
 
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.internal.util.AssertionUtil;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlExecutionSkipCause;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
+import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.entity.TenantIdPropertyType;
 import org.seasar.doma.jdbc.entity.VersionPropertyType;
 import org.seasar.doma.message.Message;
@@ -38,6 +42,9 @@ public abstract class AutoModifyQuery<ENTITY> extends AbstractQuery implements
 
     protected static final String[] EMPTY_STRINGS = new String[] {};
 
+    /** 自動生成されるSQLのテンプレートのキャッシュ */
+    protected static final PreparedSqlTemplateCache sqlTemplateCache = new PreparedSqlTemplateCache();
+
     protected String[] includedPropertyNames = EMPTY_STRINGS;
 
     protected String[] excludedPropertyNames = EMPTY_STRINGS;
@@ -89,6 +96,55 @@ public abstract class AutoModifyQuery<ENTITY> extends AbstractQuery implements
         }
     }
 
+    /**
+     * SQLを準備します。
+     * <p>
+     * SQLの文字列はテンプレートとしてキャッシュされ、2回目以降はバインド変数のパラメータだけが作成されます。
+     * 
+     * @since 2.20.0
+     */
+    protected void prepareSql() {
+        PreparedSqlTemplate template = sqlTemplateCache.get(
+                createSqlTemplateKey(), this::createSqlTemplate);
+        sql = template.build(config, sqlLogType, createParameters(),
+                this::comment);
+    }
+
+    /**
+     * SQLのテンプレートのキャッシュのキーを作成します。
+     * <p>
+     * キーには、テンプレートの内容を決定するすべての要素を含めなければいけません。
+     * 
+     * @return キー
+     * @since 2.20.0
+     */
+    protected abstract List<Object> createSqlTemplateKey();
+
+    /**
+     * SQLのテンプレートを作成します。
+     * 
+     * @return テンプレート
+     * @since 2.20.0
+     */
+    protected abstract PreparedSqlTemplate createSqlTemplate();
+
+    /**
+     * エンティティの値からバインド変数のパラメータのリストを作成します。
+     * <p>
+     * パラメータは、SQLのバインド変数と同じ順序で並んでいなければいけません。
+     * 
+     * @return パラメータのリスト
+     * @since 2.20.0
+     */
+    protected abstract List<InParameter<?>> createParameters();
+
+    protected void addParameter(List<InParameter<?>> parameters,
+            EntityPropertyType<ENTITY, ?> propertyType) {
+        Property<ENTITY, ?> property = propertyType.createProperty();
+        property.load(entity);
+        parameters.add(property.asInParameter());
+    }
+
     protected boolean isTargetPropertyName(String name) {
         if (includedPropertyNames.length > 0) {
             for (String includedName : includedPropertyNames) {
@@ -18,6 +18,7 @@ package org.seasar.doma.jdbc.query;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,7 +26,10 @@ import java.util.Set;
 import org.seasar.doma.internal.jdbc.entity.AbstractPostUpdateContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreUpdateContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplateCache;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
@@ -104,7 +108,15 @@ public class AutoUpdateQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected List<Object> createSqlTemplateKey() {
+        return PreparedSqlTemplateCache.createKey(getClass(), entityType,
+                config.getNaming(), config.getDialect().getClass().getName(),
+                versionIgnored, targetPropertyTypes);
+    }
+
+    @Override
+    protected PreparedSqlTemplate createSqlTemplate() {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
         PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
@@ -158,7 +170,28 @@ public class AutoUpdateQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
             builder.appendSql(" = ");
             builder.appendParameter(property.asInParameter());
         }
-        sql = builder.build(this::comment);
+        return builder.toTemplate();
+    }
+
+    @Override
+    protected List<InParameter<?>> createParameters() {
+        List<InParameter<?>> parameters = new ArrayList<>();
+        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
+            addParameter(parameters, propertyType);
+        }
+        if (!versionIgnored && versionPropertyType != null) {
+            addParameter(parameters, versionPropertyType);
+        }
+        for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
+            addParameter(parameters, propertyType);
+        }
+        if (!versionIgnored && versionPropertyType != null) {
+            addParameter(parameters, versionPropertyType);
+        }
+        if (tenantIdPropertyType != null) {
+            addParameter(parameters, tenantIdPropertyType);
+        }
+        return parameters;
     }
 
     @Override
@@ -15,7 +15,13 @@
  */
 package org.seasar.doma.jdbc.query;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 
 /**
  * @author taedium
@@ -27,4 +33,50 @@ public interface BatchInsertQuery extends BatchModifyQuery {
 
     void generateId(Statement statement, int index);
 
+    /**
+     * 複数行を挿入するSQLのリストを返します。
+     * <p>
+     * 複数行を挿入するINSERT文を使用しない場合は空のリストを返します。
+     * 
+     * @return 複数行を挿入するSQLのリスト
+     * @since 2.20.0
+     */
+    List<PreparedSql> getMultiRowSqls();
+
+    /**
+     * 複数行を挿入するSQL1つあたりの行数を返します。
+     * <p>
+     * 最後のSQLの行数はこの値より小さい場合があります。
+     * 
+     * @return 複数行を挿入するSQL1つあたりの行数
+     * @since 2.20.0
+     */
+    int getMultiRowSize();
+
+    /**
+     * 複数行を挿入するSQLでデータベースが生成した識別子を取得する方法を返します。
+     * 
+     * @return 識別子を取得する方法、識別子を取得する必要がない場合
+     *         {@link MultiRowInsertGeneratedKeysType#UNSUPPORTED}
+     * @since 2.20.0
+     */
+    MultiRowInsertGeneratedKeysType getMultiRowGeneratedKeysType();
+
+    /**
+     * 複数行を挿入するSQLでデータベースが生成した識別子をエンティティに設定します。
+     * 
+     * @param resultSet
+     *            識別子を挿入した行の順に含む結果セット
+     * @param index
+     *            先頭の行に対応するエンティティのインデックス
+     * @param size
+     *            行数
+     * @return 設定した識別子の数
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    int generateIds(ResultSet resultSet, int index, int size)
+            throws SQLException;
+
 }
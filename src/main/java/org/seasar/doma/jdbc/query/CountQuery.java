@@ -19,8 +19,11 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.FetchType;
 import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.dialect.Dialect;
 
 /**
  * @author taedium
@@ -45,6 +48,11 @@ public class CountQuery extends AbstractSelectQuery {
         return FetchType.LAZY;
     }
 
+    @Override
+    public boolean isCountColumnIncluded() {
+        return false;
+    }
+
     @Override
     public void prepare() {
         super.prepare();
@@ -53,8 +61,19 @@ public class CountQuery extends AbstractSelectQuery {
 
     @Override
     protected void prepareSql() {
-        SqlNode transformedSqlNode = config.getDialect()
-                .transformSelectSqlNodeForGettingCount(sqlNode);
+        Dialect dialect = config.getDialect();
+        SqlNode partitionedSqlNode = sqlNode;
+        String partitionKey = SelectOptionsAccessor.getPartitionKey(options);
+        if (partitionKey != null) {
+            SelectOptions partitionOptions = SelectOptions.get().partition(
+                    partitionKey,
+                    SelectOptionsAccessor.getPartitionLower(options),
+                    SelectOptionsAccessor.getPartitionUpper(options));
+            partitionedSqlNode = dialect.transformSelectSqlNode(sqlNode,
+                    partitionOptions);
+        }
+        SqlNode transformedSqlNode = dialect
+                .transformSelectSqlNodeForGettingCount(partitionedSqlNode);
         buildSql((evaluator, expander) -> {
             NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
                     config, SqlKind.SELECT, null, evaluator, sqlLogType,
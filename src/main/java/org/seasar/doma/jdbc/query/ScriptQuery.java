@@ -34,4 +34,17 @@ public interface ScriptQuery extends Query {
     boolean getHaltOnError();
 
     SqlLogType getSqlLogType();
+
+    /**
+     * バッチサイズを返します。
+     * <p>
+     * {@code 1} より大きい場合、連続するDML文は {@link java.sql.Statement#addBatch(String)}
+     * でまとめて実行されます。
+     * 
+     * @return バッチサイズ
+     * @since 2.20.0
+     */
+    default int getBatchSize() {
+        return 0;
+    }
 }
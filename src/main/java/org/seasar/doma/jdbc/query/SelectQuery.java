@@ -44,4 +44,14 @@ public interface SelectQuery extends Query {
     SqlLogType getSqlLogType();
 
     boolean isResultStream();
+
+    /**
+     * 集計がウィンドウ関数で計算され、検索結果の列に含まれるかどうかを返します。
+     * 
+     * @return 含まれる場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean isCountColumnIncluded() {
+        return false;
+    }
 }
@@ -15,9 +15,14 @@
  */
 package org.seasar.doma.jdbc.query;
 
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 
 /**
  * @author bakenezumi
@@ -38,4 +43,24 @@ public class SqlBatchInsertQuery extends SqlBatchModifyQuery implements BatchIns
         return true;
     }
 
+    @Override
+    public List<PreparedSql> getMultiRowSqls() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getMultiRowSize() {
+        return 0;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+    }
+
+    @Override
+    public int generateIds(ResultSet resultSet, int index, int size) {
+        return 0;
+    }
+
 }
@@ -19,14 +19,19 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 import java.util.ListIterator;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostInsertContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreInsertContext;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.entity.EntityType;
+import org.seasar.doma.jdbc.id.MultiRowInsertGeneratedKeysType;
 
 /**
  * @author taedium
@@ -98,6 +103,26 @@ public class SqlFileBatchInsertQuery<ELEMENT> extends
         return true;
     }
 
+    @Override
+    public List<PreparedSql> getMultiRowSqls() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getMultiRowSize() {
+        return 0;
+    }
+
+    @Override
+    public MultiRowInsertGeneratedKeysType getMultiRowGeneratedKeysType() {
+        return MultiRowInsertGeneratedKeysType.UNSUPPORTED;
+    }
+
+    @Override
+    public int generateIds(ResultSet resultSet, int index, int size) {
+        return 0;
+    }
+
     protected class EntityHandler {
 
         protected EntityType<ELEMENT> entityType;
@@ -43,6 +43,8 @@ public class SqlFileScriptQuery extends AbstractQuery implements ScriptQuery {
 
     protected SqlLogType sqlLogType;
 
+    protected int batchSize;
+
     public void setScriptFilePath(String scriptFilePath) {
         this.scriptFilePath = scriptFilePath;
     }
@@ -59,6 +61,10 @@ public class SqlFileScriptQuery extends AbstractQuery implements ScriptQuery {
         this.sqlLogType = sqlLogType;
     }
 
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public void prepare() {
         super.prepare();
@@ -121,4 +127,9 @@ public class SqlFileScriptQuery extends AbstractQuery implements ScriptQuery {
         return sqlLogType;
     }
 
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
 }
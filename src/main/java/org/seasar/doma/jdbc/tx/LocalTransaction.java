@@ -568,6 +568,7 @@ public class LocalTransaction {
             return;
         }
         LocalTransactionConnection connection = context.getConnection();
+        connection.clearStatementCache();
         int isolationLevel = connection.getPreservedTransactionIsolation();
         if (isolationLevel != Connection.TRANSACTION_NONE) {
             try {
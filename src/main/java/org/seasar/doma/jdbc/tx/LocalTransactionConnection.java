@@ -36,6 +36,7 @@ import java.sql.Struct;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * ローカルトランザクションと連動するコネクションです。
@@ -53,6 +54,9 @@ class LocalTransactionConnection implements Connection {
 
     private final int preservedTransactionIsolation;
 
+    /** ステートメントのキャッシュ、キャッシュしない場合 {@code null} */
+    private PreparedStatementCache statementCache;
+
     /**
      * インスタンスを構築します。
      * 
@@ -71,6 +75,44 @@ class LocalTransactionConnection implements Connection {
         return this.preservedTransactionIsolation;
     }
 
+    /**
+     * ステートメントのキャッシュを有効にします。
+     * <p>
+     * すでに有効な場合は何もしません。
+     * 
+     * @param capacity
+     *            キャッシュするステートメントの上限
+     * @param hitCounter
+     *            キャッシュのヒット数のカウンター
+     * @param missCounter
+     *            キャッシュのミス数のカウンター
+     * @since 2.20.0
+     */
+    void enableStatementCache(int capacity, LongAdder hitCounter,
+            LongAdder missCounter) {
+        assertTrue(capacity > 0, capacity);
+        assertNotNull(hitCounter, missCounter);
+        if (statementCache == null) {
+            statementCache = new PreparedStatementCache(this, capacity,
+                    hitCounter, missCounter);
+        }
+    }
+
+    /**
+     * キャッシュされたステートメントをすべて閉じます。
+     * 
+     * @since 2.20.0
+     */
+    void clearStatementCache() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+    }
+
+    PreparedStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     /**
      * ラップされたコネクションを返します。
      * 
@@ -259,12 +301,22 @@ class LocalTransactionConnection implements Connection {
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
             throws SQLException {
+        if (statementCache != null) {
+            return statementCache.borrow(new PreparedStatementCache.Key(sql,
+                    autoGeneratedKeys, null), () -> connection
+                    .prepareStatement(sql, autoGeneratedKeys));
+        }
         return connection.prepareStatement(sql, autoGeneratedKeys);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes)
             throws SQLException {
+        if (statementCache != null) {
+            return statementCache.borrow(new PreparedStatementCache.Key(sql,
+                    -1, columnIndexes.clone()), () -> connection
+                    .prepareStatement(sql, columnIndexes));
+        }
         return connection.prepareStatement(sql, columnIndexes);
     }
 
@@ -276,6 +328,10 @@ class LocalTransactionConnection implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.borrow(new PreparedStatementCache.Key(sql,
+                    -1, null), () -> connection.prepareStatement(sql));
+        }
         return connection.prepareStatement(sql);
     }
 
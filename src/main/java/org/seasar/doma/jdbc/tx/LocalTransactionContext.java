@@ -63,6 +63,9 @@ public class LocalTransactionContext {
     }
 
     void end() {
+        if (localTxConnection != null) {
+            localTxConnection.clearStatementCache();
+        }
         id = null;
         connectionInitializer = null;
     }
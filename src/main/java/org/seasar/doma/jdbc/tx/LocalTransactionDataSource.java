@@ -17,12 +17,15 @@ package org.seasar.doma.jdbc.tx;
 
 import java.io.PrintWriter;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
+import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.SimpleDataSource;
@@ -45,6 +48,15 @@ public final class LocalTransactionDataSource implements DataSource {
     /** データソース */
     private final DataSource dataSource;
 
+    /** コネクションごとにキャッシュするステートメントの上限、キャッシュしない場合 {@code 0} */
+    private final int statementCacheSize;
+
+    /** ステートメントのキャッシュのヒット数 */
+    private final LongAdder statementCacheHitCounter = new LongAdder();
+
+    /** ステートメントのキャッシュのミス数 */
+    private final LongAdder statementCacheMissCounter = new LongAdder();
+
     /**
      * インスタンスを構築します。
      * 
@@ -54,10 +66,38 @@ public final class LocalTransactionDataSource implements DataSource {
      *             {@code dataSource} が {@code null} の場合
      */
     public LocalTransactionDataSource(DataSource dataSource) {
+        this(dataSource, 0);
+    }
+
+    /**
+     * ステートメントのキャッシュの上限を指定してインスタンスを構築します。
+     * <p>
+     * {@code statementCacheSize} が {@code 0} より大きい場合、トランザクションの間、
+     * {@link PreparedStatement} をコネクションごとにキャッシュします。
+     * ステートメントは生のSQLと自動生成キーの取得方法ごとにキャッシュされ、 {@link PreparedStatement#close()}
+     * の呼び出しにより閉じられずにキャッシュに返却されます。 キャッシュされたステートメントはトランザクションの終了時に閉じられます。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param statementCacheSize
+     *            コネクションごとにキャッシュするステートメントの上限
+     * @throws DomaNullPointerException
+     *             {@code dataSource} が {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code statementCacheSize} が {@code 0} より小さい場合
+     * @since 2.20.0
+     */
+    public LocalTransactionDataSource(DataSource dataSource,
+            int statementCacheSize) {
         if (dataSource == null) {
             throw new DomaNullPointerException("dataSource");
         }
+        if (statementCacheSize < 0) {
+            throw new DomaIllegalArgumentException("statementCacheSize",
+                    "statementCacheSize < 0");
+        }
         this.dataSource = dataSource;
+        this.statementCacheSize = statementCacheSize;
     }
 
     /**
@@ -85,6 +125,7 @@ public final class LocalTransactionDataSource implements DataSource {
             simpleDataSource.setPassword(password);
         }
         this.dataSource = simpleDataSource;
+        this.statementCacheSize = 0;
     }
 
     /**
@@ -121,7 +162,32 @@ public final class LocalTransactionDataSource implements DataSource {
         if (context == null) {
             throw new TransactionNotYetBegunException(Message.DOMA2048);
         }
-        return context.getConnection();
+        LocalTransactionConnection connection = context.getConnection();
+        if (statementCacheSize > 0) {
+            connection.enableStatementCache(statementCacheSize,
+                    statementCacheHitCounter, statementCacheMissCounter);
+        }
+        return connection;
+    }
+
+    /**
+     * ステートメントのキャッシュのヒット数を返します。
+     * 
+     * @return ヒット数
+     * @since 2.20.0
+     */
+    public long getStatementCacheHitCount() {
+        return statementCacheHitCounter.sum();
+    }
+
+    /**
+     * ステートメントのキャッシュのミス数を返します。
+     * 
+     * @return ミス数
+     * @since 2.20.0
+     */
+    public long getStatementCacheMissCount() {
+        return statementCacheMissCounter.sum();
     }
 
     @Override
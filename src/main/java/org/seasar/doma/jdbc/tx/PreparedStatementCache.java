@@ -0,0 +1,214 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ローカルトランザクションのコネクションごとの {@link PreparedStatement} のキャッシュです。
+ * <p>
+ * 生のSQLと自動生成キーの取得方法をキーとしたLRUキャッシュです。 借り受けられたステートメントはキャッシュから取り除かれ、
+ * {@link PreparedStatement#close()} の呼び出しによって返却されます。 容量を超えた場合、最も長く使われていないステートメントを閉じます。
+ * <p>
+ * このクラスはスレッドセーフではありません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+class PreparedStatementCache {
+
+    private final Connection owner;
+
+    private final int capacity;
+
+    private final LongAdder hitCounter;
+
+    private final LongAdder missCounter;
+
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param owner
+     *            ステートメントを作成したコネクションとして公開されるコネクション
+     * @param capacity
+     *            キャッシュするステートメントの上限
+     * @param hitCounter
+     *            キャッシュのヒット数のカウンター
+     * @param missCounter
+     *            キャッシュのミス数のカウンター
+     */
+    PreparedStatementCache(Connection owner, int capacity,
+            LongAdder hitCounter, LongAdder missCounter) {
+        this.owner = owner;
+        this.capacity = capacity;
+        this.hitCounter = hitCounter;
+        this.missCounter = missCounter;
+        this.statements = new LinkedHashMap<Key, PreparedStatement>(16,
+                0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > PreparedStatementCache.this.capacity) {
+                    close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * ステートメントを借り受けます。
+     * 
+     * @param key
+     *            キー
+     * @param factory
+     *            キャッシュに存在しない場合にステートメントを作成するファクトリ
+     * @return ステートメント
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     */
+    PreparedStatement borrow(Key key, StatementFactory factory)
+            throws SQLException {
+        PreparedStatement statement = statements.remove(key);
+        if (statement != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+            statement = factory.create();
+        }
+        return new CachedPreparedStatement(statement, this, key, owner);
+    }
+
+    /**
+     * ステートメントを返却します。
+     * <p>
+     * 状態を元に戻せなかった場合や、同じキーのステートメントがすでにキャッシュされている場合はステートメントを閉じます。
+     * 
+     * @param key
+     *            キー
+     * @param cachedStatement
+     *            借り受けたステートメント
+     */
+    void giveBack(Key key, CachedPreparedStatement cachedStatement) {
+        PreparedStatement statement = cachedStatement.getStatement();
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            if (!cachedStatement.reset()) {
+                close(statement);
+                return;
+            }
+        } catch (SQLException e) {
+            close(statement);
+            return;
+        }
+        if (statements.containsKey(key)) {
+            close(statement);
+            return;
+        }
+        statements.put(key, statement);
+    }
+
+    /**
+     * キャッシュされたすべてのステートメントを閉じます。
+     */
+    void clear() {
+        List<PreparedStatement> values = new ArrayList<>(statements.values());
+        statements.clear();
+        for (PreparedStatement statement : values) {
+            close(statement);
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * キャッシュのキーです。
+     * 
+     * @author nakamura-to
+     */
+    static final class Key {
+
+        private final String sql;
+
+        private final int autoGeneratedKeys;
+
+        private final int[] columnIndexes;
+
+        Key(String sql, int autoGeneratedKeys, int[] columnIndexes) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.columnIndexes = columnIndexes;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sql.hashCode();
+            result = 31 * result + autoGeneratedKeys;
+            result = 31 * result + Arrays.hashCode(columnIndexes);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return sql.equals(other.sql)
+                    && autoGeneratedKeys == other.autoGeneratedKeys
+                    && Arrays.equals(columnIndexes, other.columnIndexes);
+        }
+    }
+
+    /**
+     * ステートメントのファクトリです。
+     * 
+     * @author nakamura-to
+     */
+    @FunctionalInterface
+    interface StatementFactory {
+
+        PreparedStatement create() throws SQLException;
+    }
+}
@@ -118,6 +118,35 @@ public abstract class AbstractJdbcType<T> implements JdbcType<T> {
         return doConvertToLogFormat(value);
     }
 
+    /**
+     * 結果セットからプリミティブ型の値をボクシングせずに取得するための引数を検証します。
+     * <p>
+     * {@link ResultSet#getInt(int)} などのプリミティブ型を返すメソッドは値が {@code NULL}
+     * の場合に {@code 0} を返します。値が {@code NULL} であったかどうかは呼び出し側で
+     * {@link ResultSet#wasNull()} を使って判定してください。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @param index
+     *            インデックス
+     * @return 検証された結果セット
+     * @throws DomaNullPointerException
+     *             {@code resultSet} が {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code index} が {@code 1} より小さい場合
+     * @since 2.20.0
+     */
+    protected static ResultSet validatePrimitiveValueAccess(
+            ResultSet resultSet, int index) {
+        if (resultSet == null) {
+            throw new DomaNullPointerException("resultSet");
+        }
+        if (index < 1) {
+            throw new DomaIllegalArgumentException("index", "index < 1");
+        }
+        return resultSet;
+    }
+
     /**
      * サブクラスで {@link ResultSet} から値を取得します。
      * 
@@ -39,6 +39,23 @@ public class DoubleType extends AbstractJdbcType<Double> {
         return resultSet.getDouble(index);
     }
 
+    /**
+     * 結果セットから値をボクシングせずに取得します。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @param index
+     *            インデックス
+     * @return 値
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @see AbstractJdbcType#validatePrimitiveValueAccess(ResultSet, int)
+     * @since 2.20.0
+     */
+    public double getDouble(ResultSet resultSet, int index) throws SQLException {
+        return validatePrimitiveValueAccess(resultSet, index).getDouble(index);
+    }
+
     @Override
     protected void doSetValue(PreparedStatement preparedStatement, int index,
             Double value) throws SQLException {
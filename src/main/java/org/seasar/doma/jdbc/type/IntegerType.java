@@ -39,6 +39,23 @@ public class IntegerType extends AbstractJdbcType<Integer> {
         return resultSet.getInt(index);
     }
 
+    /**
+     * 結果セットから値をボクシングせずに取得します。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @param index
+     *            インデックス
+     * @return 値
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @see AbstractJdbcType#validatePrimitiveValueAccess(ResultSet, int)
+     * @since 2.20.0
+     */
+    public int getInt(ResultSet resultSet, int index) throws SQLException {
+        return validatePrimitiveValueAccess(resultSet, index).getInt(index);
+    }
+
     @Override
     protected void doSetValue(PreparedStatement preparedStatement, int index,
             Integer value) throws SQLException {
@@ -39,6 +39,23 @@ public class LongType extends AbstractJdbcType<Long> {
         return resultSet.getLong(index);
     }
 
+    /**
+     * 結果セットから値をボクシングせずに取得します。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @param index
+     *            インデックス
+     * @return 値
+     * @throws SQLException
+     *             SQLに関する例外が発生した場合
+     * @see AbstractJdbcType#validatePrimitiveValueAccess(ResultSet, int)
+     * @since 2.20.0
+     */
+    public long getLong(ResultSet resultSet, int index) throws SQLException {
+        return validatePrimitiveValueAccess(resultSet, index).getLong(index);
+    }
+
     @Override
     protected void doSetValue(PreparedStatement preparedStatement, int index,
             Long value) throws SQLException {
@@ -170,6 +170,11 @@ public enum Message implements MessageResource {
     DOMA2231("パラメータの数が異なります。バッチ実行されるクエリは全て同一でなければいけません。"),
     DOMA2232("パラメータの要素が空です。"),
     DOMA2233("要素Mapのキーに[{0}]が含まれていないものがあります。"),
+    DOMA2234("ローカルトランザクションが開始されているスレッドでは、戻り値の型がCompletableFutureであるDaoメソッド[{0}.{1}]を実行できません。JDBCのコネクションは他のスレッドに引き継げないため、トランザクションの外で実行するか、戻り値の型をCompletableFuture以外にしてください。"),
+    DOMA2235("キーセットページング用SQLに変換するには元のSQLにorder by句が指定されている必要があります。"),
+    DOMA2236("SelectOptions.afterに指定されたキーの数[{0}]がorder by句の項目の数[{1}]と一致しません。"),
+    DOMA2237("キーセットページング用SQLに変換できません。order by句の項目[{0}]はwhere句の条件に使用できる式でなければいけません。列の位置を表す数値や動的な要素、nulls firstやnulls lastは使用できません。"),
+    DOMA2238("結果セットの先読みを待機している間にスレッドが割り込まれました。"),
 
     // expression
     DOMA3001("式[{0}]の評価に失敗しました（[{1}]番目の文字付近）。クラス[{2}]のメソッド[{3}]の実行に失敗しました。原因は次のものです。{4}"),
@@ -481,6 +486,9 @@ public enum Message implements MessageResource {
     DOMA4441("@TenantIdは@Embeddableが注釈された型のプロパティに注釈できません。 at {0}.{1}"),
     DOMA4442("@TenantIdが重複しています。@TenantIdが注釈されるフィールドはクラス階層の中で1つでなければいけません。 at {0}.{1}"),
     DOMA4443("エンベッダブルクラスのフィールドには@TenantIdを注釈できません。 at {0}.{1}"),
+    DOMA4444("CompletableFutureの原型は戻り値の型に使用できません。型引数を指定してください。 at {0}.{1}"),
+    DOMA4445("CompletableFutureの型引数にワイルドカードは使用できません。 at {0}.{1}"),
+    DOMA4446("java.util.stream.StreamはCompletableFutureの型引数に使用できません。ストリームは非同期の処理が終了した時点で閉じられます。 at {0}.{1}"),
 
     // other
     DOMA5001("JDBCドライバがロードされていない可能性があります。まず、JDBCドライバがクラスパスにあることを確認してください。次に、JDBCドライバが自動でロードされない場合は、Class.forNameで明示的にロードしてください。 ex) Class.forName(\"oracle.jdbc.driver.OracleDriver\")"),
@@ -26,6 +26,12 @@ import org.seasar.doma.DomaNullPointerException;
 public class DoubleWrapper extends AbstractWrapper<Double> implements
         NumberWrapper<Double> {
 
+    /** ボクシングされていない値 */
+    protected double primitiveValue;
+
+    /** ボクシングされていない値を保持しているかどうか */
+    protected boolean unboxed;
+
     /**
      * インスタンスを構築します。
      */
@@ -48,6 +54,49 @@ public class DoubleWrapper extends AbstractWrapper<Double> implements
         super.set(v.doubleValue());
     }
 
+    @Override
+    protected void doSet(Double value) {
+        unboxed = false;
+        super.doSet(value);
+    }
+
+    @Override
+    protected Double doGet() {
+        if (unboxed) {
+            return Double.valueOf(primitiveValue);
+        }
+        return super.doGet();
+    }
+
+    /**
+     * ボクシングせずに値を設定します。
+     * 
+     * @param value
+     *            値
+     * @since 2.20.0
+     */
+    public void setDouble(double value) {
+        this.value = null;
+        this.primitiveValue = value;
+        this.unboxed = true;
+    }
+
+    /**
+     * ボクシングせずに値を返します。
+     * <p>
+     * 値が {@code null} の場合は {@code 0d} を返します。
+     * 
+     * @return 値
+     * @since 2.20.0
+     */
+    public double getAsDouble() {
+        if (unboxed) {
+            return primitiveValue;
+        }
+        Double value = this.value;
+        return value != null ? value.doubleValue() : 0d;
+    }
+
     @Override
     public Double getDefault() {
         return Double.valueOf(0d);
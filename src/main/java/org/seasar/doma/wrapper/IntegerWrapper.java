@@ -26,6 +26,12 @@ import org.seasar.doma.DomaNullPointerException;
 public class IntegerWrapper extends AbstractWrapper<Integer> implements
         NumberWrapper<Integer> {
 
+    /** ボクシングされていない値 */
+    protected int primitiveValue;
+
+    /** ボクシングされていない値を保持しているかどうか */
+    protected boolean unboxed;
+
     /**
      * インスタンスを構築します。
      */
@@ -48,6 +54,49 @@ public class IntegerWrapper extends AbstractWrapper<Integer> implements
         set(v.intValue());
     }
 
+    @Override
+    protected void doSet(Integer value) {
+        unboxed = false;
+        super.doSet(value);
+    }
+
+    @Override
+    protected Integer doGet() {
+        if (unboxed) {
+            return Integer.valueOf(primitiveValue);
+        }
+        return super.doGet();
+    }
+
+    /**
+     * ボクシングせずに値を設定します。
+     * 
+     * @param value
+     *            値
+     * @since 2.20.0
+     */
+    public void setInt(int value) {
+        this.value = null;
+        this.primitiveValue = value;
+        this.unboxed = true;
+    }
+
+    /**
+     * ボクシングせずに値を返します。
+     * <p>
+     * 値が {@code null} の場合は {@code 0} を返します。
+     * 
+     * @return 値
+     * @since 2.20.0
+     */
+    public int getAsInt() {
+        if (unboxed) {
+            return primitiveValue;
+        }
+        Integer value = this.value;
+        return value != null ? value.intValue() : 0;
+    }
+
     @Override
     public Integer getDefault() {
         return Integer.valueOf(0);
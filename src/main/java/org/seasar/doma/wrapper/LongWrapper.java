@@ -26,6 +26,12 @@ import org.seasar.doma.DomaNullPointerException;
 public class LongWrapper extends AbstractWrapper<Long> implements
         NumberWrapper<Long> {
 
+    /** ボクシングされていない値 */
+    protected long primitiveValue;
+
+    /** ボクシングされていない値を保持しているかどうか */
+    protected boolean unboxed;
+
     /**
      * インスタンスを構築します。
      */
@@ -48,6 +54,49 @@ public class LongWrapper extends AbstractWrapper<Long> implements
         super.set(v.longValue());
     }
 
+    @Override
+    protected void doSet(Long value) {
+        unboxed = false;
+        super.doSet(value);
+    }
+
+    @Override
+    protected Long doGet() {
+        if (unboxed) {
+            return Long.valueOf(primitiveValue);
+        }
+        return super.doGet();
+    }
+
+    /**
+     * ボクシングせずに値を設定します。
+     * 
+     * @param value
+     *            値
+     * @since 2.20.0
+     */
+    public void setLong(long value) {
+        this.value = null;
+        this.primitiveValue = value;
+        this.unboxed = true;
+    }
+
+    /**
+     * ボクシングせずに値を返します。
+     * <p>
+     * 値が {@code null} の場合は {@code 0L} を返します。
+     * 
+     * @return 値
+     * @since 2.20.0
+     */
+    public long getAsLong() {
+        if (unboxed) {
+            return primitiveValue;
+        }
+        Long value = this.value;
+        return value != null ? value.longValue() : 0L;
+    }
+
     @Override
     public Long getDefault() {
         return Long.valueOf(0L);
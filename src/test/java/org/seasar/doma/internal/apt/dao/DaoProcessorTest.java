@@ -599,6 +599,17 @@ public class DaoProcessorTest extends AptTestCase {
         assertTrue(getCompiledResult());
     }
 
+    public void testSqlPrecompile() throws Exception {
+        addOption("-Adoma.sql.precompile=true");
+        Class<?> target = SqlPrecompileDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertGeneratedSource(target);
+        assertTrue(getCompiledResult());
+    }
+
     public void testParameterizedParam() throws Exception {
         Class<?> target = ParameterizedParamDao.class;
         DaoProcessor processor = new DaoProcessor();
@@ -679,6 +690,46 @@ public class DaoProcessorTest extends AptTestCase {
         assertMessage(Message.DOMA4211);
     }
 
+    public void testAsync() throws Exception {
+        Class<?> target = AsyncDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertGeneratedSource(target);
+        assertTrue(getCompiledResult());
+    }
+
+    public void testCompletableFutureRawTypeReturn() throws Exception {
+        Class<?> target = CompletableFutureRawTypeReturnDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertFalse(getCompiledResult());
+        assertMessage(Message.DOMA4444);
+    }
+
+    public void testCompletableFutureWildcardTypeReturn() throws Exception {
+        Class<?> target = CompletableFutureWildcardTypeReturnDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertFalse(getCompiledResult());
+        assertMessage(Message.DOMA4445);
+    }
+
+    public void testCompletableFutureStreamReturn() throws Exception {
+        Class<?> target = CompletableFutureStreamReturnDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertFalse(getCompiledResult());
+        assertMessage(Message.DOMA4446);
+    }
+
     public void testIterableRawTypeParam() throws Exception {
         Class<?> target = IterableRawTypeParamDao.class;
         DaoProcessor processor = new DaoProcessor();
@@ -327,6 +327,16 @@ public class EntityProcessorTest extends AptTestCase {
         assertMessage(Message.DOMA4170);
     }
 
+    public void testPrefetchSequenceIdGenerator() throws Exception {
+        Class<?> target = PrefetchSequenceIdGeneratorEntity.class;
+        EntityProcessor processor = new EntityProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertGeneratedSource(target);
+        assertTrue(getCompiledResult());
+    }
+
     public void testNoDefaultConstructorSequenceIdGenerator() throws Exception {
         Class<?> target = NoDefaultConstructorSequenceIdGeneratorEntity.class;
         EntityProcessor processor = new EntityProcessor();
@@ -18,6 +18,9 @@ package org.seasar.doma.internal.expr;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -185,6 +188,17 @@ public class ExpressionEvaluatorTest extends TestCase {
         assertNull(method);
     }
 
+    public void testFindMethod_cached() throws Exception {
+        Method method = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { String.class });
+        Method method2 = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { String.class });
+        assertSame(method, method2);
+        Method method3 = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { int.class });
+        assertNotSame(method, method3);
+    }
+
     public void testForClassName() throws Exception {
         ExpressionEvaluator evaluator = new ExpressionEvaluator();
         Class<?> clazz = evaluator.forClassName(location, "java.lang.String");
@@ -361,4 +375,22 @@ public class ExpressionEvaluatorTest extends TestCase {
         assertEquals(Double.class, result.getValueClass());
     }
 
+
+    public void testFindMethod_paramTypeFromChildClassLoader()
+            throws Exception {
+        ClassLoader childLoader = new URLClassLoader(new URL[0], getClass()
+                .getClassLoader());
+        Class<?> proxyClass = Proxy
+                .getProxyClass(childLoader, Runnable.class);
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        Class<?>[] paramTypes = new Class<?>[] { proxyClass };
+        Method method = evaluator.findMethod("valueOf", null, String.class,
+                paramTypes);
+        assertEquals(String.class.getMethod("valueOf", Object.class), method);
+        assertFalse(ExpressionEvaluator.memberCache.get(String.class)
+                .containsKey(
+                        new ExpressionEvaluator.MemberKey(
+                                ExpressionEvaluator.MemberKind.METHOD,
+                                "valueOf", paramTypes)));
+    }
 }
@@ -16,8 +16,12 @@
 package org.seasar.doma.internal.jdbc.command;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import junit.framework.TestCase;
 
@@ -35,6 +39,7 @@ import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.UnknownColumnException;
 import org.seasar.doma.jdbc.UnknownColumnHandler;
 import org.seasar.doma.jdbc.entity.EntityType;
+import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.query.Query;
 import org.seasar.doma.jdbc.query.SelectQuery;
 
@@ -68,6 +73,109 @@ public class EntityProviderTest extends TestCase {
         assertEquals(new Integer(100), emp.getVersion());
     }
 
+    public void testGetEntity_multipleRows() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa", new BigDecimal(10), 100));
+        resultSet.rows.add(new RowData(2, null, null, 200));
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        Emp emp1 = provider.get(resultSet);
+        resultSet.next();
+        Emp emp2 = provider.get(resultSet);
+
+        assertNotSame(emp1, emp2);
+        assertEquals(new Integer(1), emp1.getId());
+        assertEquals("aaa", emp1.getName());
+        assertEquals(new BigDecimal(10), emp1.getSalary());
+        assertEquals(new Integer(100), emp1.getVersion());
+        assertEquals(new Integer(2), emp2.getId());
+        assertNull(emp2.getName());
+        assertNull(emp2.getSalary());
+        assertEquals(new Integer(200), emp2.getVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGetEntity_newEntityArgsNotShared() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa"));
+        resultSet.rows.add(new RowData(2, "bbb"));
+
+        _Emp delegate = _Emp.getSingletonInternal();
+        List<Map<String, Property<Emp, ?>>> argsList = new ArrayList<>();
+        EntityType<Emp> entityType = (EntityType<Emp>) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { EntityType.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("isImmutable")) {
+                        return true;
+                    }
+                    if (method.getName().equals("newEntity")) {
+                        argsList.add((Map<String, Property<Emp, ?>>) args[0]);
+                    }
+                    return method.invoke(delegate, args);
+                });
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        provider.get(resultSet);
+        resultSet.next();
+        provider.get(resultSet);
+
+        assertEquals(2, argsList.size());
+        Map<String, Property<Emp, ?>> args1 = argsList.get(0);
+        Map<String, Property<Emp, ?>> args2 = argsList.get(1);
+        assertNotSame(args1, args2);
+        assertEquals(1, args1.get("id").getWrapper().get());
+        assertEquals("aaa", args1.get("name").getWrapper().get());
+        assertEquals(2, args2.get("id").getWrapper().get());
+        assertEquals("bbb", args2.get("name").getWrapper().get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGetEntity_mutableEntityFilledDirectly() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa"));
+        resultSet.rows.add(new RowData(2, null));
+
+        _Emp delegate = _Emp.getSingletonInternal();
+        List<Map<String, Property<Emp, ?>>> argsList = new ArrayList<>();
+        EntityType<Emp> entityType = (EntityType<Emp>) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { EntityType.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("newEntity")) {
+                        argsList.add((Map<String, Property<Emp, ?>>) args[0]);
+                    }
+                    return method.invoke(delegate, args);
+                });
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        Emp emp1 = provider.get(resultSet);
+        resultSet.next();
+        Emp emp2 = provider.get(resultSet);
+
+        assertEquals(2, argsList.size());
+        assertTrue(argsList.get(0).isEmpty());
+        assertTrue(argsList.get(1).isEmpty());
+        assertEquals(new Integer(1), emp1.getId());
+        assertEquals("aaa", emp1.getName());
+        assertEquals(new Integer(2), emp2.getId());
+        assertNull(emp2.getName());
+    }
+
     public void testGetEntity_UnknownColumnException() throws Exception {
         MockResultSetMetaData metaData = new MockResultSetMetaData();
         metaData.columns.add(new ColumnMetaData("id"));
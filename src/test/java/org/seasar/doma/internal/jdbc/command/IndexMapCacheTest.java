@@ -0,0 +1,86 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class IndexMapCacheTest extends TestCase {
+
+    public void testGet() throws Exception {
+        IndexMapCache<String> cache = new IndexMapCache<>();
+        List<Object> key = IndexMapCache.createKey("select * from emp", "a",
+                2);
+        Map<Integer, String> indexMap = new HashMap<>();
+        indexMap.put(1, "id");
+        indexMap.put(2, "name");
+        cache.put(key, indexMap);
+
+        Map<Integer, String> result = cache.get(IndexMapCache.createKey(
+                "select * from emp", "a", 2));
+        assertEquals(indexMap, result);
+    }
+
+    public void testGet_differentColumnCount() throws Exception {
+        IndexMapCache<String> cache = new IndexMapCache<>();
+        Map<Integer, String> indexMap = new HashMap<>();
+        indexMap.put(1, "id");
+        cache.put(IndexMapCache.createKey("select * from emp", 1), indexMap);
+
+        assertNull(cache.get(IndexMapCache.createKey("select * from emp", 2)));
+    }
+
+    public void testGet_differentKey() throws Exception {
+        IndexMapCache<String> cache = new IndexMapCache<>();
+        Map<Integer, String> indexMap = new HashMap<>();
+        indexMap.put(1, "id");
+        cache.put(IndexMapCache.createKey("select * from emp", "a"), indexMap);
+
+        assertNull(cache
+                .get(IndexMapCache.createKey("select * from emp", "b")));
+    }
+
+    public void testPut_unmodifiable() throws Exception {
+        IndexMapCache<String> cache = new IndexMapCache<>();
+        List<Object> key = IndexMapCache.createKey("select * from emp");
+        cache.put(key, new HashMap<Integer, String>());
+
+        try {
+            cache.get(key).put(1, "id");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    public void testPut_maxSize() throws Exception {
+        IndexMapCache<String> cache = new IndexMapCache<>();
+        Map<Integer, String> indexMap = new HashMap<>();
+        for (int i = 0; i < IndexMapCache.MAX_SIZE * 2; i++) {
+            cache.put(IndexMapCache.createKey(i), indexMap);
+        }
+
+        assertEquals(IndexMapCache.MAX_SIZE, cache.size());
+        assertNotNull(cache.get(IndexMapCache
+                .createKey(IndexMapCache.MAX_SIZE * 2 - 1)));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.jdbc.JdbcException;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class PrefetchingIteratorTest extends TestCase {
+
+    private final ExecutorService executor = Executors
+            .newSingleThreadExecutor();
+
+    @Override
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testIterate() throws Exception {
+        List<String> source = Arrays.asList("a", null, "c", "d", "e");
+        List<String> result = new ArrayList<>();
+        try (PrefetchingIterator<String> it = new PrefetchingIterator<>(
+                source.iterator(), 2, executor)) {
+            while (it.hasNext()) {
+                result.add(it.next());
+            }
+        }
+        assertEquals(source, result);
+    }
+
+    public void testIterate_producers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            List<Consumer<Consumer<Integer>>> producers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                int base = i * 100;
+                producers.add(sink -> {
+                    for (int j = 0; j < 100; j++) {
+                        sink.accept(base + j);
+                    }
+                });
+            }
+            List<Integer> result = new ArrayList<>();
+            try (PrefetchingIterator<Integer> it = new PrefetchingIterator<>(
+                    producers, 4, pool)) {
+                while (it.hasNext()) {
+                    result.add(it.next());
+                }
+            }
+            Collections.sort(result);
+            assertEquals(300, result.size());
+            for (int i = 0; i < 300; i++) {
+                assertEquals(i, result.get(i).intValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testException() throws Exception {
+        Iterator<String> source = new Iterator<String>() {
+
+            int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (count++ == 2) {
+                    throw new IllegalStateException("hoge");
+                }
+                return "a";
+            }
+        };
+        try (PrefetchingIterator<String> it = new PrefetchingIterator<>(
+                source, 10, executor)) {
+            assertEquals("a", it.next());
+            assertEquals("a", it.next());
+            try {
+                it.next();
+                fail();
+            } catch (IllegalStateException expected) {
+                assertEquals("hoge", expected.getMessage());
+            }
+        }
+    }
+
+    public void testClose() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        Iterator<Integer> source = new Iterator<Integer>() {
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return count.incrementAndGet();
+            }
+        };
+        PrefetchingIterator<Integer> it = new PrefetchingIterator<>(source, 3,
+                executor);
+        assertEquals(Integer.valueOf(1), it.next());
+        it.close();
+        int fetched = count.get();
+        Thread.sleep(50);
+        assertEquals(fetched, count.get());
+        assertFalse(it.hasNext());
+    }
+
+    public void testInterruptedWhileQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Thread[] producerThread = new Thread[1];
+        Iterator<Integer> source = new Iterator<Integer>() {
+
+            int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                producerThread[0] = Thread.currentThread();
+                started.countDown();
+                return count++;
+            }
+        };
+        try (PrefetchingIterator<Integer> it = new PrefetchingIterator<>(
+                source, 1, executor)) {
+            started.await();
+            while (it.queue.remainingCapacity() > 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20);
+            producerThread[0].interrupt();
+            Future<?> future = Executors.newSingleThreadExecutor().submit(
+                    () -> {
+                        while (it.hasNext()) {
+                            it.next();
+                        }
+                    });
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof JdbcException);
+            }
+        }
+    }
+
+    public void testClose_producers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            List<Consumer<Consumer<Integer>>> producers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                producers.add(sink -> {
+                    while (true) {
+                        sink.accept(1);
+                    }
+                });
+            }
+            PrefetchingIterator<Integer> it = new PrefetchingIterator<>(
+                    producers, 1, pool);
+            assertEquals(Integer.valueOf(1), it.next());
+            it.close();
+            assertEquals(0, it.finished.getCount());
+            assertFalse(it.hasNext());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
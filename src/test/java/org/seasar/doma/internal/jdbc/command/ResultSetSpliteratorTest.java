@@ -0,0 +1,70 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class ResultSetSpliteratorTest extends TestCase {
+
+    public void testTrySplit() throws Exception {
+        List<Integer> list = IntStream.range(0, 10).boxed()
+                .collect(Collectors.toList());
+        ResultSetSpliterator<Integer> spliterator = new ResultSetSpliterator<>(
+                list.iterator(), 3, list.size());
+        Spliterator<Integer> first = spliterator.trySplit();
+        assertEquals(3, first.estimateSize());
+        assertEquals(7, spliterator.estimateSize());
+        Spliterator<Integer> second = spliterator.trySplit();
+        assertEquals(6, second.estimateSize());
+        assertEquals(1, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+        assertTrue(spliterator.tryAdvance(i -> assertEquals(9, i.intValue())));
+        assertFalse(spliterator.tryAdvance(i -> fail()));
+    }
+
+    public void testTrySplit_unknownSize() throws Exception {
+        List<Integer> list = IntStream.range(0, 5).boxed()
+                .collect(Collectors.toList());
+        ResultSetSpliterator<Integer> spliterator = new ResultSetSpliterator<>(
+                list.iterator(), 10, Long.MAX_VALUE);
+        Spliterator<Integer> first = spliterator.trySplit();
+        assertEquals(5, first.estimateSize());
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+    }
+
+    public void testParallel() throws Exception {
+        List<Integer> list = IntStream.range(0, 10000).boxed()
+                .collect(Collectors.toList());
+        ResultSetSpliterator<Integer> spliterator = new ResultSetSpliterator<>(
+                list.iterator(), 16, Long.MAX_VALUE);
+        List<Integer> result = StreamSupport.stream(spliterator, true)
+                .map(i -> i * 2).collect(Collectors.toList());
+        assertEquals(10000, result.size());
+        assertEquals(Integer.valueOf(0), result.get(0));
+        assertEquals(Integer.valueOf(19998), result.get(9999));
+    }
+}
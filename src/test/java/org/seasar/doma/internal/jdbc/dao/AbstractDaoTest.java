@@ -19,13 +19,19 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 import javax.sql.DataSource;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.DomaException;
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.tx.LocalTransaction;
+import org.seasar.doma.jdbc.tx.LocalTransactionDataSource;
+import org.seasar.doma.message.Message;
 
 /**
  * @author backpaper0
@@ -92,6 +98,34 @@ public class AbstractDaoTest extends TestCase {
         }
     }
 
+    public void testSupplyAsync() throws Exception {
+        AbstractDao dao = new AbstractDao(new MockConfig()) {
+        };
+        CompletableFuture<Thread> future = dao.supplyAsync("Foo", "bar",
+                () -> Thread.currentThread());
+        assertNotSame(Thread.currentThread(), future.get());
+    }
+
+    public void testSupplyAsync_localTransaction() throws Exception {
+        MockConfig config = new MockConfig();
+        LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+                config.dataSource);
+        AbstractDao dao = new AbstractDao(config, dataSource) {
+        };
+        LocalTransaction tx = dataSource.getLocalTransaction(config
+                .getJdbcLogger());
+        tx.begin();
+        try {
+            dao.supplyAsync("Foo", "bar", () -> "");
+            fail();
+        } catch (DomaException expected) {
+            assertEquals(Message.DOMA2234, expected.getMessageResource());
+        } finally {
+            tx.rollback();
+        }
+        assertEquals("", dao.supplyAsync("Foo", "bar", () -> "").get());
+    }
+
     private <T> T mock(Class<T> aClass) {
         ClassLoader loader = Thread.currentThread().getContextClassLoader();
         Class<?>[] interfaces = { aClass };
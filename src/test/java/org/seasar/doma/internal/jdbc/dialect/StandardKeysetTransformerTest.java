@@ -0,0 +1,147 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.message.Message;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StandardKeysetTransformerTest extends TestCase {
+
+    public void testSingleKey() throws Exception {
+        String expected = "select * from emp where (emp.id > ?) order by emp.id";
+        PreparedSql sql = build(new StandardKeysetTransformer(1, false),
+                "select * from emp order by emp.id", 10);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(1, sql.getParameters().size());
+        assertEquals(10, sql.getParameters().get(0).getWrapper().get());
+    }
+
+    public void testMultipleKeys() throws Exception {
+        String expected = "select * from emp where ( salary = ? ) and ((salary < ?) or (salary = ? and id > ?)) order by salary desc, id";
+        PreparedSql sql = build(new StandardKeysetTransformer(2, false),
+                "select * from emp where salary = /*salary*/1 order by salary desc, id",
+                1000, 20);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(4, sql.getParameters().size());
+    }
+
+    public void testMultipleKeys_rowValue() throws Exception {
+        String expected = "select * from emp where ((name, id) > (?, ?)) order by name, id asc";
+        PreparedSql sql = build(new StandardKeysetTransformer(2, true),
+                "select * from emp order by name, id asc", "a", 20);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(2, sql.getParameters().size());
+    }
+
+    public void testMultipleKeys_rowValue_mixedDirection() throws Exception {
+        String expected = "select * from emp where ((lower(name) < ?) or (lower(name) = ? and id > ?)) order by lower(name) desc, id";
+        PreparedSql sql = build(new StandardKeysetTransformer(2, true),
+                "select * from emp order by lower(name) desc, id", "a", 20);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testNullsLast() throws Exception {
+        try {
+            build(new StandardKeysetTransformer(2, true),
+                    "select * from emp order by name desc nulls last, id",
+                    "a", 20);
+            fail();
+        } catch (JdbcException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(Message.DOMA2237, expected.getMessageResource());
+        }
+    }
+
+    public void testNullsFirst() throws Exception {
+        try {
+            build(new StandardKeysetTransformer(1, false),
+                    "select * from emp order by name NULLS FIRST", "a");
+            fail();
+        } catch (JdbcException expected) {
+            assertEquals(Message.DOMA2237, expected.getMessageResource());
+        }
+    }
+
+    public void testGroupBy() throws Exception {
+        String expected = "select dept_id, count(*) from emp group by dept_id having (dept_id > ?) order by dept_id";
+        PreparedSql sql = build(new StandardKeysetTransformer(1, false),
+                "select dept_id, count(*) from emp group by dept_id order by dept_id",
+                10);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testOrderByClauseUnspecified() throws Exception {
+        try {
+            build(new StandardKeysetTransformer(1, false), "select * from emp",
+                    10);
+            fail();
+        } catch (JdbcException expected) {
+            assertEquals(Message.DOMA2235, expected.getMessageResource());
+        }
+    }
+
+    public void testKeySizeMismatched() throws Exception {
+        try {
+            build(new StandardKeysetTransformer(2, false),
+                    "select * from emp order by id", 10, 20);
+            fail();
+        } catch (JdbcException expected) {
+            assertEquals(Message.DOMA2236, expected.getMessageResource());
+        }
+    }
+
+    public void testOrdinalPosition() throws Exception {
+        try {
+            build(new StandardKeysetTransformer(1, false),
+                    "select * from emp order by 1", 10);
+            fail();
+        } catch (JdbcException expected) {
+            assertEquals(Message.DOMA2237, expected.getMessageResource());
+        }
+    }
+
+    private PreparedSql build(StandardKeysetTransformer transformer,
+            String sql, Object... keys) {
+        SqlNode sqlNode = transformer.transform(new SqlParser(sql).parse());
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("salary", new Value(int.class, 1));
+        for (int i = 0; i < keys.length; i++) {
+            evaluator.add("doma_keyset_" + i, new Value(keys[i].getClass(),
+                    keys[i]));
+        }
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath", evaluator,
+                SqlLogType.FORMATTED);
+        return sqlBuilder.build(sqlNode, Function.identity());
+    }
+}
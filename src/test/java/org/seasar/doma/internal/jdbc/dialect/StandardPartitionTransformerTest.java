@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StandardPartitionTransformerTest extends TestCase {
+
+    public void testWhere() throws Exception {
+        String expected = "select * from emp where (emp.id >= ? and emp.id < ?) order by emp.id";
+        PreparedSql sql = build("select * from emp order by emp.id");
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(2, sql.getParameters().size());
+        assertEquals(100L, sql.getParameters().get(0).getWrapper().get());
+        assertEquals(200L, sql.getParameters().get(1).getWrapper().get());
+    }
+
+    public void testWhere_existing() throws Exception {
+        String expected = "select * from emp where ( salary = ? or salary = 0) and (emp.id >= ? and emp.id < ?)";
+        PreparedSql sql = build("select * from emp where salary = /*salary*/1 or salary = 0");
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(3, sql.getParameters().size());
+    }
+
+    public void testHaving() throws Exception {
+        String expected = "select emp.id, count(*) from emp group by emp.id having (emp.id >= ? and emp.id < ?)";
+        PreparedSql sql = build("select emp.id, count(*) from emp group by emp.id");
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testForUpdate() throws Exception {
+        String expected = "select * from emp where (emp.id >= ? and emp.id < ?) for update";
+        PreparedSql sql = build("select * from emp for update");
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testSubquery() throws Exception {
+        String expected = "select * from emp where ( dept_id in (select id from dept where name = 'a')) and (emp.id >= ? and emp.id < ?)";
+        PreparedSql sql = build("select * from emp where dept_id in (select id from dept where name = 'a')");
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    private PreparedSql build(String sql) {
+        StandardPartitionTransformer transformer = new StandardPartitionTransformer(
+                "emp.id");
+        SqlNode sqlNode = transformer.transform(new SqlParser(sql).parse());
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("salary", new Value(int.class, 1));
+        evaluator.add("doma_partition_lower_", new Value(Long.class, 100L));
+        evaluator.add("doma_partition_upper_", new Value(Long.class, 200L));
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath", evaluator,
+                SqlLogType.FORMATTED);
+        return sqlBuilder.build(sqlNode, Function.identity());
+    }
+}
@@ -17,6 +17,11 @@ package org.seasar.doma.internal.jdbc.entity;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.jdbc.entity.EntityPropertyAccessException;
+import org.seasar.doma.jdbc.entity.IntPropertySetter;
+import org.seasar.doma.wrapper.IntegerWrapper;
+import org.seasar.doma.wrapper.StringWrapper;
+
 /**
  *
  */
@@ -122,6 +127,61 @@ public class PropertyFieldTest extends TestCase {
         }
     }
 
+    public void testGetValue_accessor() throws Exception {
+        Person person = new Person();
+        person.name = "hoge";
+        PropertyField<Person> path = new PropertyField<>("name", Person.class,
+                p -> p.name + "!", null);
+        assertEquals("hoge!", path.getValue(person));
+    }
+
+    public void testSetValue_accessor() throws Exception {
+        Person person = new Person();
+        PropertyField<Person> path = new PropertyField<>("name", Person.class,
+                p -> p.name, (p, v) -> p.name = v + "!");
+        path.setValue(person, "foo");
+        assertEquals("foo!", person.name);
+    }
+
+    public void testSetValue_accessor_illegalValue() throws Exception {
+        Person person = new Person();
+        PropertyField<Person> path = new PropertyField<>("age", Person.class,
+                p -> p.age, (p, v) -> p.age = (Integer) v);
+        try {
+            path.setValue(person, "foo");
+            fail();
+        } catch (EntityPropertyAccessException expected) {
+            assertTrue(expected.getCause() instanceof ClassCastException);
+        }
+        try {
+            path.setValue(person, null);
+            fail();
+        } catch (EntityPropertyAccessException expected) {
+            assertTrue(expected.getCause() instanceof NullPointerException);
+        }
+    }
+
+    public void testSetPrimitiveValue() throws Exception {
+        Person person = new Person();
+        PropertyField<Person> path = new PropertyField<>("age", Person.class,
+                p -> p.age,
+                (IntPropertySetter<Person>) (p, v) -> p.age = v + 1);
+        IntegerWrapper wrapper = new IntegerWrapper();
+        wrapper.setInt(10);
+        assertTrue(path.setPrimitiveValue(person, wrapper));
+        assertEquals(11, person.age);
+        path.setValue(person, 20);
+        assertEquals(21, person.age);
+    }
+
+    public void testSetPrimitiveValue_notPrimitiveSetter() throws Exception {
+        Person person = new Person();
+        PropertyField<Person> path = new PropertyField<>("name", Person.class,
+                p -> p.name, (p, v) -> p.name = (String) v);
+        assertFalse(path.setPrimitiveValue(person, new StringWrapper("foo")));
+        assertNull(person.name);
+    }
+
     public void testIsPrimitive() throws Exception {
         PropertyField<Person> age = new PropertyField<>("age", Person.class);
         assertTrue(age.isPrimitive());
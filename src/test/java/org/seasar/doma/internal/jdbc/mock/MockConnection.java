@@ -265,8 +265,7 @@ public class MockConnection extends MockWrapper implements Connection {
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
             throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return null;
+        return prepareStatement(sql);
     }
 
     @Override
@@ -58,6 +58,8 @@ public class MockPreparedStatement extends MockStatement implements
 
     public String sql;
 
+    public List<MockResultSet> generatedKeys = new ArrayList<MockResultSet>();
+
     public MockPreparedStatement() {
     }
 
@@ -72,8 +74,7 @@ public class MockPreparedStatement extends MockStatement implements
 
     @Override
     public void clearParameters() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        bindValues.clear();
     }
 
     @Override
@@ -81,6 +82,12 @@ public class MockPreparedStatement extends MockStatement implements
         return false;
     }
 
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        assertTrue(!closed);
+        return generatedKeys.remove(0);
+    }
+
     @Override
     public ResultSet executeQuery() throws SQLException {
         assertTrue(!closed);
@@ -422,18 +429,6 @@ public class MockPreparedStatement extends MockStatement implements
 
     }
 
-    @SuppressWarnings("all")
-    public void closeOnCompletion() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
-    }
-
-    @SuppressWarnings("all")
-    public boolean isCloseOnCompletion() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return false;
-    }
-
     @SuppressWarnings("all")
     public long getLargeUpdateCount() throws SQLException {
         AssertionUtil.notYetImplemented();
@@ -37,10 +37,25 @@ public class MockStatement extends MockWrapper implements Statement {
 
     public int updatedRows = 1;
 
+    public int queryTimeout;
+
+    public int fetchSize;
+
+    public int fetchDirection = ResultSet.FETCH_FORWARD;
+
+    public int maxFieldSize;
+
+    public boolean poolable = true;
+
+    public boolean escapeProcessing = true;
+
+    public boolean closeOnCompletion;
+
+    public String cursorName;
+
     @Override
     public void addBatch(String sql) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        addBatchCount++;
     }
 
     @Override
@@ -51,8 +66,7 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public void clearBatch() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        addBatchCount = 0;
     }
 
     @Override
@@ -140,14 +154,12 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public int getFetchDirection() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return 0;
+        return fetchDirection;
     }
 
     @Override
     public int getFetchSize() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return 0;
+        return fetchSize;
     }
 
     @Override
@@ -158,8 +170,7 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public int getMaxFieldSize() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return 0;
+        return maxFieldSize;
     }
 
     @Override
@@ -182,8 +193,7 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public int getQueryTimeout() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return 0;
+        return queryTimeout;
     }
 
     @Override
@@ -229,38 +239,32 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public boolean isPoolable() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return false;
+        return poolable;
     }
 
     @Override
     public void setCursorName(String name) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        cursorName = name;
     }
 
     @Override
     public void setEscapeProcessing(boolean enable) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        escapeProcessing = enable;
     }
 
     @Override
     public void setFetchDirection(int direction) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        fetchDirection = direction;
     }
 
     @Override
     public void setFetchSize(int rows) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        fetchSize = rows;
     }
 
     @Override
     public void setMaxFieldSize(int max) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        maxFieldSize = max;
     }
 
     @Override
@@ -271,24 +275,22 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public void setPoolable(boolean poolable) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        this.poolable = poolable;
     }
 
     @Override
     public void setQueryTimeout(int seconds) throws SQLException {
+        queryTimeout = seconds;
     }
 
     @SuppressWarnings("all")
     public void closeOnCompletion() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        closeOnCompletion = true;
     }
 
     @SuppressWarnings("all")
     public boolean isCloseOnCompletion() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return false;
+        return closeOnCompletion;
     }
 
     @SuppressWarnings("all")
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.jdbc.SqlFile;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class CompiledSqlFileRegistryTest extends TestCase {
+
+    private final String path = "META-INF/aaa/bbb.sql";
+
+    private final String sql = "select * from aaa where id = /*id*/1";
+
+    @Override
+    protected void tearDown() throws Exception {
+        CompiledSqlFileRegistry.clear(getClass());
+        CompiledSqlFileRegistry.clear(String.class);
+    }
+
+    public void testGetSqlFile() throws Exception {
+        CompiledSqlFileRegistry.register(getClass(), path, sql,
+                SqlNodeCodec.encode(new SqlParser(sql).parse()));
+        SqlFile sqlFile = CompiledSqlFileRegistry.getSqlFile(getClass(), path);
+        assertEquals(path, sqlFile.getPath());
+        assertEquals(sql, sqlFile.getSql());
+        assertSame(sqlFile, CompiledSqlFileRegistry.getSqlFile(getClass(),
+                path));
+    }
+
+    public void testGetSqlFile_anotherDao() throws Exception {
+        CompiledSqlFileRegistry.register(getClass(), path, sql,
+                SqlNodeCodec.encode(new SqlParser(sql).parse()));
+        assertTrue(CompiledSqlFileRegistry.isRegistered(getClass(), path));
+        assertFalse(CompiledSqlFileRegistry.isRegistered(String.class, path));
+        assertNull(CompiledSqlFileRegistry.getSqlFile(String.class, path));
+    }
+
+    public void testClear() throws Exception {
+        CompiledSqlFileRegistry.register(getClass(), path, sql,
+                SqlNodeCodec.encode(new SqlParser(sql).parse()));
+        CompiledSqlFileRegistry.clear(getClass());
+        assertTrue(CompiledSqlFileRegistry.getPaths(getClass()).isEmpty());
+    }
+}
@@ -457,4 +457,24 @@ public class NodePreparedSqlBuilderTest extends TestCase {
         }
     }
 
+    public void testIfNode_reuseParsedExpression() throws Exception {
+        String testSql = "select * from aaa where /*%if name != null*/ename = /*name*/'aaa'/*%end*/";
+        SqlParser parser = new SqlParser(testSql);
+        SqlNode sqlNode = parser.parse();
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, "hoge"));
+        PreparedSql sql = new NodePreparedSqlBuilder(config, SqlKind.SELECT,
+                "dummyPath", evaluator, SqlLogType.FORMATTED).build(sqlNode,
+                Function.identity());
+        assertEquals("select * from aaa where ename = ?", sql.getRawSql());
+
+        ExpressionEvaluator evaluator2 = new ExpressionEvaluator();
+        evaluator2.add("name", new Value(String.class, null));
+        PreparedSql sql2 = new NodePreparedSqlBuilder(config, SqlKind.SELECT,
+                "dummyPath", evaluator2, SqlLogType.FORMATTED).build(sqlNode,
+                Function.identity());
+        assertEquals("select * from aaa", sql2.getRawSql());
+    }
+
 }
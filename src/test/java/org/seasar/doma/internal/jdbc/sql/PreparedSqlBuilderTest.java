@@ -16,12 +16,15 @@
 package org.seasar.doma.internal.jdbc.sql;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.jdbc.ClassHelper;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
@@ -81,4 +84,62 @@ public class PreparedSqlBuilderTest extends TestCase {
         PreparedSql sql = builder.build(Function.identity());
         assertEquals("select * from aaa", sql.toString());
     }
+
+    public void testFormattedSql() throws Exception {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.SELECT, SqlLogType.FORMATTED);
+        builder.appendSql("select * from aaa where name = ");
+        Wrapper<String> stringWrapper = new StringWrapper("hoge");
+        builder.appendParameter(new BasicInParameter<String>(
+                () -> stringWrapper));
+        builder.appendSql(" and salary = ");
+        Wrapper<BigDecimal> bigDecimalWrapper = new BigDecimalWrapper(
+                new BigDecimal(100));
+        builder.appendParameter(new BasicInParameter<BigDecimal>(
+                () -> bigDecimalWrapper));
+        PreparedSql sql = builder.build(s -> "/**/" + s);
+        assertEquals(
+                "/**/select * from aaa where name = 'hoge' and salary = 100",
+                sql.getFormattedSql());
+        assertSame(sql.getFormattedSql(), sql.getFormattedSql());
+    }
+
+    public void testCutBackSql_parameter() throws Exception {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.UPDATE, SqlLogType.FORMATTED);
+        builder.appendSql("update aaa set name = ");
+        Wrapper<String> stringWrapper = new StringWrapper("hoge");
+        builder.appendParameter(new BasicInParameter<String>(
+                () -> stringWrapper));
+        builder.appendSql(", ");
+        builder.cutBackSql(2);
+        builder.appendSql(" where id = 1");
+        PreparedSql sql = builder.build(Function.identity());
+        assertEquals("update aaa set name = ? where id = 1", sql.getRawSql());
+        assertEquals("update aaa set name = 'hoge' where id = 1",
+                sql.getFormattedSql());
+    }
+
+    public void testBuild_parameters() throws Exception {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.BATCH_INSERT, SqlLogType.FORMATTED);
+        builder.appendSql("insert into aaa (name) values (");
+        Wrapper<String> stringWrapper = new StringWrapper("hoge");
+        builder.appendParameter(new BasicInParameter<String>(
+                () -> stringWrapper));
+        builder.appendSql(")");
+        PreparedSql sql = builder.build(Function.identity());
+
+        Wrapper<String> stringWrapper2 = new StringWrapper("foo");
+        List<InParameter<?>> parameters = Arrays
+                .<InParameter<?>> asList(new BasicInParameter<String>(
+                        () -> stringWrapper2));
+        PreparedSql sql2 = builder.build(parameters, Function.identity());
+        assertSame(sql.getRawSql(), sql2.getRawSql());
+        assertEquals(parameters, sql2.getParameters());
+        assertEquals("insert into aaa (name) values ('foo')",
+                sql2.getFormattedSql());
+        assertEquals("insert into aaa (name) values ('hoge')",
+                sql.getFormattedSql());
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.jdbc.SqlKind;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class PreparedSqlTemplateCacheTest extends TestCase {
+
+    public void testGet() throws Exception {
+        PreparedSqlTemplateCache cache = new PreparedSqlTemplateCache();
+        AtomicInteger count = new AtomicInteger();
+        PreparedSqlTemplate template1 = cache.get(
+                PreparedSqlTemplateCache.createKey("emp", 1),
+                () -> createTemplate(count));
+        PreparedSqlTemplate template2 = cache.get(
+                PreparedSqlTemplateCache.createKey("emp", 1),
+                () -> createTemplate(count));
+
+        assertSame(template1, template2);
+        assertEquals(1, count.get());
+    }
+
+    public void testGet_differentKey() throws Exception {
+        PreparedSqlTemplateCache cache = new PreparedSqlTemplateCache();
+        AtomicInteger count = new AtomicInteger();
+        PreparedSqlTemplate template1 = cache.get(
+                PreparedSqlTemplateCache.createKey("emp", 1),
+                () -> createTemplate(count));
+        PreparedSqlTemplate template2 = cache.get(
+                PreparedSqlTemplateCache.createKey("emp", 2),
+                () -> createTemplate(count));
+
+        assertNotSame(template1, template2);
+        assertEquals(2, count.get());
+    }
+
+    public void testGet_maxSize() throws Exception {
+        PreparedSqlTemplateCache cache = new PreparedSqlTemplateCache();
+        AtomicInteger count = new AtomicInteger();
+        for (int i = 0; i < PreparedSqlTemplateCache.MAX_SIZE; i++) {
+            cache.get(PreparedSqlTemplateCache.createKey(i),
+                    () -> createTemplate(count));
+        }
+        List<Object> key = PreparedSqlTemplateCache
+                .createKey(PreparedSqlTemplateCache.MAX_SIZE);
+        PreparedSqlTemplate template1 = cache.get(key,
+                () -> createTemplate(count));
+        PreparedSqlTemplate template2 = cache.get(key,
+                () -> createTemplate(count));
+
+        assertSame(template1, template2);
+        assertEquals(PreparedSqlTemplateCache.MAX_SIZE, cache.size());
+        assertEquals(PreparedSqlTemplateCache.MAX_SIZE + 1, count.get());
+        cache.get(PreparedSqlTemplateCache.createKey(0),
+                () -> createTemplate(count));
+        assertEquals(PreparedSqlTemplateCache.MAX_SIZE + 2, count.get());
+    }
+
+    private PreparedSqlTemplate createTemplate(AtomicInteger count) {
+        count.incrementAndGet();
+        PlaceholderPositions positions = new PlaceholderPositions();
+        positions.add(29);
+        return new PreparedSqlTemplate(SqlKind.SELECT,
+                "select * from emp where id = ?", positions);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class SqlNodeCodecTest extends TestCase {
+
+    private final MockConfig config = new MockConfig();
+
+    public void testSelect() throws Exception {
+        String sql = "select * from aaa where ename = /*name*/'aaa' and sal in /*salaries*/(1, 2)\n"
+                + "/*%if name != null*/and ename like /*#name*/'a%' /*%elseif sal != null */ and sal = /*^sal*/1 /*%else*/ -- comment\n"
+                + "/*%end*/ group by ename having count(*) > 1 order by /*# \"ename\" */ for update";
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, "hoge"));
+        evaluator.add("salaries", new Value(List.class, Arrays.asList(10, 20)));
+        evaluator.add("sal", new Value(Integer.class, 100));
+        assertRoundTrip(sql, evaluator);
+    }
+
+    public void testFor() throws Exception {
+        String sql = "select * from aaa where /*%for n : names*/ename = /*n*/'a' /*%if n_has_next */ /*# \"or\" */ /*%end*/ /*%end*/";
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("names", new Value(List.class, Arrays.asList("a", "b")));
+        assertRoundTrip(sql, evaluator);
+    }
+
+    public void testExpandAndEmptyParens() throws Exception {
+        String sql = "select /*%expand*/* from aaa where id in () and (/**/)";
+        assertEncoded(sql);
+    }
+
+    public void testUpdate() throws Exception {
+        String sql = "update aaa set /*%populate*/ id = id where id = /*id*/1;";
+        assertEncoded(sql);
+    }
+
+    public void testDecode_structure() throws Exception {
+        String sql = "select * from aaa where id in /*ids*/(1, 2)";
+        SqlNode node = new SqlParser(sql).parse();
+        SqlNode decoded = SqlNodeCodec.decode(sql, SqlNodeCodec.encode(node));
+        assertTrue(decoded instanceof AnonymousNode);
+        SelectStatementNode statement = (SelectStatementNode) decoded
+                .getChildren().get(0);
+        assertNotNull(statement.getSelectClauseNode());
+        assertNotNull(statement.getFromClauseNode());
+        assertNotNull(statement.getWhereClauseNode());
+        BindVariableNode bindVariableNode = null;
+        for (SqlNode child : statement.getWhereClauseNode().getChildren()) {
+            if (child instanceof BindVariableNode) {
+                bindVariableNode = (BindVariableNode) child;
+            }
+        }
+        assertNotNull(bindVariableNode);
+        ParensNode parensNode = bindVariableNode.getParensNode();
+        assertNotNull(parensNode);
+        assertTrue(parensNode.isAttachedWithValue());
+        assertFalse(parensNode.isEmpty());
+        assertNotNull(parensNode.getClosedFragmentNode());
+        assertSame(sql, parensNode.getLocation().getSql());
+    }
+
+    private void assertEncoded(String sql) {
+        SqlNode node = new SqlParser(sql).parse();
+        String encoded = SqlNodeCodec.encode(node);
+        assertEquals(encoded,
+                SqlNodeCodec.encode(SqlNodeCodec.decode(sql, encoded)));
+    }
+
+    private void assertRoundTrip(String sql, ExpressionEvaluator evaluator) {
+        SqlNode node = new SqlParser(sql).parse();
+        String encoded = SqlNodeCodec.encode(node);
+        SqlNode decoded = SqlNodeCodec.decode(sql, encoded);
+        assertEquals(encoded, SqlNodeCodec.encode(decoded));
+        PreparedSql expected = build(node, evaluator);
+        PreparedSql actual = build(decoded, evaluator);
+        assertEquals(expected.getRawSql(), actual.getRawSql());
+        assertEquals(expected.getFormattedSql(), actual.getFormattedSql());
+        assertEquals(expected.getParameters().size(), actual.getParameters()
+                .size());
+    }
+
+    private PreparedSql build(SqlNode node, ExpressionEvaluator evaluator) {
+        return new NodePreparedSqlBuilder(config, SqlKind.SELECT, "dummyPath",
+                evaluator, SqlLogType.FORMATTED).build(node,
+                Function.identity());
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql.node;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionException;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class CachedExpressionTest extends TestCase {
+
+    public void testGetExpressionNode() throws Exception {
+        CachedExpression expression = new CachedExpression("name != null");
+        ExpressionNode node = expression.getExpressionNode();
+        assertNotNull(node);
+        assertSame(node, expression.getExpressionNode());
+    }
+
+    public void testGetExpressionNode_illegalExpression() throws Exception {
+        CachedExpression expression = new CachedExpression("name !=");
+        try {
+            expression.getExpressionNode();
+            fail();
+        } catch (ExpressionException expected) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class MetaTypeCacheTest extends TestCase {
+
+    private static final Object KEY = new Object();
+
+    public void testGet() throws Exception {
+        MetaTypeCache<String> cache = new MetaTypeCache<>();
+        AtomicInteger count = new AtomicInteger();
+        assertEquals("a", cache.get(String.class, KEY, c -> {
+            count.incrementAndGet();
+            return "a";
+        }));
+        assertEquals("a", cache.get(String.class, KEY, c -> {
+            count.incrementAndGet();
+            return "b";
+        }));
+        assertEquals(1, count.get());
+    }
+
+    public void testGet_absent() throws Exception {
+        MetaTypeCache<String> cache = new MetaTypeCache<>();
+        AtomicInteger count = new AtomicInteger();
+        assertNull(cache.get(String.class, KEY, c -> {
+            count.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get(String.class, KEY, c -> {
+            count.incrementAndGet();
+            return "a";
+        }));
+        assertEquals(1, count.get());
+    }
+
+    public void testGet_absent_anotherKey() throws Exception {
+        MetaTypeCache<String> cache = new MetaTypeCache<>();
+        assertNull(cache.get(String.class, KEY, c -> null));
+        assertEquals("a", cache.get(String.class, new Object(), c -> "a"));
+        assertEquals("a", cache.get(String.class, KEY, c -> null));
+    }
+
+    public void testGet_exception() throws Exception {
+        MetaTypeCache<String> cache = new MetaTypeCache<>();
+        try {
+            cache.get(String.class, KEY, c -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals("a", cache.get(String.class, KEY, c -> "a"));
+    }
+
+    public void testRemove() throws Exception {
+        MetaTypeCache<String> cache = new MetaTypeCache<>();
+        assertEquals("a", cache.get(String.class, KEY, c -> "a"));
+        cache.remove(String.class);
+        assertEquals("b", cache.get(String.class, KEY, c -> "b"));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StripedLruCacheTest extends TestCase {
+
+    public void testGet() throws Exception {
+        StripedLruCache<String, String> cache = new StripedLruCache<>(32);
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    public void testPut_maxSize() throws Exception {
+        StripedLruCache<Integer, String> cache = new StripedLruCache<>(32);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(32, cache.size());
+        assertEquals("v999", cache.get(999));
+    }
+
+    public void testPut_evictLeastRecentlyUsed() throws Exception {
+        StripedLruCache<Integer, String> cache = new StripedLruCache<>(1);
+        cache.put(1, "A");
+        cache.put(2, "B");
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(1));
+        assertEquals("B", cache.get(2));
+    }
+
+    public void testPutIfAbsent() throws Exception {
+        StripedLruCache<String, String> cache = new StripedLruCache<>(32);
+        assertNull(cache.putIfAbsent("a", "A"));
+        assertEquals("A", cache.putIfAbsent("a", "B"));
+        assertEquals("A", cache.get("a"));
+    }
+
+    public void testClear() throws Exception {
+        StripedLruCache<String, String> cache = new StripedLruCache<>(32);
+        cache.put("a", "A");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+}
@@ -19,6 +19,10 @@ import java.lang.reflect.Method;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.internal.jdbc.sql.CompiledSqlFileRegistry;
+import org.seasar.doma.internal.jdbc.sql.SqlNodeCodec;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.jdbc.dialect.OracleDialect;
 import org.seasar.doma.jdbc.dialect.PostgresDialect;
 import org.seasar.doma.jdbc.dialect.StandardDialect;
@@ -80,4 +84,71 @@ public class GreedyCacheSqlFileRepositoryTest extends TestCase {
         assertEquals(path, sqlFile.getPath());
     }
 
+    public void testGetSqlFile_compiled() throws Exception {
+        String path = "META-INF/" + getClass().getName().replace(".", "/")
+                + "/compiled.sql";
+        String oraclePath = "META-INF/"
+                + getClass().getName().replace(".", "/")
+                + "/compiled-oracle.sql";
+        String sql = "select * from aaa where id = /*id*/1";
+        String oracleSql = "select * from bbb where id = /*id*/1";
+        CompiledSqlFileRegistry.register(getClass(), path, sql,
+                SqlNodeCodec.encode(new SqlParser(sql).parse()));
+        CompiledSqlFileRegistry.register(getClass(), oraclePath, oracleSql,
+                SqlNodeCodec.encode(new SqlParser(oracleSql).parse()));
+        try {
+            GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+            SqlFile sqlFile = repository.getSqlFile(method, path,
+                    new StandardDialect());
+            assertEquals(path, sqlFile.getPath());
+            assertEquals(sql, sqlFile.getSql());
+            assertNotNull(sqlFile.getSqlNode());
+            repository.clearCache();
+            SqlFile oracleSqlFile = repository.getSqlFile(method, path,
+                    new OracleDialect());
+            assertEquals(oraclePath, oracleSqlFile.getPath());
+            assertEquals(oracleSql, oracleSqlFile.getSql());
+        } finally {
+            CompiledSqlFileRegistry.clear(getClass());
+        }
+    }
+
+    public void testGetSqlFile_compiledForAnotherDao() throws Exception {
+        String path = "META-INF/" + getClass().getName().replace(".", "/")
+                + "/compiled.sql";
+        String sql = "select * from aaa where id = /*id*/1";
+        CompiledSqlFileRegistry.register(WarmUpDao.class, path, sql,
+                SqlNodeCodec.encode(new SqlParser(sql).parse()));
+        try {
+            GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+            repository.getSqlFile(method, path, new StandardDialect());
+            fail();
+        } catch (SqlFileNotFoundException expected) {
+        } finally {
+            CompiledSqlFileRegistry.clear(WarmUpDao.class);
+        }
+    }
+
+    public void testWarmUp() throws Exception {
+        String dir = "META-INF/org/seasar/doma/jdbc/WarmUpDao/";
+        GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+        SqlFileWarmUpResult result = repository.warmUp(new OracleDialect(),
+                WarmUpDao.class).get();
+        assertEquals(3, result.getCount());
+        assertTrue(result.getLoadTimes().containsKey(dir + "selectById.sql"));
+        assertTrue(result.getLoadTimes().containsKey(dir + "insert.sql"));
+        assertTrue(result.getLoadTimes().containsKey(dir + "process.sql"));
+        assertEquals(3, repository.sqlFileMap.size());
+        assertEquals(dir + "selectById-oracle.sql",
+                repository.sqlFileMap.get(dir + "selectById.sql").getPath());
+    }
+
+    public void testWarmUp_notDao() throws Exception {
+        GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+        try {
+            repository.warmUp(new StandardDialect(), String.class);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+        }
+    }
 }
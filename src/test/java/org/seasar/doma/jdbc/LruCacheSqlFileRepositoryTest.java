@@ -0,0 +1,183 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.internal.util.ResourceUtil;
+import org.seasar.doma.jdbc.dialect.OracleDialect;
+import org.seasar.doma.jdbc.dialect.StandardDialect;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class LruCacheSqlFileRepositoryTest extends TestCase {
+
+    private static final String DIR = "META-INF/org/seasar/doma/jdbc/WarmUpDao/";
+
+    private Method method;
+
+    @Override
+    protected void setUp() throws Exception {
+        method = getClass().getMethod(getName());
+    }
+
+    public void testGetSqlFile() throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        String path = DIR + "selectById.sql";
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1000);
+        SqlFile sqlFile = repository.getSqlFile(method, path, dialect);
+        SqlFile sqlFile2 = repository.getSqlFile(method, path, dialect);
+        assertSame(sqlFile, sqlFile2);
+        SqlFileCacheStatistics statistics = repository.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertEquals(1, statistics.getSize());
+        assertEquals(repository.calculateWeight(sqlFile),
+                statistics.getWeight());
+        assertTrue(statistics.getWeight() > sqlFile.getSql().length());
+    }
+
+    public void testGetSqlFile_oracle() throws Exception {
+        String path = DIR + "selectById.sql";
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1000);
+        SqlFile sqlFile = repository.getSqlFile(method, path,
+                new OracleDialect());
+        assertEquals(DIR + "selectById-oracle.sql", sqlFile.getPath());
+    }
+
+    public void testEviction() throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        String path1 = DIR + "selectById.sql";
+        String path2 = DIR + "insert.sql";
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1000);
+        SqlFile sqlFile1 = repository.getSqlFile(method, path1, dialect);
+        SqlFile sqlFile2 = repository.getSqlFile(method, path2, dialect);
+        long weight = repository.calculateWeight(sqlFile1)
+                + repository.calculateWeight(sqlFile2);
+
+        repository = new LruCacheSqlFileRepository(weight - 1);
+        repository.getSqlFile(method, path1, dialect);
+        repository.getSqlFile(method, path2, dialect);
+        SqlFileCacheStatistics statistics = repository.getStatistics();
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(1, statistics.getSize());
+        repository.getSqlFile(method, path2, dialect);
+        assertEquals(1, repository.getStatistics().getHitCount());
+        repository.getSqlFile(method, path1, dialect);
+        assertEquals(3, repository.getStatistics().getMissCount());
+        assertEquals(2, repository.getStatistics().getEvictionCount());
+    }
+
+    public void testEviction_leastRecentlyUsed() throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        String path1 = DIR + "selectById.sql";
+        String path2 = DIR + "insert.sql";
+        String path3 = "META-INF/"
+                + GreedyCacheSqlFileRepositoryTest.class.getName().replace(
+                        ".", "/") + ".sql";
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                Long.MAX_VALUE);
+        long weight = repository.calculateWeight(repository.getSqlFile(
+                method, path1, dialect))
+                + repository.calculateWeight(repository.getSqlFile(method,
+                        path2, dialect))
+                + repository.calculateWeight(repository.getSqlFile(method,
+                        path3, dialect));
+
+        repository = new LruCacheSqlFileRepository(weight - 1);
+        repository.getSqlFile(method, path1, dialect);
+        repository.getSqlFile(method, path2, dialect);
+        repository.getSqlFile(method, path1, dialect);
+        repository.getSqlFile(method, path3, dialect);
+        assertTrue(repository.entryMap.containsKey(path1));
+        assertFalse(repository.entryMap.containsKey(path2));
+        assertTrue(repository.entryMap.containsKey(path3));
+    }
+
+    public void testTooHeavy() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1);
+        SqlFile sqlFile = repository.getSqlFile(method,
+                DIR + "selectById.sql", new StandardDialect());
+        assertNotNull(sqlFile);
+        assertEquals(0, repository.getStatistics().getSize());
+        assertEquals(0, repository.getStatistics().getWeight());
+    }
+
+    public void testClearCache() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1000);
+        repository.getSqlFile(method, DIR + "selectById.sql",
+                new StandardDialect());
+        repository.clearCache();
+        assertEquals(0, repository.getStatistics().getSize());
+        assertEquals(0, repository.getStatistics().getWeight());
+    }
+
+    public void testReload() throws Exception {
+        URL url = ResourceUtil.getResource(DIR + "selectById.sql");
+        assertEquals("file", url.getProtocol());
+        File dir = new File(url.toURI()).getParentFile().getParentFile();
+        File file = new File(dir, "LruCacheSqlFileRepositoryTest/reload.sql");
+        String path = "META-INF/org/seasar/doma/jdbc/LruCacheSqlFileRepositoryTest/reload.sql";
+        file.getParentFile().mkdirs();
+        try {
+            Files.write(file.toPath(),
+                    "select 1".getBytes(StandardCharsets.UTF_8));
+            LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                    1000, true);
+            StandardDialect dialect = new StandardDialect();
+            SqlFile sqlFile = repository.getSqlFile(method, path, dialect);
+            assertEquals("select 1", sqlFile.getSql());
+            assertSame(sqlFile, repository.getSqlFile(method, path, dialect));
+
+            long lastModified = file.lastModified();
+            Files.write(file.toPath(),
+                    "select 2".getBytes(StandardCharsets.UTF_8));
+            file.setLastModified(lastModified + 2000);
+            sqlFile = repository.getSqlFile(method, path, dialect);
+            assertEquals("select 2", sqlFile.getSql());
+            SqlFileCacheStatistics statistics = repository.getStatistics();
+            assertEquals(1, statistics.getReloadCount());
+            assertEquals(1, statistics.getHitCount());
+            assertEquals(1, statistics.getSize());
+        } finally {
+            file.delete();
+            file.getParentFile().delete();
+        }
+    }
+
+    public void testIllegalMaxWeight() throws Exception {
+        try {
+            new LruCacheSqlFileRepository(0);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+        }
+    }
+}
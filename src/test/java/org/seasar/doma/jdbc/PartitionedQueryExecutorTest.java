@@ -0,0 +1,139 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class PartitionedQueryExecutorTest extends TestCase {
+
+    private final MockConfig config = new MockConfig();
+
+    public void testCreatePartitions() throws Exception {
+        List<SelectOptions> partitions = PartitionedQueryExecutor
+                .newInstance(config, "id", 0, 10).parallelism(3)
+                .createPartitions();
+        assertEquals(3, partitions.size());
+        assertRange(partitions.get(0), 0, 4);
+        assertRange(partitions.get(1), 4, 7);
+        assertRange(partitions.get(2), 7, 10);
+    }
+
+    public void testCreatePartitions_smallRange() throws Exception {
+        List<SelectOptions> partitions = PartitionedQueryExecutor
+                .newInstance(config, "id", 1, 3).parallelism(8)
+                .createPartitions();
+        assertEquals(2, partitions.size());
+        assertRange(partitions.get(0), 1, 2);
+        assertRange(partitions.get(1), 2, 3);
+    }
+
+    public void testNewInstance_illegalRange() throws Exception {
+        try {
+            PartitionedQueryExecutor.newInstance(config, "id", 3, 3);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("upper", expected.getParameterName());
+        }
+    }
+
+    public void testExecute() throws Exception {
+        List<String> results = PartitionedQueryExecutor
+                .newInstance(config, "id", 0, 100)
+                .parallelism(4)
+                .execute(
+                        options -> SelectOptionsAccessor.getPartitionKey(options)
+                                + ":"
+                                + SelectOptionsAccessor
+                                        .getPartitionLower(options));
+        assertEquals(4, results.size());
+        assertEquals("id:0", results.get(0));
+        assertEquals("id:25", results.get(1));
+        assertEquals("id:50", results.get(2));
+        assertEquals("id:75", results.get(3));
+    }
+
+    public void testExecute_exception() throws Exception {
+        AtomicInteger finished = new AtomicInteger();
+        try {
+            PartitionedQueryExecutor.newInstance(config, "id", 0, 4)
+                    .parallelism(4).execute(options -> {
+                        if (SelectOptionsAccessor.getPartitionLower(options) == 2) {
+                            throw new IllegalStateException("hoge");
+                        }
+                        return finished.incrementAndGet();
+                    });
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals("hoge", expected.getMessage());
+        }
+        assertEquals(3, finished.get());
+    }
+
+    public void testStream() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        List<Long> results;
+        try (Stream<Long> stream = PartitionedQueryExecutor
+                .newInstance(config, "id", 0, 1000)
+                .parallelism(3)
+                .bufferSize(10)
+                .stream(options -> LongStream
+                        .range(SelectOptionsAccessor.getPartitionLower(options),
+                                SelectOptionsAccessor.getPartitionUpper(options))
+                        .boxed().onClose(closed::incrementAndGet))) {
+            results = stream.sorted().collect(Collectors.toList());
+        }
+        assertEquals(1000, results.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, results.get(i).longValue());
+        }
+        assertEquals(3, closed.get());
+    }
+
+    public void testStream_close() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        try (Stream<Long> stream = PartitionedQueryExecutor
+                .newInstance(config, "id", 0, 3).parallelism(3).bufferSize(2)
+                .stream(options -> Stream.iterate(0L, i -> i + 1)
+                        .onClose(closed::incrementAndGet))) {
+            Iterator<Long> it = stream.iterator();
+            for (int i = 0; i < 5; i++) {
+                assertTrue(it.hasNext());
+                it.next();
+            }
+        }
+        assertEquals(3, closed.get());
+    }
+
+    private void assertRange(SelectOptions options, long lower, long upper) {
+        assertEquals("id", SelectOptionsAccessor.getPartitionKey(options));
+        assertEquals(lower, SelectOptionsAccessor.getPartitionLower(options));
+        assertEquals(upper, SelectOptionsAccessor.getPartitionUpper(options));
+    }
+}
@@ -19,6 +19,7 @@ import junit.framework.TestCase;
 
 import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.jdbc.dialect.PostgresDialect;
 
 /**
  * @author backpaper0
@@ -101,4 +102,56 @@ public class SelectOptionsTest extends TestCase {
             assertEquals("limit < 0", expected.getDescription());
         }
     }
+
+    public void testAfterParameter1() throws Exception {
+        Object[] keys = null;
+        try {
+            SelectOptions.get().after(keys);
+            fail();
+        } catch (DomaNullPointerException expected) {
+            assertEquals("keys", expected.getParameterName());
+        }
+    }
+
+    public void testAfterParameter2() throws Exception {
+        try {
+            SelectOptions.get().after(1, null);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("keys", expected.getParameterName());
+            assertEquals("keys[1] == null", expected.getDescription());
+        }
+    }
+
+    public void testPartitionParameter1() throws Exception {
+        try {
+            SelectOptions.get().partition(null, 1, 2);
+            fail();
+        } catch (DomaNullPointerException expected) {
+            assertEquals("partitionKey", expected.getParameterName());
+        }
+    }
+
+    public void testPartitionParameter2() throws Exception {
+        try {
+            SelectOptions.get().partition("id", 2, 2);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("upper", expected.getParameterName());
+        }
+    }
+
+    public void testIsCountColumnIncluded() throws Exception {
+        SelectOptions options = SelectOptions.get().countWithWindowFunction();
+        assertTrue(SelectOptionsAccessor.isCountColumnIncluded(options,
+                new PostgresDialect()));
+    }
+
+    public void testIsCountColumnIncluded_forUpdate() throws Exception {
+        SelectOptions options = SelectOptions.get().countWithWindowFunction()
+                .forUpdate();
+        assertFalse(SelectOptionsAccessor.isCountColumnIncluded(options,
+                new PostgresDialect()));
+        assertTrue(SelectOptionsAccessor.isCount(options));
+    }
 }
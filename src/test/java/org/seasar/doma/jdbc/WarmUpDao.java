@@ -0,0 +1,46 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.function.BiFunction;
+
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.SqlProcessor;
+import org.seasar.doma.Update;
+
+import example.entity.Emp;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+@Dao
+public interface WarmUpDao {
+
+    @Select
+    Emp selectById(Integer id);
+
+    @Insert(sqlFile = true)
+    int insert(Emp emp);
+
+    @Update
+    int update(Emp emp);
+
+    @SqlProcessor
+    <R> R process(Integer id, BiFunction<Config, PreparedSql, R> handler);
+}
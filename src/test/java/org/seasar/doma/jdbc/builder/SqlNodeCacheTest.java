@@ -0,0 +1,73 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.builder;
+
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.jdbc.Sql;
+import org.seasar.doma.jdbc.SqlNode;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class SqlNodeCacheTest extends TestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        SqlNodeCache.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        SqlNodeCache.clear();
+        super.tearDown();
+    }
+
+    public void testGet() throws Exception {
+        SqlNode node1 = SqlNodeCache.get("select * from emp where id = /*id*/0");
+        SqlNode node2 = SqlNodeCache.get("select * from emp where id = /*id*/0");
+        assertSame(node1, node2);
+        assertEquals(1, SqlNodeCache.size());
+    }
+
+    public void testGet_maxSize() throws Exception {
+        SqlNode first = SqlNodeCache.get("select 0");
+        int count = SqlNodeCache.MAX_SIZE * 4;
+        for (int i = 1; i < count; i++) {
+            SqlNodeCache.get("select " + i);
+        }
+        assertEquals(SqlNodeCache.MAX_SIZE, SqlNodeCache.size());
+        SqlNode last = SqlNodeCache.get("select " + (count - 1));
+        assertSame(last, SqlNodeCache.get("select " + (count - 1)));
+        assertNotSame(first, SqlNodeCache.get("select 0"));
+        assertEquals(SqlNodeCache.MAX_SIZE, SqlNodeCache.size());
+    }
+
+    public void testSelectBuilder() throws Exception {
+        MockConfig config = new MockConfig();
+        for (int i = 0; i < 2; i++) {
+            SelectBuilder builder = SelectBuilder.newInstance(config);
+            builder.sql("select * from Emp where id = ").param(int.class, i);
+            Sql<?> sql = builder.getSql();
+            assertEquals("select * from Emp where id = ?", sql.getRawSql());
+            assertEquals(i, sql.getParameters().get(0).getValue());
+        }
+        assertEquals(1, SqlNodeCache.size());
+    }
+}
@@ -15,16 +15,26 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.mock.MockPreparedStatement;
+import org.seasar.doma.internal.jdbc.mock.MockResultSet;
+import org.seasar.doma.internal.jdbc.mock.RowData;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.dialect.H2Dialect;
+import org.seasar.doma.jdbc.dialect.MysqlDialect;
 import org.seasar.doma.jdbc.query.AutoBatchInsertQuery;
 
 import example.entity.Emp;
+import example.entity.IdGeneratedEmp;
 import example.entity._Emp;
+import example.entity._IdGeneratedEmp;
 
 /**
  * @author taedium
@@ -64,4 +74,175 @@ public class BatchInsertCommandTest extends TestCase {
                 sql);
     }
 
+    public void testExecute_multiRow() throws Exception {
+        MockConfig config = new MockConfig() {
+
+            @Override
+            public boolean isMultiRowBatchInsertEnabled() {
+                return true;
+            }
+        };
+        config.setDialect(new MysqlDialect());
+        config.dataSource.connection.preparedStatement.updatedRows = 2;
+
+        List<Emp> emps = new ArrayList<Emp>();
+        for (int i = 1; i <= 4; i++) {
+            Emp emp = new Emp();
+            emp.setId(i);
+            emp.setName("hoge" + i);
+            emp.setVersion(i);
+            emps.add(emp);
+        }
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(config);
+        query.setEntities(emps);
+        query.setBatchSize(2);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        int[] rows = new BatchInsertCommand(query).execute();
+        query.complete();
+
+        assertTrue(Arrays.equals(new int[] { 1, 1, 1, 1 }, rows));
+        MockPreparedStatement preparedStatement = config.dataSource.connection.preparedStatement;
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?), (?, ?, ?, ?)",
+                preparedStatement.sql);
+        assertEquals(16, preparedStatement.bindValues.size());
+    }
+
+    public void testExecute_multiRow_generatedKeys() throws Exception {
+        MockConfig config = new MockConfig() {
+
+            @Override
+            public boolean isMultiRowBatchInsertEnabled() {
+                return true;
+            }
+        };
+        config.setDialect(new MysqlDialect());
+        MockPreparedStatement preparedStatement = config.dataSource.connection.preparedStatement;
+        preparedStatement.updatedRows = 2;
+        for (long i = 0; i < 2; i++) {
+            MockResultSet resultSet = new MockResultSet();
+            resultSet.rows.add(new RowData(10L + i * 2));
+            resultSet.rows.add(new RowData(11L + i * 2));
+            preparedStatement.generatedKeys.add(resultSet);
+        }
+
+        List<IdGeneratedEmp> emps = new ArrayList<IdGeneratedEmp>();
+        for (int i = 1; i <= 4; i++) {
+            IdGeneratedEmp emp = new IdGeneratedEmp();
+            emp.setName("hoge" + i);
+            emps.add(emp);
+        }
+
+        AutoBatchInsertQuery<IdGeneratedEmp> query = new AutoBatchInsertQuery<IdGeneratedEmp>(
+                _IdGeneratedEmp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(config);
+        query.setEntities(emps);
+        query.setBatchSize(2);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        int[] rows = new BatchInsertCommand(query).execute();
+        query.complete();
+
+        assertTrue(Arrays.equals(new int[] { 1, 1, 1, 1 }, rows));
+        assertEquals(
+                "insert into `CATA`.`EMP` (NAME, SALARY, VERSION) values (?, ?, ?), (?, ?, ?)",
+                preparedStatement.sql);
+        assertTrue(preparedStatement.generatedKeys.isEmpty());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Integer.valueOf(10 + i), emps.get(i).getId());
+        }
+    }
+
+    public void testExecute_multiRow_returning() throws Exception {
+        MockConfig config = new MockConfig() {
+
+            @Override
+            public boolean isMultiRowBatchInsertEnabled() {
+                return true;
+            }
+        };
+        config.setDialect(new H2Dialect());
+        MockPreparedStatement preparedStatement = config.dataSource.connection.preparedStatement;
+        preparedStatement.resultSet.rows.add(new RowData(10L));
+        preparedStatement.resultSet.rows.add(new RowData(11L));
+        preparedStatement.resultSet.rows.add(new RowData(12L));
+
+        List<IdGeneratedEmp> emps = new ArrayList<IdGeneratedEmp>();
+        for (int i = 1; i <= 3; i++) {
+            IdGeneratedEmp emp = new IdGeneratedEmp();
+            emp.setName("hoge" + i);
+            emps.add(emp);
+        }
+
+        AutoBatchInsertQuery<IdGeneratedEmp> query = new AutoBatchInsertQuery<IdGeneratedEmp>(
+                _IdGeneratedEmp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(config);
+        query.setEntities(emps);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        int[] rows = new BatchInsertCommand(query).execute();
+        query.complete();
+
+        assertTrue(Arrays.equals(new int[] { 1, 1, 1 }, rows));
+        assertEquals(
+                "select ID from final table (insert into \"CATA\".\"EMP\" (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?), (?, ?, ?, ?), (?, ?, ?, ?))",
+                preparedStatement.sql);
+        assertTrue(preparedStatement.resultSet.closed);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Integer.valueOf(10 + i), emps.get(i).getId());
+        }
+    }
+
+    public void testGetMultiRowSqls_lazy() throws Exception {
+        MockConfig config = new MockConfig() {
+
+            @Override
+            public boolean isMultiRowBatchInsertEnabled() {
+                return true;
+            }
+        };
+        config.setDialect(new MysqlDialect());
+
+        List<Emp> emps = new ArrayList<Emp>();
+        for (int i = 1; i <= 5; i++) {
+            Emp emp = new Emp();
+            emp.setId(i);
+            emp.setName("hoge" + i);
+            emp.setVersion(i);
+            emps.add(emp);
+        }
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(config);
+        query.setEntities(emps);
+        query.setBatchSize(2);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        List<PreparedSql> sqls = query.getMultiRowSqls();
+        assertEquals(3, sqls.size());
+        emps.get(4).setName("bar");
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (5, 'bar', null, 5)",
+                sqls.get(2).getFormattedSql());
+        assertNotSame(sqls.get(0), sqls.get(0));
+    }
+
 }
@@ -15,7 +15,10 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -75,4 +78,144 @@ public class ScriptCommandTest extends TestCase {
             System.out.println(expected.getMessage());
         }
     }
+
+    public void testExecute_batch() throws Exception {
+        List<String> log = new ArrayList<>();
+        MockConfig config = new MockConfig();
+        config.dataSource.connection.statement = new MockStatement() {
+
+            @Override
+            public boolean execute(String sql) throws SQLException {
+                log.add("execute: " + sql);
+                return false;
+            }
+
+            @Override
+            public void addBatch(String sql) throws SQLException {
+                super.addBatch(sql);
+                log.add("addBatch: " + sql);
+            }
+
+            @Override
+            public int[] executeBatch() throws SQLException {
+                log.add("executeBatch: " + addBatchCount);
+                return super.executeBatch();
+            }
+
+        };
+
+        SqlFileScriptQuery query = new SqlFileScriptQuery();
+        query.setConfig(config);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setScriptFilePath(ScriptFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.setBlockDelimiter("");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.prepare();
+        ScriptCommand command = new ScriptCommand(query);
+        command.execute();
+
+        assertEquals(9, log.size());
+        assertEquals("execute: create table emp (a integer, b integer)",
+                log.get(0));
+        assertEquals("addBatch: insert into emp (a, b) values (1, 2)",
+                log.get(1));
+        assertEquals("addBatch: insert into emp (a, b) values (3, 4)",
+                log.get(2));
+        assertEquals("executeBatch: 2", log.get(3));
+        assertEquals("addBatch: insert into emp (a, b) values (5, 6)",
+                log.get(4));
+        assertEquals("executeBatch: 1", log.get(5));
+        assertEquals("execute: create index emp_idx on emp (a)", log.get(6));
+        assertEquals("addBatch: update emp set b = 0", log.get(7));
+        assertEquals("executeBatch: 1", log.get(8));
+        assertTrue(config.dataSource.connection.statement.closed);
+    }
+
+    public void testExecute_batch_ScriptException() throws Exception {
+        MockConfig config = new MockConfig();
+        config.dataSource.connection.statement = new MockStatement() {
+
+            @Override
+            public int[] executeBatch() throws SQLException {
+                throw new BatchUpdateException(new int[] { 1 });
+            }
+
+        };
+
+        SqlFileScriptQuery query = new SqlFileScriptQuery();
+        query.setConfig(config);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setScriptFilePath(ScriptFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.setBlockDelimiter("");
+        query.setHaltOnError(true);
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(10);
+        query.prepare();
+        ScriptCommand command = new ScriptCommand(query);
+        try {
+            command.execute();
+            fail();
+        } catch (ScriptException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals("insert into emp (a, b) values (3, 4)",
+                    expected.getRawSql());
+            assertEquals(2, expected.getLineNumber());
+        }
+    }
+
+    public void testExecute_batch_continueOnError() throws Exception {
+        List<String> log = new ArrayList<>();
+        MockConfig config = new MockConfig();
+        config.dataSource.connection.statement = new MockStatement() {
+
+            @Override
+            public boolean execute(String sql) throws SQLException {
+                log.add("execute: " + sql);
+                return false;
+            }
+
+            @Override
+            public int[] executeBatch() throws SQLException {
+                throw new BatchUpdateException(new int[] { 1 });
+            }
+
+            @Override
+            public void clearBatch() throws SQLException {
+                throw new SQLException("clearBatch");
+            }
+
+        };
+
+        SqlFileScriptQuery query = new SqlFileScriptQuery();
+        query.setConfig(config);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setScriptFilePath(ScriptFileUtil.buildPath(getClass().getName(),
+                "testExecute_batch_ScriptException"));
+        query.setBlockDelimiter("");
+        query.setHaltOnError(false);
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(10);
+        query.prepare();
+        ScriptCommand command = new ScriptCommand(query);
+        try {
+            command.execute();
+            fail();
+        } catch (ScriptException expected) {
+            assertEquals("insert into emp (a, b) values (3, 4)",
+                    expected.getRawSql());
+            Throwable cause = expected.getCause();
+            assertTrue(cause instanceof BatchUpdateException);
+            assertEquals(1, cause.getSuppressed().length);
+            assertEquals("clearBatch", cause.getSuppressed()[0].getMessage());
+        }
+        assertEquals(1, log.size());
+        assertEquals("execute: insert into emp (a, b) values (5, 6)",
+                log.get(0));
+    }
 }
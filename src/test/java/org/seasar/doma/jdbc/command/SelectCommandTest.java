@@ -36,7 +36,9 @@ import org.seasar.doma.internal.jdbc.mock.MockResultSet;
 import org.seasar.doma.internal.jdbc.mock.MockResultSetMetaData;
 import org.seasar.doma.internal.jdbc.mock.RowData;
 import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
+import org.seasar.doma.jdbc.SelectOptions;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.dialect.PostgresDialect;
 import org.seasar.doma.jdbc.query.SqlFileSelectQuery;
 
 import example.entity.Emp;
@@ -147,6 +149,128 @@ public class SelectCommandTest extends TestCase {
         assertEquals(1, bindValue.getIndex());
     }
 
+    public void testExecute_keyset() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(3, "bar", new BigDecimal(8000), 300));
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setOptions(SelectOptions.get().after(new BigDecimal(9000), 2));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        SelectCommand<List<Emp>> command = new SelectCommand<List<Emp>>(query,
+                new EntityResultListHandler<Emp>(_Emp.getSingletonInternal()));
+        List<Emp> entities = command.execute();
+        query.complete();
+
+        assertEquals(1, entities.size());
+        assertEquals(
+                "select * from aaa where ( sarary >= ? ) and ((salary < ?) or (salary = ? and id > ?)) order by salary desc, id",
+                query.getSql().getRawSql());
+        List<BindValue> bindValues = runtimeConfig.dataSource.connection.preparedStatement.bindValues;
+        assertEquals(4, bindValues.size());
+        assertEquals(new BigDecimal(5000), bindValues.get(0).getValue());
+        assertEquals(new BigDecimal(9000), bindValues.get(1).getValue());
+        assertEquals(new BigDecimal(9000), bindValues.get(2).getValue());
+        assertEquals(2, bindValues.get(3).getValue());
+    }
+
+    public void testExecute_partition() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(11, "bar", new BigDecimal(8000), 300));
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setOptions(SelectOptions.get().partition("id", 10, 20));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        SelectCommand<List<Emp>> command = new SelectCommand<List<Emp>>(query,
+                new EntityResultListHandler<Emp>(_Emp.getSingletonInternal()));
+        List<Emp> entities = command.execute();
+        query.complete();
+
+        assertEquals(1, entities.size());
+        assertEquals(
+                "select * from aaa where ( sarary >= ? ) and (id >= ? and id < ?) order by salary desc, id",
+                query.getSql().getRawSql());
+        List<BindValue> bindValues = runtimeConfig.dataSource.connection.preparedStatement.bindValues;
+        assertEquals(3, bindValues.size());
+        assertEquals(new BigDecimal(5000), bindValues.get(0).getValue());
+        assertEquals(10L, bindValues.get(1).getValue());
+        assertEquals(20L, bindValues.get(2).getValue());
+    }
+
+    public void testExecute_windowCount() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        metaData.columns.add(new ColumnMetaData("doma_count_"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "hoge", new BigDecimal(10000), 100,
+                42L));
+        resultSet.rows.add(new RowData(2, "foo", new BigDecimal(20000), 200,
+                42L));
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+        runtimeConfig.setDialect(new PostgresDialect());
+
+        SelectOptions options = SelectOptions.get().limit(2)
+                .countWithWindowFunction();
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setOptions(options);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        SelectCommand<List<Emp>> command = new SelectCommand<List<Emp>>(query,
+                new EntityResultListHandler<Emp>(_Emp.getSingletonInternal()));
+        List<Emp> entities = command.execute();
+        query.complete();
+
+        assertEquals(
+                "select temp_.*, count(*) over() as doma_count_ from ( select * from aaa where sarary >= ? ) temp_ order by temp_.id limit 2",
+                query.getSql().getRawSql());
+        assertEquals(2, entities.size());
+        assertEquals("foo", entities.get(1).getName());
+        assertEquals(42L, options.getCount());
+    }
+
     public void testExecute_NoResultException() throws Exception {
         MockResultSetMetaData metaData = new MockResultSetMetaData();
         metaData.columns.add(new ColumnMetaData("id"));
@@ -250,4 +374,56 @@ public class SelectCommandTest extends TestCase {
         assertTrue(runtimeConfig.dataSource.connection.isClosed());
     }
 
+    public void testExecute_resultStream_prefetch() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        for (int i = 1; i <= 10; i++) {
+            resultSet.rows.add(new RowData(i, "name" + i, new BigDecimal(
+                    i * 1000), i));
+        }
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setFetchType(FetchType.PREFETCH);
+        query.setFetchSize(2);
+        query.setResultStream(true);
+        query.prepare();
+
+        SelectCommand<Stream<Emp>> command = new SelectCommand<Stream<Emp>>(
+                query, new EntityStreamHandler<Emp, Stream<Emp>>(
+                        _Emp.getSingletonInternal(), Function.identity()));
+        try (Stream<Emp> stream = command.execute()) {
+            query.complete();
+
+            List<String> names = stream.map(Emp::getName).collect(
+                    Collectors.toList());
+            assertEquals(10, names.size());
+            assertEquals("name1", names.get(0));
+            assertEquals("name10", names.get(9));
+
+            assertFalse(runtimeConfig.dataSource.connection.preparedStatement
+                    .isClosed());
+            assertFalse(runtimeConfig.dataSource.connection.isClosed());
+        }
+
+        assertTrue(runtimeConfig.dataSource.connection.preparedStatement.resultSet
+                .isClosed());
+        assertTrue(runtimeConfig.dataSource.connection.preparedStatement
+                .isClosed());
+        assertTrue(runtimeConfig.dataSource.connection.isClosed());
+    }
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.dialect;
+
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class MysqlDialectTest extends TestCase {
+
+    public void testTransformSelectSqlNode_partitionAndCount()
+            throws Exception {
+        MysqlDialect dialect = new MysqlDialect();
+        SqlParser parser = new SqlParser("select * from emp order by emp.id");
+        SqlNode sqlNode = parser.parse();
+        SelectOptions options = SelectOptions.get().partition("emp.id", 100,
+                200).count();
+        SqlNode transformed = dialect.transformSelectSqlNode(sqlNode, options);
+        PreparedSql sql = build(transformed);
+        assertEquals(
+                "select sql_calc_found_rows * from emp where (emp.id >= ? and emp.id < ?) order by emp.id",
+                sql.getRawSql());
+        assertEquals(2, sql.getParameters().size());
+    }
+
+    private PreparedSql build(SqlNode sqlNode) {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("doma_partition_lower_", new Value(Long.class, 100L));
+        evaluator.add("doma_partition_upper_", new Value(Long.class, 200L));
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath", evaluator,
+                SqlLogType.FORMATTED);
+        return sqlBuilder.build(sqlNode, Function.identity());
+    }
+}
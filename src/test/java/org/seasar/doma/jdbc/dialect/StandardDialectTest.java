@@ -20,14 +20,22 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Calendar;
+import java.util.function.Function;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.expr.ExpressionFunctions;
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
 import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SelectForUpdateType;
 import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.SqlNode;
 
 /**
@@ -434,4 +442,29 @@ public class StandardDialectTest extends TestCase {
         }
 
     }
+
+    public void testTransformSelectSqlNode_partitionAndCount()
+            throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        SqlParser parser = new SqlParser("select * from emp order by emp.id");
+        SqlNode sqlNode = parser.parse();
+        SelectOptions options = SelectOptions.get().partition("emp.id", 100,
+                200).count();
+        SqlNode transformed = dialect.transformSelectSqlNode(sqlNode, options);
+        PreparedSql sql = build(transformed);
+        assertEquals(
+                "select * from emp where (emp.id >= ? and emp.id < ?) order by emp.id",
+                sql.getRawSql());
+        assertEquals(2, sql.getParameters().size());
+    }
+
+    private PreparedSql build(SqlNode sqlNode) {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("doma_partition_lower_", new Value(Long.class, 100L));
+        evaluator.add("doma_partition_upper_", new Value(Long.class, 200L));
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath", evaluator,
+                SqlLogType.FORMATTED);
+        return sqlBuilder.build(sqlNode, Function.identity());
+    }
 }
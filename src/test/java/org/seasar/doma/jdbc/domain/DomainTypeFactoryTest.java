@@ -21,6 +21,7 @@ import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.jdbc.ClassHelper;
 
 import example.domain.PhoneNumber;
+import example.domain._PhoneNumber;
 
 /**
  * @author taedium
@@ -56,4 +57,39 @@ public class DomainTypeFactoryTest extends TestCase {
             System.out.println(e.getMessage());
         }
     }
+
+    @SuppressWarnings("unchecked")
+    public void testGetExternalDomainType_absenceCachedPerClassHelper()
+            throws Exception {
+        DomainTypeFactory.removeCache(Money.class);
+        int[] count = new int[1];
+        ClassHelper failingClassHelper = new ClassHelper() {
+            @Override
+            public <T> Class<T> forName(String className) throws Exception {
+                count[0]++;
+                throw new ClassNotFoundException(className);
+            }
+        };
+        ClassHelper succeedingClassHelper = new ClassHelper() {
+            @Override
+            public <T> Class<T> forName(String className) throws Exception {
+                assertEquals("__.org.seasar.doma.jdbc.domain._Money",
+                        className);
+                return (Class<T>) _PhoneNumber.class;
+            }
+        };
+        assertNull(DomainTypeFactory.getExternalDomainType(Money.class,
+                failingClassHelper));
+        assertNull(DomainTypeFactory.getExternalDomainType(Money.class,
+                failingClassHelper));
+        assertEquals(1, count[0]);
+
+        DomainType<?, Money> type = DomainTypeFactory.getExternalDomainType(
+                Money.class, succeedingClassHelper);
+        assertNotNull(type);
+        assertSame(type, DomainTypeFactory.getExternalDomainType(Money.class,
+                failingClassHelper));
+        assertEquals(1, count[0]);
+        DomainTypeFactory.removeCache(Money.class);
+    }
 }
@@ -37,6 +37,26 @@ public class EntityTypeFactoryTest extends TestCase {
         assertNotNull(type);
     }
 
+    public void testGetEntityType_cached() throws Exception {
+        EntityTypeFactory.removeCache(NotTopLevelEntity.Hoge.class);
+        int[] count = new int[1];
+        ClassHelper countingClassHelper = new ClassHelper() {
+            @Override
+            public <T> Class<T> forName(String className) throws Exception {
+                count[0]++;
+                return ClassHelper.super.forName(className);
+            }
+        };
+        EntityType<NotTopLevelEntity.Hoge> type = EntityTypeFactory
+                .getEntityType(NotTopLevelEntity.Hoge.class,
+                        countingClassHelper);
+        EntityType<NotTopLevelEntity.Hoge> type2 = EntityTypeFactory
+                .getEntityType(NotTopLevelEntity.Hoge.class,
+                        countingClassHelper);
+        assertSame(type, type2);
+        assertEquals(1, count[0]);
+    }
+
     public void testGetEntityType_forNestedEntity() throws Exception {
         EntityType<NotTopLevelEntity.Hoge> type = EntityTypeFactory
                 .getEntityType(NotTopLevelEntity.Hoge.class, classHelper);
@@ -15,11 +15,18 @@
  */
 package org.seasar.doma.jdbc.id;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.mock.MockConnection;
 import org.seasar.doma.internal.jdbc.mock.MockResultSet;
 import org.seasar.doma.internal.jdbc.mock.RowData;
+import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.dialect.PostgresDialect;
 
 import example.entity._IdGeneratedEmp;
@@ -47,4 +54,127 @@ public class BuiltinSequenceIdGeneratorTest extends TestCase {
         assertEquals("select nextval('aaa')",
                 config.dataSource.connection.preparedStatement.sql);
     }
+
+    public void testPrefetch() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        MockConfig config = new MockConfig() {
+            @Override
+            public Executor getExecutor() {
+                return tasks::add;
+            }
+        };
+        config.setDialect(new PostgresDialect());
+        MockResultSet resultSet = config.dataSource.connection.preparedStatement.resultSet;
+        resultSet.rows.add(new RowData(11L));
+
+        BuiltinSequenceIdGenerator idGenerator = new BuiltinSequenceIdGenerator();
+        idGenerator.setQualifiedSequenceName("aaa");
+        idGenerator.setInitialValue(1);
+        idGenerator.setAllocationSize(10);
+        idGenerator.setPrefetchEnabled(true);
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        for (long i = 11; i < 17; i++) {
+            assertEquals(new Long(i),
+                    idGenerator.generatePreInsert(idGenerationConfig));
+        }
+        assertEquals(1, tasks.size());
+        MockResultSet resultSet2 = new MockResultSet();
+        resultSet2.rows.add(new RowData(21L));
+        MockConnection connection2 = new MockConnection();
+        connection2.preparedStatement.resultSet = resultSet2;
+        config.dataSource.connection = connection2;
+        assertFalse(resultSet2.closed);
+        tasks.get(0).run();
+        assertTrue(resultSet2.closed);
+        for (long i = 17; i < 23; i++) {
+            assertEquals(new Long(i),
+                    idGenerator.generatePreInsert(idGenerationConfig));
+        }
+    }
+
+    public void testPrefetch_rejected() throws Exception {
+        MockConfig config = new MockConfig() {
+            @Override
+            public Executor getExecutor() {
+                return command -> {
+                    throw new RejectedExecutionException();
+                };
+            }
+        };
+        config.setDialect(new PostgresDialect());
+        MockResultSet resultSet = config.dataSource.connection.preparedStatement.resultSet;
+        resultSet.rows.add(new RowData(11L));
+
+        BuiltinSequenceIdGenerator idGenerator = new BuiltinSequenceIdGenerator();
+        idGenerator.setQualifiedSequenceName("aaa");
+        idGenerator.setInitialValue(1);
+        idGenerator.setAllocationSize(2);
+        idGenerator.setPrefetchEnabled(true);
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        assertEquals(new Long(11),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals(new Long(12),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        MockResultSet resultSet2 = new MockResultSet();
+        resultSet2.rows.add(new RowData(21L));
+        MockConnection connection2 = new MockConnection();
+        connection2.preparedStatement.resultSet = resultSet2;
+        config.dataSource.connection = connection2;
+        assertEquals(new Long(21),
+                idGenerator.generatePreInsert(idGenerationConfig));
+    }
+
+    public void testPrefetch_failed() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        MockConfig config = new MockConfig() {
+            @Override
+            public Executor getExecutor() {
+                return tasks::add;
+            }
+        };
+        config.setDialect(new PostgresDialect());
+        MockResultSet resultSet = config.dataSource.connection.preparedStatement.resultSet;
+        resultSet.rows.add(new RowData(11L));
+
+        BuiltinSequenceIdGenerator idGenerator = new BuiltinSequenceIdGenerator();
+        idGenerator.setQualifiedSequenceName("aaa");
+        idGenerator.setInitialValue(1);
+        idGenerator.setAllocationSize(2);
+        idGenerator.setPrefetchEnabled(true);
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        assertEquals(new Long(11),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals(new Long(12),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals(1, tasks.size());
+        config.dataSource.connection = new MockConnection();
+        tasks.get(0).run();
+        config.dataSource.connection = new MockConnection();
+        try {
+            idGenerator.generatePreInsert(idGenerationConfig);
+            fail();
+        } catch (JdbcException expected) {
+            Throwable[] suppressed = expected.getSuppressed();
+            assertEquals(1, suppressed.length);
+            assertTrue(suppressed[0] instanceof JdbcException);
+        }
+    }
+
+    public void testPrefetch_allocationSizeOne() throws Exception {
+        MockConfig config = new MockConfig();
+        config.setDialect(new PostgresDialect());
+        BuiltinSequenceIdGenerator idGenerator = new BuiltinSequenceIdGenerator();
+        idGenerator.setQualifiedSequenceName("aaa");
+        idGenerator.setInitialValue(1);
+        idGenerator.setAllocationSize(1);
+        idGenerator.setPrefetchEnabled(true);
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        AbstractPreGenerateIdGenerator.IdContext idContext = idGenerator
+                .getIdContext(idGenerationConfig);
+        assertFalse(idContext instanceof AbstractPreGenerateIdGenerator.PrefetchIdContext);
+    }
 }
@@ -74,4 +74,46 @@ public class BuiltinTableIdGeneratorTest extends TestCase {
         assertEquals(1, connection2.preparedStatement.bindValues.size());
     }
 
+    public void testReservation() throws Exception {
+        MockConfig config = new MockConfig();
+        config.setDialect(new PostgresDialect());
+        MockConnection connection = new MockConnection();
+        MockConnection connection2 = new MockConnection();
+        MockResultSet resultSet2 = connection2.preparedStatement.resultSet;
+        resultSet2.rows.add(new RowData(31L));
+        final LinkedList<MockConnection> connections = new LinkedList<MockConnection>();
+        connections.add(connection);
+        connections.add(connection2);
+        config.dataSource = new MockDataSource() {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return connections.pop();
+            }
+        };
+
+        BuiltinTableIdGenerator idGenerator = new BuiltinTableIdGenerator();
+        idGenerator.setQualifiedTableName("aaa");
+        idGenerator.setPkColumnName("PK");
+        idGenerator.setPkColumnValue("EMP_ID");
+        idGenerator.setValueColumnName("VALUE");
+        idGenerator.setInitialValue(1);
+        idGenerator.setAllocationSize(1);
+        idGenerator.initialize();
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal(),
+                new IdGenerationConfig.UnavailableIdProvider(), 3);
+        assertEquals(new Long(28),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals(new Long(29),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals(new Long(30),
+                idGenerator.generatePreInsert(idGenerationConfig));
+        assertEquals("update aaa set VALUE = VALUE + ? where PK = ?",
+                connection.preparedStatement.sql);
+        assertEquals(3L,
+                connection.preparedStatement.bindValues.get(0).getValue());
+        assertTrue(connections.isEmpty());
+    }
+
 }
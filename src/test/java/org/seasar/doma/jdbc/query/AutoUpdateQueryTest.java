@@ -87,6 +87,42 @@ public class AutoUpdateQueryTest extends TestCase {
         assertEquals(new Integer(100), parameters.get(3).getWrapper().get());
     }
 
+    public void testSqlTemplate() throws Exception {
+        PreparedSql sql1 = prepareUpdate(10, "aaa", 100);
+        PreparedSql sql2 = prepareUpdate(20, "bbb", 200);
+
+        assertSame(sql1.getRawSql(), sql2.getRawSql());
+        List<InParameter<?>> parameters = sql2.getParameters();
+        assertEquals(4, parameters.size());
+        assertEquals("bbb", parameters.get(0).getWrapper().get());
+        assertEquals(new Integer(200), parameters.get(1).getWrapper().get());
+        assertEquals(new Integer(20), parameters.get(2).getWrapper().get());
+        assertEquals(new Integer(200), parameters.get(3).getWrapper().get());
+        assertEquals(
+                "update EMP set NAME = 'bbb', VERSION = 200 + 1 where ID = 20 and VERSION = 200",
+                sql2.getFormattedSql());
+    }
+
+    private PreparedSql prepareUpdate(int id, String name, int version)
+            throws Exception {
+        Emp emp = new Emp();
+        emp.setId(id);
+        emp.setName(name);
+        emp.setVersion(version);
+        emp.originalStates = new Emp();
+
+        AutoUpdateQuery<Emp> query = new AutoUpdateQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod("testSqlTemplate"));
+        query.setConfig(runtimeConfig);
+        query.setEntity(emp);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        return query.getSql();
+    }
+
     public void testOption_excludeNull() throws Exception {
         Emp emp = new Emp();
         emp.setId(10);
@@ -15,13 +15,20 @@
  */
 package org.seasar.doma.jdbc.tx;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.sql.DataSource;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.internal.jdbc.mock.MockConnection;
 import org.seasar.doma.internal.jdbc.mock.MockDataSource;
+import org.seasar.doma.internal.jdbc.mock.MockPreparedStatement;
 import org.seasar.doma.jdbc.UtilLoggingJdbcLogger;
 
 /**
@@ -50,6 +57,145 @@ public class LocalTransactionDataSourceTest extends TestCase {
         }
     }
 
+    public void testGetConnection_statementCache() throws Exception {
+        List<MockPreparedStatement> statements = new ArrayList<>();
+        MockConnection connection = new MockConnection() {
+
+            @Override
+            public PreparedStatement prepareStatement(String sql)
+                    throws SQLException {
+                MockPreparedStatement statement = new MockPreparedStatement();
+                statement.sql = sql;
+                statements.add(statement);
+                return statement;
+            }
+        };
+        UtilLoggingJdbcLogger jdbcLogger = new UtilLoggingJdbcLogger();
+        LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+                new MockDataSource(connection), 1);
+        LocalTransaction transaction = dataSource
+                .getLocalTransaction(jdbcLogger);
+        transaction.begin();
+        Connection txConnection = dataSource.getConnection();
+
+        PreparedStatement statement1 = txConnection
+                .prepareStatement("select 1");
+        statement1.setQueryTimeout(10);
+        statement1.close();
+        assertTrue(statement1.isClosed());
+        assertFalse(statements.get(0).closed);
+        assertEquals(0, statements.get(0).queryTimeout);
+
+        PreparedStatement statement2 = txConnection
+                .prepareStatement("select 1");
+        assertFalse(statement2.isClosed());
+        assertSame(statements.get(0),
+                statement2.unwrap(MockPreparedStatement.class));
+        statement2.close();
+        assertEquals(1, statements.size());
+
+        txConnection.prepareStatement("select 2").close();
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).closed);
+        assertFalse(statements.get(1).closed);
+
+        assertEquals(1, dataSource.getStatementCacheHitCount());
+        assertEquals(2, dataSource.getStatementCacheMissCount());
+
+        transaction.commit();
+        assertTrue(statements.get(1).closed);
+    }
+
+    public void testGetConnection_statementCache_resetOptions()
+            throws Exception {
+        List<MockPreparedStatement> statements = new ArrayList<>();
+        MockConnection connection = new MockConnection() {
+
+            @Override
+            public PreparedStatement prepareStatement(String sql)
+                    throws SQLException {
+                MockPreparedStatement statement = new MockPreparedStatement();
+                statement.sql = sql;
+                statements.add(statement);
+                return statement;
+            }
+        };
+        UtilLoggingJdbcLogger jdbcLogger = new UtilLoggingJdbcLogger();
+        LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+                new MockDataSource(connection), 1);
+        LocalTransaction transaction = dataSource
+                .getLocalTransaction(jdbcLogger);
+        transaction.begin();
+        Connection txConnection = dataSource.getConnection();
+
+        PreparedStatement statement1 = txConnection
+                .prepareStatement("select 1");
+        statement1.setFetchDirection(ResultSet.FETCH_REVERSE);
+        statement1.setMaxFieldSize(100);
+        statement1.setPoolable(false);
+        statement1.close();
+        MockPreparedStatement mock = statements.get(0);
+        assertFalse(mock.closed);
+        assertEquals(ResultSet.FETCH_FORWARD, mock.fetchDirection);
+        assertEquals(0, mock.maxFieldSize);
+        assertTrue(mock.poolable);
+
+        PreparedStatement statement2 = txConnection
+                .prepareStatement("select 1");
+        assertSame(mock, statement2.unwrap(MockPreparedStatement.class));
+        statement2.setEscapeProcessing(false);
+        statement2.close();
+        assertTrue(mock.closed);
+
+        PreparedStatement statement3 = txConnection
+                .prepareStatement("select 1");
+        assertEquals(2, statements.size());
+        statement3.closeOnCompletion();
+        statement3.close();
+        assertTrue(statements.get(1).closed);
+
+        PreparedStatement statement4 = txConnection
+                .prepareStatement("select 1");
+        assertEquals(3, statements.size());
+        statement4.setCursorName("aaa");
+        statement4.close();
+        assertTrue(statements.get(2).closed);
+
+        transaction.commit();
+    }
+
+    public void testGetConnection_statementCache_closeResultSet()
+            throws Exception {
+        List<MockPreparedStatement> statements = new ArrayList<>();
+        MockConnection connection = new MockConnection() {
+
+            @Override
+            public PreparedStatement prepareStatement(String sql)
+                    throws SQLException {
+                MockPreparedStatement statement = new MockPreparedStatement();
+                statement.sql = sql;
+                statements.add(statement);
+                return statement;
+            }
+        };
+        UtilLoggingJdbcLogger jdbcLogger = new UtilLoggingJdbcLogger();
+        LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+                new MockDataSource(connection), 1);
+        LocalTransaction transaction = dataSource
+                .getLocalTransaction(jdbcLogger);
+        transaction.begin();
+        Connection txConnection = dataSource.getConnection();
+
+        PreparedStatement statement = txConnection
+                .prepareStatement("select 1");
+        ResultSet resultSet = statement.executeQuery();
+        statement.close();
+        assertTrue(resultSet.isClosed());
+        assertFalse(statements.get(0).closed);
+
+        transaction.commit();
+    }
+
     public void testIsWrapperFor() throws Exception {
         DataSource dataSource = new LocalTransactionDataSource(
                 new MockDataSource());
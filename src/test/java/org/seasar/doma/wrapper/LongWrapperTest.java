@@ -40,4 +40,39 @@ public class LongWrapperTest extends TestCase {
         wrapper.decrement();
         assertEquals(new Long(9L), wrapper.get());
     }
+
+    /**
+     * 
+     */
+    public void testSetLong() {
+        LongWrapper wrapper = new LongWrapper();
+        wrapper.setLong(10L);
+        assertEquals(10L, wrapper.getAsLong());
+        assertEquals(new Long(10L), wrapper.get());
+        wrapper.set(null);
+        assertEquals(0L, wrapper.getAsLong());
+        assertNull(wrapper.get());
+    }
+
+    /**
+     * 
+     */
+    public void testSetLong_increment() {
+        LongWrapper wrapper = new LongWrapper();
+        wrapper.setLong(10L);
+        wrapper.increment();
+        assertEquals(11L, wrapper.getAsLong());
+    }
+
+    /**
+     * 
+     */
+    public void testSetLong_getDoesNotModifyState() {
+        LongWrapper wrapper = new LongWrapper();
+        wrapper.setLong(10L);
+        assertEquals(new Long(10L), wrapper.get());
+        assertTrue(wrapper.unboxed);
+        assertNull(wrapper.value);
+        assertEquals(10L, wrapper.getAsLong());
+    }
 }
@@ -0,0 +1 @@
+select * from emp where name = /*name*/'a' and rownum < 2
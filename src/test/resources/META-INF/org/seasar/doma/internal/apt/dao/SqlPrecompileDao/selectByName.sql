@@ -0,0 +1,2 @@
+select * from emp where name = /*name*/'a'
+/*%if name != null*/ and "id" > 0 /*%end*/
@@ -0,0 +1 @@
+insert into emp (id, name) values (/*emp.id*/1, /*emp.name*/'a')
@@ -0,0 +1 @@
+select * from emp where id = /*id*/1 and rownum = 1
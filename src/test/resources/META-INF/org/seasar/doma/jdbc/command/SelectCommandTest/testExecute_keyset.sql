@@ -0,0 +1 @@
+select * from aaa where sarary >= /*salary*/100 order by salary desc, id
\ No newline at end of file
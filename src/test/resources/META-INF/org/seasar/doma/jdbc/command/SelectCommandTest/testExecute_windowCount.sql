@@ -0,0 +1 @@
+select * from aaa where sarary >= /*salary*/100 order by aaa.id
\ No newline at end of file